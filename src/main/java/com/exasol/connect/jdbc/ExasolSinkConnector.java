@@ -0,0 +1,62 @@
+package com.exasol.connect.jdbc;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.connect.connector.Task;
+import org.apache.kafka.connect.sink.SinkConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.sink.ExasolSinkConfig;
+import com.exasol.connect.jdbc.sink.ExasolSinkTask;
+
+/**
+ * A sink connector writing to Exasol. It accepts the configuration of the JDBC sink connector
+ * and uses the Exasol specific write paths of {@link ExasolSinkTask}.
+ */
+public class ExasolSinkConnector extends SinkConnector {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSinkConnector.class);
+
+  private Map<String, String> configProps;
+
+  @Override
+  public Class<? extends Task> taskClass() {
+    return ExasolSinkTask.class;
+  }
+
+  @Override
+  public List<Map<String, String>> taskConfigs(int maxTasks) {
+    log.info("Setting task configurations for {} workers.", maxTasks);
+    final List<Map<String, String>> configs = new ArrayList<>(maxTasks);
+    for (int i = 0; i < maxTasks; ++i) {
+      final Map<String, String> taskProps = new HashMap<>(configProps);
+      taskProps.put(ExasolSinkConfig.TASK_INDEX, Integer.toString(i));
+      configs.add(taskProps);
+    }
+    return configs;
+  }
+
+  @Override
+  public void start(Map<String, String> props) {
+    configProps = props;
+  }
+
+  @Override
+  public void stop() {
+  }
+
+  @Override
+  public ConfigDef config() {
+    return ExasolSinkConfig.CONFIG_DEF;
+  }
+
+  @Override
+  public String version() {
+    return getClass().getPackage().getImplementationVersion();
+  }
+}
@@ -0,0 +1,139 @@
+package com.exasol.connect.jdbc;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.connector.Task;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.exasol.connect.jdbc.source.ExasolSourceConfig;
+import com.exasol.connect.jdbc.source.ExasolSourceTask;
+import com.exasol.connect.jdbc.source.ExasolTableSplit;
+
+import io.confluent.connect.jdbc.JdbcSourceConnector;
+import io.confluent.connect.jdbc.source.JdbcSourceTaskConfig;
+
+/**
+ * A source connector reading from Exasol. It accepts the configuration of the JDBC source
+ * connector and monitors the tables like it.
+ *
+ * <p>With {@code source.splits} above one every table is read in that many splits, and the
+ * splits of all tables are assigned round robin to the tasks, so the splits of one table are
+ * read by different tasks.
+ *
+ * <p>With {@code source.snapshot} the tables are read by split too, with a single split each
+ * unless {@code source.splits} is set, so each table is copied as a snapshot before it is read
+ * incrementally. With {@code source.hash.ranges} the tables are read by split as well, to read
+ * only the changed ranges of each split in {@code bulk} mode, and with {@code source.page.bytes}
+ * to read each split in pages.
+ */
+public class ExasolSourceConnector extends JdbcSourceConnector {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSourceConnector.class);
+
+  private ExasolSourceConfig config;
+
+  @Override
+  public Class<? extends Task> taskClass() {
+    return ExasolSourceTask.class;
+  }
+
+  @Override
+  public void start(Map<String, String> props) {
+    try {
+      config = new ExasolSourceConfig(props);
+    } catch (ConfigException e) {
+      throw new ConnectException(
+          "Couldn't start ExasolSourceConnector due to configuration error",
+          e
+      );
+    }
+    super.start(props);
+  }
+
+  @Override
+  public List<Map<String, String>> taskConfigs(int maxTasks) {
+    if (config.sourceSplits <= 1 && !config.sourceSnapshot && config.sourceHashRanges == 0
+        && config.sourcePageBytes == 0) {
+      return super.taskConfigs(maxTasks);
+    }
+    final List<Map<String, String>> tableConfigs = super.taskConfigs(1);
+    if (tableConfigs.isEmpty()) {
+      return tableConfigs;
+    }
+    final Map<String, String> tableConfig = tableConfigs.get(0);
+    final List<String> tables = new ArrayList<>();
+    for (String table : tableConfig.get(JdbcSourceTaskConfig.TABLES_CONFIG).split(",")) {
+      if (!table.isEmpty()) {
+        tables.add(table);
+      }
+    }
+    final List<List<ExasolTableSplit>> assignments = assignSplits(
+        tables,
+        config.sourceSplits,
+        maxTasks
+    );
+    log.info(
+        "Assigning {} splits per table of {} tables to {} tasks",
+        config.sourceSplits,
+        tables.size(),
+        assignments.size()
+    );
+    final List<Map<String, String>> configs = new ArrayList<>(assignments.size());
+    for (List<ExasolTableSplit> splits : assignments) {
+      final Set<String> taskTables = new LinkedHashSet<>();
+      final List<String> encoded = new ArrayList<>(splits.size());
+      for (ExasolTableSplit split : splits) {
+        taskTables.add(split.table());
+        encoded.add(split.encode());
+      }
+      final Map<String, String> taskProps = new HashMap<>(tableConfig);
+      taskProps.put(JdbcSourceTaskConfig.TABLES_CONFIG, String.join(",", taskTables));
+      taskProps.put(ExasolSourceConfig.TASK_SPLITS, String.join(";", encoded));
+      configs.add(taskProps);
+    }
+    return configs;
+  }
+
+  @Override
+  public ConfigDef config() {
+    return ExasolSourceConfig.CONFIG_DEF;
+  }
+
+  /**
+   * Split each table and assign the splits round robin to the tasks, the splits of a table to
+   * consecutive tasks.
+   *
+   * @param tables   the tables; may not be null
+   * @param splits   the number of splits of each table
+   * @param maxTasks the maximum number of tasks
+   * @return the splits of each task, without tasks that get no split; never null
+   */
+  static List<List<ExasolTableSplit>> assignSplits(
+      List<String> tables,
+      int splits,
+      int maxTasks
+  ) {
+    final int tasks = Math.min(maxTasks, tables.size() * splits);
+    final List<List<ExasolTableSplit>> assignments = new ArrayList<>(tasks);
+    for (int i = 0; i < tasks; i++) {
+      assignments.add(new ArrayList<>());
+    }
+    int next = 0;
+    for (String table : tables) {
+      for (int index = 0; index < splits; index++) {
+        assignments.get(next).add(new ExasolTableSplit(table, index, splits));
+        next = (next + 1) % tasks;
+      }
+    }
+    return assignments;
+  }
+}
@@ -0,0 +1,70 @@
+package com.exasol.connect.jdbc.dialect;
+
+import org.apache.kafka.common.utils.Time;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.TimeZone;
+
+/**
+ * The offset between the clock of the database and the local clock, measured by querying the
+ * current time of the database and refreshed after a fixed interval. In between, the current
+ * time of the database is the local time plus the offset, without a round trip.
+ *
+ * <p>The offset is taken against the middle of the query, so half of the round trip is
+ * attributed to each direction. It is kept per time zone of the calendar the database time is
+ * read with.
+ */
+final class ExasolClockOffset {
+
+  /**
+   * Queries the current time of the database.
+   */
+  @FunctionalInterface
+  interface DatabaseTime {
+    Timestamp query() throws SQLException;
+  }
+
+  private final long refreshMs;
+  private final Time time;
+  private TimeZone timeZone;
+  private long offsetMs;
+  private long measuredAt;
+
+  /**
+   * Create a clock offset.
+   *
+   * @param refreshMs the interval after which the offset is measured again; 0 queries the
+   *                  database every time
+   * @param time      the local clock; may not be null
+   */
+  ExasolClockOffset(long refreshMs, Time time) {
+    this.refreshMs = refreshMs;
+    this.time = time;
+  }
+
+  /**
+   * Get the current time of the database.
+   *
+   * @param timeZone     the time zone of the calendar the database time is read with; may not be
+   *                     null
+   * @param databaseTime queries the current time of the database; may not be null
+   * @return the current time of the database; never null
+   * @throws SQLException if the database time cannot be queried
+   */
+  synchronized Timestamp currentTime(TimeZone timeZone, DatabaseTime databaseTime)
+      throws SQLException {
+    final long now = time.milliseconds();
+    if (refreshMs > 0 && timeZone.equals(this.timeZone) && now - measuredAt < refreshMs) {
+      return new Timestamp(now + offsetMs);
+    }
+    final Timestamp current = databaseTime.query();
+    final long after = time.milliseconds();
+    if (refreshMs > 0) {
+      offsetMs = current.getTime() - (now + (after - now) / 2);
+      measuredAt = after;
+      this.timeZone = timeZone;
+    }
+    return current;
+  }
+}
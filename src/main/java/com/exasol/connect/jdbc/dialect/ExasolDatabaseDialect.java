@@ -1,20 +1,49 @@
 package com.exasol.connect.jdbc.dialect;
 
 import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.utils.Time;
 import org.apache.kafka.connect.data.Date;
 import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.ConnectException;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.exasol.connect.jdbc.sink.ExasolSinkConfig;
+import com.exasol.connect.jdbc.sink.ExasolStatementBinder;
+import com.exasol.connect.jdbc.source.ExasolSourceConfig;
+import com.exasol.connect.jdbc.util.LruCache;
 
 import io.confluent.connect.jdbc.dialect.DatabaseDialect;
 import io.confluent.connect.jdbc.dialect.DatabaseDialectProvider.SubprotocolBasedProvider;
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.ColumnConverter;
 import io.confluent.connect.jdbc.dialect.DropOptions;
 import io.confluent.connect.jdbc.dialect.GenericDatabaseDialect;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
 import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.source.ColumnMapping;
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
 import io.confluent.connect.jdbc.util.ColumnId;
 import io.confluent.connect.jdbc.util.ExpressionBuilder;
 import io.confluent.connect.jdbc.util.IdentifierRules;
@@ -40,12 +69,613 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
   }
 
   /**
-   * Create a new dialect instance with the given connector configuration.
+   * The maximum number of DML statements kept by a dialect.
+   */
+  private static final int SQL_CACHE_CAPACITY = 512;
+
+  /**
+   * The number of digits of any decimal integer that fits an {@code int}.
+   */
+  private static final int MAX_INT_DIGITS = 9;
+
+  /**
+   * The number of digits of any decimal integer that fits a {@code long}.
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private static final String TABLE_TYPE = "TABLE";
+  private static final String VIEW_TYPE = "VIEW";
+
+  private static final String OFFSETS_CONNECTOR_COLUMN = "CONNECTOR";
+  private static final String OFFSETS_TOPIC_COLUMN = "TOPIC";
+  private static final String OFFSETS_PARTITION_COLUMN = "KAFKA_PARTITION";
+  private static final String OFFSETS_OFFSET_COLUMN = "KAFKA_OFFSET";
+
+  /**
+   * Identifies a DML statement by its kind, tables, ordered columns and number of rows.
+   */
+  private static final class SqlKey {
+    private final String kind;
+    private final TableId table;
+    private final TableId sourceTable;
+    private final List<ColumnId> keyColumns;
+    private final List<ColumnId> nonKeyColumns;
+    private final int rows;
+
+    SqlKey(
+        String kind,
+        TableId table,
+        TableId sourceTable,
+        Collection<ColumnId> keyColumns,
+        Collection<ColumnId> nonKeyColumns,
+        int rows
+    ) {
+      this.kind = kind;
+      this.table = table;
+      this.sourceTable = sourceTable;
+      this.keyColumns = new ArrayList<>(keyColumns);
+      this.nonKeyColumns = nonKeyColumns == null
+                           ? Collections.emptyList()
+                           : new ArrayList<>(nonKeyColumns);
+      this.rows = rows;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof SqlKey)) {
+        return false;
+      }
+      final SqlKey that = (SqlKey) obj;
+      return rows == that.rows
+             && kind.equals(that.kind)
+             && table.equals(that.table)
+             && Objects.equals(sourceTable, that.sourceTable)
+             && keyColumns.equals(that.keyColumns)
+             && nonKeyColumns.equals(that.nonKeyColumns);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, table, sourceTable, keyColumns, nonKeyColumns, rows);
+    }
+  }
+
+  /**
+   * The maximum length of a {@code VARCHAR} column, which is what Exasol makes of a
+   * {@code CLOB}.
+   */
+  public static final int MAX_VARCHAR_LENGTH = 2000000;
+
+  private final LruCache<SqlKey, String> sqlCache = new LruCache<>(SQL_CACHE_CAPACITY);
+  private final int varcharLength;
+  private final boolean distributeByKey;
+  private final List<String> distributeBy;
+  private final Map<TableId, List<String>> tableDistributeBy = new HashMap<>();
+  private final String partitionBy;
+  private final ExasolClockOffset clockOffset;
+  private volatile List<TableId> listedTableIds;
+  private final ExasolMetadataCache metadataCache;
+
+  /**
+   * Create a new dialect instance with the given connector configuration. The configuration of
+   * a JDBC source connector may include the Exasol read options.
    *
    * @param config the connector configuration; may not be null
    */
   public ExasolDatabaseDialect(AbstractConfig config) {
     super(config, new IdentifierRules(".", "\"", "\""));
+    this.varcharLength = 0;
+    this.distributeByKey = false;
+    this.distributeBy = Collections.emptyList();
+    this.partitionBy = "";
+    final ExasolSourceConfig sourceConfig = config instanceof JdbcSourceConnectorConfig
+                                            ? new ExasolSourceConfig(config.originals())
+                                            : null;
+    this.clockOffset = new ExasolClockOffset(
+        sourceConfig == null ? 0L : sourceConfig.timestampClockRefreshMs,
+        Time.SYSTEM
+    );
+    this.metadataCache = new ExasolMetadataCache(
+        sourceConfig == null ? Long.MAX_VALUE : sourceConfig.metadataRefreshMs,
+        Time.SYSTEM
+    );
+  }
+
+  /**
+   * Create a new dialect instance for a source, which caches the offset of the database clock
+   * as configured.
+   *
+   * @param config the source configuration; may not be null
+   */
+  public ExasolDatabaseDialect(ExasolSourceConfig config) {
+    super(config.jdbcConfig, new IdentifierRules(".", "\"", "\""));
+    this.varcharLength = 0;
+    this.distributeByKey = false;
+    this.distributeBy = Collections.emptyList();
+    this.partitionBy = "";
+    this.clockOffset = new ExasolClockOffset(config.timestampClockRefreshMs, Time.SYSTEM);
+    this.metadataCache = new ExasolMetadataCache(config.metadataRefreshMs, Time.SYSTEM);
+  }
+
+  /**
+   * Create a new dialect instance for a sink, which creates tables with the string column
+   * lengths, distribution and partitioning of the given configuration.
+   *
+   * @param config the sink configuration; may not be null
+   */
+  public ExasolDatabaseDialect(ExasolSinkConfig config) {
+    super(config.jdbcConfig, new IdentifierRules(".", "\"", "\""));
+    this.varcharLength = config.stringVarcharLength;
+    this.distributeByKey = true;
+    this.distributeBy = config.tableDistributeBy;
+    for (Map.Entry<String, List<String>> entry : config.topicDistributeBy.entrySet()) {
+      final String tableName = config.jdbcConfig.tableNameFormat.replace(
+          "${topic}",
+          entry.getKey()
+      );
+      tableDistributeBy.put(parseTableIdentifier(tableName), entry.getValue());
+    }
+    this.partitionBy = config.tablePartitionBy;
+    this.clockOffset = new ExasolClockOffset(0L, Time.SYSTEM);
+    // the sink sees the tables it alters itself, through applyDdlStatements
+    this.metadataCache = new ExasolMetadataCache(Long.MAX_VALUE, Time.SYSTEM);
+  }
+
+  /**
+   * @return the cache of the DML statements built by this dialect
+   */
+  public LruCache<?, String> sqlCache() {
+    return sqlCache;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Dates and timestamps are bound through the reused values of the current thread instead of
+   * a new {@code java.sql.Date} or {@code java.sql.Timestamp} per value. Decimals stay on
+   * {@code setBigDecimal}: the Exasol driver wraps a value bound with {@code setLong} in a
+   * {@code BigDecimal} itself, so binding integral decimals as longs would not save anything.
+   */
+  @Override
+  protected boolean maybeBindLogical(
+      PreparedStatement statement,
+      int index,
+      Schema schema,
+      Object value
+  ) throws SQLException {
+    if (schema.name() != null) {
+      switch (schema.name()) {
+        case Date.LOGICAL_NAME:
+          bindDate(statement, index, ((java.util.Date) value).getTime());
+          return true;
+        case Timestamp.LOGICAL_NAME:
+          bindTimestamp(statement, index, ((java.util.Date) value).getTime());
+          return true;
+        default:
+          // bound by the generic dialect
+      }
+    }
+    return super.maybeBindLogical(statement, index, schema, value);
+  }
+
+  /**
+   * Bind a {@code DATE} parameter without allocating a value.
+   *
+   * @param statement   the statement; may not be null
+   * @param index       the index of the parameter
+   * @param epochMillis the date in milliseconds since the epoch, at midnight UTC
+   * @throws SQLException if the value cannot be bound
+   */
+  public void bindDate(PreparedStatement statement, int index, long epochMillis)
+      throws SQLException {
+    final ExasolTemporalHolder holder = ExasolTemporalHolder.current();
+    statement.setDate(index, holder.date(epochMillis), holder.utcCalendar());
+  }
+
+  /**
+   * Bind a {@code TIMESTAMP} parameter without allocating a value.
+   *
+   * @param statement   the statement; may not be null
+   * @param index       the index of the parameter
+   * @param epochMillis the timestamp in milliseconds since the epoch
+   * @throws SQLException if the value cannot be bound
+   */
+  public void bindTimestamp(PreparedStatement statement, int index, long epochMillis)
+      throws SQLException {
+    final ExasolTemporalHolder holder = ExasolTemporalHolder.current();
+    statement.setTimestamp(index, holder.timestamp(epochMillis), holder.utcCalendar());
+  }
+
+  /**
+   * Get the current time of Exasol, computed from the local clock and the cached offset of the
+   * Exasol clock while the offset is fresh.
+   */
+  @Override
+  public java.sql.Timestamp currentTimeOnDB(Connection connection, Calendar calendar)
+      throws SQLException {
+    return clockOffset.currentTime(
+        calendar.getTimeZone(),
+        () -> super.currentTimeOnDB(connection, calendar)
+    );
+  }
+
+  @Override
+  protected String currentTimestampDatabaseQuery() {
+    return "SELECT CURRENT_TIMESTAMP FROM DUAL";
+  }
+
+  /**
+   * List the tables and views with one query of {@code EXA_ALL_TABLES} and
+   * {@code EXA_ALL_VIEWS}, filtered by {@code schema.pattern} and {@code table.types} in
+   * Exasol. Other table types are listed by the generic dialect. While the listing does not
+   * change, the list of the previous listing is returned.
+   */
+  @Override
+  public List<TableId> tableIds(Connection connection) throws SQLException {
+    final boolean tables = hasTableType(TABLE_TYPE);
+    final boolean views = hasTableType(VIEW_TYPE);
+    if (!tables && !views || tableTypes.size() != (tables ? 1 : 0) + (views ? 1 : 0)) {
+      return super.tableIds(connection);
+    }
+    final String sql = buildListTablesStatement(tables, views, schemaPattern() != null);
+    log.debug("Listing tables of schema pattern {} with: {}", schemaPattern(), sql);
+    final List<TableId> tableIds = new ArrayList<>();
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      int index = 1;
+      if (schemaPattern() != null) {
+        for (int i = 0; i < (tables ? 1 : 0) + (views ? 1 : 0); i++) {
+          statement.setString(index++, schemaPattern());
+        }
+      }
+      try (ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          final TableId tableId = new TableId(null, rs.getString(1), rs.getString(2));
+          if (includeTable(tableId)) {
+            tableIds.add(tableId);
+          }
+        }
+      }
+    }
+    final List<TableId> previous = listedTableIds;
+    if (tableIds.equals(previous)) {
+      return previous;
+    }
+    log.info("Listed {} tables and views in Exasol", tableIds.size());
+    listedTableIds = Collections.unmodifiableList(tableIds);
+    return listedTableIds;
+  }
+
+  /**
+   * Check whether a table exists with a query of {@code EXA_ALL_TABLES}. A table without a
+   * schema is looked up in the current schema.
+   */
+  @Override
+  public boolean tableExists(Connection connection, TableId tableId) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT 1 FROM EXA_ALL_TABLES"
+        + " WHERE TABLE_SCHEMA = COALESCE(?, CURRENT_SCHEMA) AND TABLE_NAME = ?"
+    )) {
+      statement.setString(1, tableId.schemaName());
+      statement.setString(2, tableId.tableName());
+      try (ResultSet rs = statement.executeQuery()) {
+        final boolean exists = rs.next();
+        log.info("Using {} dialect table {} {}", this, tableId, exists ? "present" : "absent");
+        return exists;
+      }
+    }
+  }
+
+  /**
+   * Read the current length of a string column straight from {@code EXA_ALL_COLUMNS}, bypassing
+   * the cached metadata. Other tasks may have widened the column since it was described. A
+   * table without a schema is looked up in the current schema.
+   *
+   * @param connection the connection to the database; may not be null
+   * @param tableId    the identifier of the table; may not be null
+   * @param columnName the name of the column; may not be null
+   * @return the maximum length of the column, or null if it does not exist
+   * @throws SQLException if the column cannot be read
+   */
+  public Integer columnLength(Connection connection, TableId tableId, String columnName)
+      throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT COLUMN_MAXSIZE FROM EXA_ALL_COLUMNS"
+        + " WHERE COLUMN_SCHEMA = COALESCE(?, CURRENT_SCHEMA) AND COLUMN_TABLE = ?"
+        + " AND COLUMN_NAME = ?"
+    )) {
+      statement.setString(1, tableId.schemaName());
+      statement.setString(2, tableId.tableName());
+      statement.setString(3, columnName);
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() ? rs.getInt(1) : null;
+      }
+    }
+  }
+
+  /**
+   * Describe the columns of a table from the column and primary key metadata of its whole
+   * schema, read with one query of {@code EXA_ALL_COLUMNS} and one of
+   * {@code EXA_ALL_CONSTRAINT_COLUMNS}. They are cached until a DDL statement is applied, in a
+   * source at most for {@code metadata.refresh.ms}. A table without a schema is looked up in the
+   * current schema. Table patterns with wildcards and column patterns are described by the
+   * generic dialect.
+   */
+  @Override
+  public Map<ColumnId, ColumnDefinition> describeColumns(
+      Connection connection,
+      String catalogPattern,
+      String schemaPattern,
+      String tablePattern,
+      String columnPattern
+  ) throws SQLException {
+    if (columnPattern != null || !isCacheable(schemaPattern, tablePattern)) {
+      return super.describeColumns(
+          connection,
+          catalogPattern,
+          schemaPattern,
+          tablePattern,
+          columnPattern
+      );
+    }
+    return metadataCache.columns(
+        schemaPattern,
+        tablePattern,
+        schema -> describeSchema(connection, schema)
+    );
+  }
+
+  @Override
+  protected Set<ColumnId> primaryKeyColumns(
+      Connection connection,
+      String catalogPattern,
+      String schemaPattern,
+      String tablePattern
+  ) throws SQLException {
+    if (!isCacheable(schemaPattern, tablePattern)) {
+      return super.primaryKeyColumns(connection, catalogPattern, schemaPattern, tablePattern);
+    }
+    final Set<ColumnId> primaryKeyColumns = new HashSet<>();
+    for (ColumnDefinition column : describeColumns(
+        connection,
+        catalogPattern,
+        schemaPattern,
+        tablePattern,
+        null
+    ).values()) {
+      if (column.isPrimaryKey()) {
+        primaryKeyColumns.add(column.id());
+      }
+    }
+    return primaryKeyColumns;
+  }
+
+  /**
+   * Apply DDL statements and drop the cached column metadata, which they may change.
+   */
+  @Override
+  public void applyDdlStatements(Connection connection, List<String> statements)
+      throws SQLException {
+    try {
+      super.applyDdlStatements(connection, statements);
+    } finally {
+      metadataCache.invalidate();
+    }
+  }
+
+  private static boolean isCacheable(String schemaPattern, String tablePattern) {
+    return tablePattern != null
+           && !tablePattern.contains("%")
+           && (schemaPattern == null || !schemaPattern.contains("%"));
+  }
+
+  private Map<String, Map<ColumnId, ColumnDefinition>> describeSchema(
+      Connection connection,
+      String schema
+  ) throws SQLException {
+    log.debug("Querying {} dialect column metadata for schema {}", this, schema);
+    final Map<String, Set<String>> primaryKeys = new HashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT CONSTRAINT_TABLE, COLUMN_NAME FROM EXA_ALL_CONSTRAINT_COLUMNS"
+        + " WHERE CONSTRAINT_SCHEMA = COALESCE(?, CURRENT_SCHEMA)"
+        + " AND CONSTRAINT_TYPE = 'PRIMARY KEY'"
+    )) {
+      statement.setString(1, schema);
+      try (ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          primaryKeys.computeIfAbsent(rs.getString(1), table -> new HashSet<>())
+              .add(rs.getString(2));
+        }
+      }
+    }
+    final Map<String, Map<ColumnId, ColumnDefinition>> tables = new HashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(
+        "SELECT COLUMN_SCHEMA, COLUMN_TABLE, COLUMN_NAME, COLUMN_TYPE, COLUMN_MAXSIZE,"
+        + " COLUMN_NUM_PREC, COLUMN_NUM_SCALE, COLUMN_IS_NULLABLE, COLUMN_IDENTITY"
+        + " FROM EXA_ALL_COLUMNS WHERE COLUMN_SCHEMA = COALESCE(?, CURRENT_SCHEMA)"
+        + " ORDER BY COLUMN_TABLE, COLUMN_ORDINAL_POSITION"
+    )) {
+      statement.setString(1, schema);
+      try (ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          final String tableName = rs.getString(2);
+          final ColumnId columnId = new ColumnId(
+              new TableId(null, rs.getString(1), tableName),
+              rs.getString(3)
+          );
+          final ColumnDefinition column = describeColumn(
+              rs,
+              columnId,
+              primaryKeys.getOrDefault(tableName, Collections.emptySet())
+                  .contains(columnId.name())
+          );
+          tables.computeIfAbsent(tableName, table -> new LinkedHashMap<>())
+              .put(columnId, column);
+        }
+      }
+    }
+    log.debug("Described {} tables of schema {}", tables.size(), schema);
+    return tables;
+  }
+
+  /**
+   * Describe a column of {@code EXA_ALL_COLUMNS} with the JDBC type the Exasol driver reports
+   * for it. Intervals, geometries and hash types are reported as {@code VARCHAR}.
+   */
+  private ColumnDefinition describeColumn(ResultSet rs, ColumnId columnId, boolean primaryKey)
+      throws SQLException {
+    final String columnType = rs.getString(4);
+    final int parenthesis = columnType.indexOf('(');
+    final String typeName = parenthesis < 0
+                            ? columnType.trim()
+                            : columnType.substring(0, parenthesis).trim();
+    final int maxSize = rs.getInt(5);
+    int precision = rs.getInt(6);
+    final int scale = rs.getInt(7);
+    final int jdbcType;
+    switch (typeName) {
+      case "DECIMAL":
+        jdbcType = Types.DECIMAL;
+        break;
+      case "DOUBLE":
+        jdbcType = Types.DOUBLE;
+        break;
+      case "BOOLEAN":
+        jdbcType = Types.BOOLEAN;
+        break;
+      case "DATE":
+        jdbcType = Types.DATE;
+        break;
+      case "CHAR":
+        jdbcType = Types.CHAR;
+        precision = maxSize;
+        break;
+      default:
+        if (typeName.startsWith("TIMESTAMP")) {
+          jdbcType = Types.TIMESTAMP;
+        } else {
+          jdbcType = Types.VARCHAR;
+          precision = maxSize;
+        }
+    }
+    final boolean nullable = rs.getBoolean(8) && !primaryKey;
+    final boolean autoIncremented = rs.getString(9) != null;
+    return columnDefinition(
+        rs,
+        columnId,
+        jdbcType,
+        typeName,
+        null,
+        nullable ? ColumnDefinition.Nullability.NULL : ColumnDefinition.Nullability.NOT_NULL,
+        ColumnDefinition.Mutability.UNKNOWN,
+        precision,
+        scale,
+        null,
+        null,
+        autoIncremented,
+        null,
+        null,
+        null,
+        primaryKey
+    );
+  }
+
+  /**
+   * Build the statement listing the schema and name of the tables and views, ordered by both.
+   *
+   * @param tables        whether to list the tables
+   * @param views         whether to list the views
+   * @param schemaPattern whether to filter the schemas by a {@code LIKE} pattern parameter,
+   *                      once per listed type
+   * @return the statement; never null
+   */
+  public String buildListTablesStatement(boolean tables, boolean views, boolean schemaPattern) {
+    final List<String> selects = new ArrayList<>(2);
+    if (tables) {
+      selects.add(
+          "SELECT TABLE_SCHEMA, TABLE_NAME FROM EXA_ALL_TABLES"
+          + (schemaPattern ? " WHERE TABLE_SCHEMA LIKE ?" : "")
+      );
+    }
+    if (views) {
+      selects.add(
+          "SELECT VIEW_SCHEMA, VIEW_NAME FROM EXA_ALL_VIEWS"
+          + (schemaPattern ? " WHERE VIEW_SCHEMA LIKE ?" : "")
+      );
+    }
+    return String.join(" UNION ALL ", selects) + " ORDER BY 1, 2";
+  }
+
+  private boolean hasTableType(String type) {
+    for (String tableType : tableTypes) {
+      if (type.equalsIgnoreCase(tableType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add a field for a column to a schema. With {@code numeric.mapping} {@code precision_only} or
+   * {@code best_fit}, integral {@code DECIMAL} columns become {@code INT32} fields up to 9 digits
+   * and {@code INT64} fields up to 18 digits, which Exasol declares as {@code SMALLINT},
+   * {@code INTEGER} and {@code BIGINT} too. The generic dialect applies the mapping to
+   * {@code NUMERIC} columns only, and Exasol reports all of them as {@code DECIMAL}.
+   */
+  @Override
+  protected String addFieldToSchema(
+      ColumnDefinition column,
+      SchemaBuilder builder,
+      String fieldName,
+      int sqlType,
+      boolean optional
+  ) {
+    final Schema.Type integralType = integralDecimalType(column, sqlType);
+    if (integralType == Schema.Type.INT32) {
+      builder.field(fieldName, optional ? Schema.OPTIONAL_INT32_SCHEMA : Schema.INT32_SCHEMA);
+      return fieldName;
+    }
+    if (integralType == Schema.Type.INT64) {
+      builder.field(fieldName, optional ? Schema.OPTIONAL_INT64_SCHEMA : Schema.INT64_SCHEMA);
+      return fieldName;
+    }
+    return super.addFieldToSchema(column, builder, fieldName, sqlType, optional);
+  }
+
+  /**
+   * Get the converter of a column, which reads the integral {@code DECIMAL} columns mapped to
+   * integer fields with {@code getInt} and {@code getLong} instead of {@code getBigDecimal}.
+   */
+  @Override
+  protected ColumnConverter columnConverterFor(
+      ColumnMapping mapping,
+      ColumnDefinition column,
+      int index,
+      boolean isJdbc4
+  ) {
+    final Schema.Type integralType = integralDecimalType(column, column.type());
+    if (integralType == Schema.Type.INT32) {
+      return resultSet -> resultSet.getInt(index);
+    }
+    if (integralType == Schema.Type.INT64) {
+      return resultSet -> resultSet.getLong(index);
+    }
+    return super.columnConverterFor(mapping, column, index, isJdbc4);
+  }
+
+  private Schema.Type integralDecimalType(ColumnDefinition column, int sqlType) {
+    if (mapNumerics == JdbcSourceConnectorConfig.NumericMapping.NONE
+        || sqlType != Types.DECIMAL
+        || column.scale() != 0
+        || column.precision() <= 0) {
+      return null;
+    }
+    if (column.precision() <= MAX_INT_DIGITS) {
+      return Schema.Type.INT32;
+    }
+    return column.precision() <= MAX_LONG_DIGITS ? Schema.Type.INT64 : null;
   }
 
   @Override
@@ -80,7 +710,7 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
       case BOOLEAN:
         return "BOOLEAN";
       case STRING:
-        return "CLOB";
+        return varcharLength > 0 ? varcharType(varcharLength) : "CLOB";
       // case BYTES:
       // BLOB is not supported
       default:
@@ -88,6 +718,99 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
     }
   }
 
+  @Override
+  public ExasolStatementBinder statementBinder(
+      PreparedStatement statement,
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata,
+      JdbcSinkConfig.InsertMode insertMode
+  ) {
+    return new ExasolStatementBinder(
+        this,
+        statement,
+        pkMode,
+        schemaPair,
+        fieldsMetadata,
+        insertMode
+    );
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Tables are distributed by the configured columns of their topic, or else by their
+   * primary key, so that merging on the key stays local to each node. Tables with the
+   * configured timestamp column are partitioned by it.
+   */
+  @Override
+  public String buildCreateTableStatement(
+      TableId table,
+      Collection<SinkRecordField> fields
+  ) {
+    final List<String> pkFieldNames = extractPrimaryKeyFieldNames(fields);
+    List<String> distributionColumns = tableDistributeBy.getOrDefault(table, distributeBy);
+    if (distributionColumns.isEmpty() && distributeByKey) {
+      distributionColumns = pkFieldNames;
+    }
+    final Map<String, SinkRecordField> fieldsByName = new HashMap<>();
+    for (SinkRecordField field : fields) {
+      fieldsByName.put(field.name(), field);
+    }
+    for (String column : distributionColumns) {
+      if (!fieldsByName.containsKey(column)) {
+        throw new ConnectException(String.format(
+            "Cannot distribute table %s by column %s, which it does not have",
+            table,
+            column
+        ));
+      }
+    }
+    final SinkRecordField partitionField = fieldsByName.get(partitionBy);
+    if (partitionField != null
+        && !Timestamp.LOGICAL_NAME.equals(partitionField.schemaName())
+        && !Date.LOGICAL_NAME.equals(partitionField.schemaName())) {
+      throw new ConnectException(String.format(
+          "Cannot partition table %s by column %s, which is not a timestamp or date",
+          table,
+          partitionBy
+      ));
+    }
+
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("CREATE TABLE ");
+    builder.append(table);
+    builder.append(" (");
+    writeColumnsSpec(builder, fields);
+    if (!pkFieldNames.isEmpty()) {
+      builder.append(",");
+      builder.append(System.lineSeparator());
+      builder.append("PRIMARY KEY(");
+      builder.appendList()
+             .delimitedBy(",")
+             .transformedBy(ExpressionBuilder.quote())
+             .of(pkFieldNames);
+      builder.append(")");
+    }
+    if (!distributionColumns.isEmpty()) {
+      builder.append(",");
+      builder.append(System.lineSeparator());
+      builder.append("DISTRIBUTE BY ");
+      builder.appendList()
+             .delimitedBy(",")
+             .transformedBy(ExpressionBuilder.quote())
+             .of(distributionColumns);
+    }
+    if (partitionField != null) {
+      builder.append(",");
+      builder.append(System.lineSeparator());
+      builder.append("PARTITION BY ");
+      builder.appendIdentifierQuoted(partitionBy);
+    }
+    builder.append(")");
+    return builder.toString();
+  }
+
   @Override
   public String buildDropTableStatement(
       TableId table,
@@ -118,12 +841,106 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
     return queries;
   }
 
+  @Override
+  public String buildInsertStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    return sqlCache.computeIfAbsent(
+        new SqlKey("INSERT", table, null, keyColumns, nonKeyColumns, 1),
+        key -> super.buildInsertStatement(table, keyColumns, nonKeyColumns)
+    );
+  }
+
+  @Override
+  public String buildUpdateStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    return sqlCache.computeIfAbsent(
+        new SqlKey("UPDATE", table, null, keyColumns, nonKeyColumns, 1),
+        key -> super.buildUpdateStatement(table, keyColumns, nonKeyColumns)
+    );
+  }
+
   @Override
   public String buildUpsertQueryStatement(
       TableId table,
       Collection<ColumnId> keyColumns,
       Collection<ColumnId> nonKeyColumns
   ) {
+    return buildUpsertQueryStatement(table, keyColumns, nonKeyColumns, 1);
+  }
+
+  /**
+   * Build a {@code MERGE} statement whose source holds the given number of rows. The rows are
+   * combined with {@code UNION ALL}, so that a single statement merges a whole chunk of records.
+   * The parameters are bound row by row, each row binding the key columns followed by the
+   * non-key columns.
+   *
+   * @param table         the identifier of the target table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null
+   * @param rows          the number of parameter rows in the statement; must be positive
+   * @return the upsert statement; never null
+   */
+  public String buildUpsertQueryStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rows
+  ) {
+    if (rows < 1) {
+      throw new IllegalArgumentException("Number of rows must be positive, was " + rows);
+    }
+    return sqlCache.computeIfAbsent(
+        new SqlKey("MERGE", table, null, keyColumns, nonKeyColumns, rows),
+        key -> createUpsertQueryStatement(table, keyColumns, nonKeyColumns, rows, false)
+    );
+  }
+
+  /**
+   * Build a {@code MERGE} statement like {@link #buildUpsertQueryStatement(TableId, Collection,
+   * Collection, int)} that only considers the target rows whose key lies in a range, so Exasol
+   * can skip the blocks and partitions of the target table outside of it. The lowest and the
+   * highest key of the rows are bound after the parameters of the rows.
+   *
+   * @param table         the identifier of the target table; may not be null
+   * @param keyColumns    the identifier of the single key column; may not be null
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null
+   * @param rows          the number of parameter rows in the statement; must be positive
+   * @return the upsert statement; never null
+   */
+  public String buildKeyRangeUpsertQueryStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rows
+  ) {
+    if (rows < 1) {
+      throw new IllegalArgumentException("Number of rows must be positive, was " + rows);
+    }
+    if (keyColumns.size() != 1) {
+      throw new IllegalArgumentException(
+          "Key ranges require a single key column, not " + keyColumns.size()
+      );
+    }
+    return sqlCache.computeIfAbsent(
+        new SqlKey("MERGE_RANGE", table, null, keyColumns, nonKeyColumns, rows),
+        key -> createUpsertQueryStatement(table, keyColumns, nonKeyColumns, rows, true)
+    );
+  }
+
+  private String createUpsertQueryStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      int rows,
+      boolean keyRange
+  ) {
+    final int columnCount = keyColumns.size() + nonKeyColumns.size();
     ExpressionBuilder builder = expressionBuilder();
     builder.append("MERGE INTO ");
     builder.append(table);
@@ -132,11 +949,287 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
            .delimitedBy(", ")
            .transformedBy(ExpressionBuilder.columnNamesWithPrefix("? AS "))
            .of(keyColumns, nonKeyColumns);
-    builder.append(") AS incoming ON (");
+    for (int row = 1; row < rows; row++) {
+      builder.append(" UNION ALL SELECT ");
+      builder.appendMultiple(", ", "?", columnCount);
+    }
+    builder.append(") AS incoming");
+    appendMergeClauses(builder, keyColumns, nonKeyColumns, keyRange);
+    return builder.toString();
+  }
+
+  /**
+   * Build a {@code MERGE} statement that merges all rows of a staging table into the target
+   * table. The staging table must have the key and non-key columns of the target table.
+   *
+   * @param table         the identifier of the target table; may not be null
+   * @param stagingTable  the identifier of the staging table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null
+   * @return the merge statement; never null
+   */
+  public String buildMergeFromTableStatement(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    return sqlCache.computeIfAbsent(
+        new SqlKey("MERGE FROM", table, stagingTable, keyColumns, nonKeyColumns, 1),
+        key -> createMergeFromTableStatement(table, stagingTable, keyColumns, nonKeyColumns)
+    );
+  }
+
+  private String createMergeFromTableStatement(
+      TableId table,
+      TableId stagingTable,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("MERGE INTO ");
+    builder.append(table);
+    builder.append(" AS target USING ");
+    builder.append(stagingTable);
+    builder.append(" AS incoming");
+    appendMergeClauses(builder, keyColumns, nonKeyColumns, false);
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that deletes the rows with the given keys. A single key column is
+   * matched with an {@code IN} list, several key columns with one condition per row.
+   *
+   * @param table      the identifier of the table; may not be null
+   * @param keyColumns the identifiers of the key columns; may not be empty
+   * @param rows       the number of keys bound to the statement; must be positive
+   * @return the delete statement; never null
+   */
+  public String buildDeleteStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      int rows
+  ) {
+    if (rows < 1) {
+      throw new IllegalArgumentException("Number of rows must be positive, was " + rows);
+    }
+    return sqlCache.computeIfAbsent(
+        new SqlKey("DELETE", table, null, keyColumns, null, rows),
+        key -> createDeleteStatement(table, keyColumns, rows)
+    );
+  }
+
+  private String createDeleteStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      int rows
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("DELETE FROM ");
+    builder.append(table);
+    builder.append(" WHERE ");
+    if (keyColumns.size() == 1) {
+      builder.appendIdentifierQuoted(keyColumns.iterator().next().name());
+      builder.append(" IN (");
+      builder.appendMultiple(",", "?", rows);
+      builder.append(")");
+      return builder.toString();
+    }
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        builder.append(" OR ");
+      }
+      builder.append("(");
+      builder.appendList()
+             .delimitedBy(" AND ")
+             .transformedBy(ExpressionBuilder.columnNamesWith("=?"))
+             .of(keyColumns);
+      builder.append(")");
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that creates or replaces a staging table with the columns of the given
+   * table.
+   *
+   * @param stagingTable the identifier of the staging table; may not be null
+   * @param table        the identifier of the table whose columns are copied; may not be null
+   * @return the create statement; never null
+   */
+  public String buildCreateStagingTableStatement(TableId stagingTable, TableId table) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("CREATE OR REPLACE TABLE ");
+    builder.append(stagingTable);
+    builder.append(" LIKE ");
+    builder.append(table);
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that changes the length of a string column.
+   *
+   * @param table  the identifier of the table; may not be null
+   * @param column the name of the column; may not be null
+   * @param length the new length of the column
+   * @return the alter statement; never null
+   */
+  public String buildModifyColumnLengthStatement(TableId table, String column, int length) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("ALTER TABLE ");
+    builder.append(table);
+    builder.append(" MODIFY COLUMN ");
+    builder.appendIdentifierQuoted(column);
+    builder.append(" " + varcharType(length));
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that removes all rows from a table.
+   *
+   * @param table the identifier of the table; may not be null
+   * @return the truncate statement; never null
+   */
+  public String buildTruncateTableStatement(TableId table) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("TRUNCATE TABLE ");
+    builder.append(table);
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that creates the offsets table of exactly-once writes, unless it exists.
+   * The table holds the offset after the last written record of each topic partition per
+   * connector.
+   *
+   * @param table the identifier of the offsets table; may not be null
+   * @return the create statement; never null
+   */
+  public String buildCreateOffsetsTableStatement(TableId table) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("CREATE TABLE IF NOT EXISTS ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendIdentifierQuoted(OFFSETS_CONNECTOR_COLUMN);
+    builder.append(" VARCHAR(249) NOT NULL, ");
+    builder.appendIdentifierQuoted(OFFSETS_TOPIC_COLUMN);
+    builder.append(" VARCHAR(249) NOT NULL, ");
+    builder.appendIdentifierQuoted(OFFSETS_PARTITION_COLUMN);
+    builder.append(" DECIMAL(10,0) NOT NULL, ");
+    builder.appendIdentifierQuoted(OFFSETS_OFFSET_COLUMN);
+    builder.append(" DECIMAL(19,0) NOT NULL, PRIMARY KEY(");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(offsetsKeyColumns(table));
+    builder.append("))");
+    return builder.toString();
+  }
+
+  /**
+   * Build the query for the offsets of a connector, selecting the topic, partition and offset of
+   * the rows whose connector matches the only parameter.
+   *
+   * @param table the identifier of the offsets table; may not be null
+   * @return the query; never null
+   */
+  public String buildSelectOffsetsStatement(TableId table) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("SELECT ");
+    builder.appendIdentifierQuoted(OFFSETS_TOPIC_COLUMN);
+    builder.append(",");
+    builder.appendIdentifierQuoted(OFFSETS_PARTITION_COLUMN);
+    builder.append(",");
+    builder.appendIdentifierQuoted(OFFSETS_OFFSET_COLUMN);
+    builder.append(" FROM ");
+    builder.append(table);
+    builder.append(" WHERE ");
+    builder.appendIdentifierQuoted(OFFSETS_CONNECTOR_COLUMN);
+    builder.append("=?");
+    return builder.toString();
+  }
+
+  /**
+   * Build the statement that stores the offset of a topic partition, with the connector, topic,
+   * partition and offset as parameters.
+   *
+   * @param table the identifier of the offsets table; may not be null
+   * @return the merge statement; never null
+   */
+  public String buildMergeOffsetsStatement(TableId table) {
+    return buildUpsertQueryStatement(
+        table,
+        offsetsKeyColumns(table),
+        Collections.singletonList(new ColumnId(table, OFFSETS_OFFSET_COLUMN))
+    );
+  }
+
+  private static List<ColumnId> offsetsKeyColumns(TableId table) {
+    return Arrays.asList(
+        new ColumnId(table, OFFSETS_CONNECTOR_COLUMN),
+        new ColumnId(table, OFFSETS_TOPIC_COLUMN),
+        new ColumnId(table, OFFSETS_PARTITION_COLUMN)
+    );
+  }
+
+  /**
+   * Build the statement that imports a CSV file served over HTTP into a table. The file must
+   * hold the key columns followed by the non-key columns, separated by {@code ,}, with strings
+   * enclosed in {@code "} and rows ending with a line feed. No column formats are set, so dates
+   * and timestamps are parsed with the {@code NLS_DATE_FORMAT} and {@code NLS_TIMESTAMP_FORMAT}
+   * of the session.
+   *
+   * @param table         the identifier of the target table; may not be null
+   * @param keyColumns    the identifiers of the key columns; may not be null
+   * @param nonKeyColumns the identifiers of the other columns in the table; may not be null
+   * @param url           the URL of the HTTP server serving the file; may not be null
+   * @param fileName      the name of the file on the server; may not be null
+   * @return the import statement; never null
+   */
+  public String buildImportStatement(
+      TableId table,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      String url,
+      String fileName
+  ) {
+    ExpressionBuilder builder = expressionBuilder();
+    builder.append("IMPORT INTO ");
+    builder.append(table);
+    builder.append(" (");
+    builder.appendList()
+           .delimitedBy(",")
+           .transformedBy(ExpressionBuilder.columnNames())
+           .of(keyColumns, nonKeyColumns);
+    builder.append(") FROM CSV AT ");
+    appendStringLiteral(builder, url);
+    builder.append(" FILE ");
+    appendStringLiteral(builder, fileName);
+    builder.append(" ENCODING = 'UTF-8' ROW SEPARATOR = 'LF'");
+    builder.append(" COLUMN SEPARATOR = ',' COLUMN DELIMITER = '\"'");
+    return builder.toString();
+  }
+
+  private static String varcharType(int length) {
+    return "VARCHAR(" + length + ")";
+  }
+
+  private void appendMergeClauses(
+      ExpressionBuilder builder,
+      Collection<ColumnId> keyColumns,
+      Collection<ColumnId> nonKeyColumns,
+      boolean keyRange
+  ) {
+    builder.append(" ON (");
     builder.appendList()
            .delimitedBy(" AND ")
            .transformedBy(this::transformAs)
            .of(keyColumns);
+    if (keyRange) {
+      builder.append(" AND target.");
+      builder.appendIdentifierQuoted(keyColumns.iterator().next().name());
+      builder.append(" BETWEEN ? AND ?");
+    }
     builder.append(")");
     if (nonKeyColumns != null && !nonKeyColumns.isEmpty()) {
       builder.append(" WHEN MATCHED THEN UPDATE SET ");
@@ -156,7 +1249,10 @@ public class ExasolDatabaseDialect extends GenericDatabaseDialect {
            .transformedBy(ExpressionBuilder.columnNamesWithPrefix("incoming."))
            .of(nonKeyColumns, keyColumns);
     builder.append(")");
-    return builder.toString();
+  }
+
+  private void appendStringLiteral(ExpressionBuilder builder, String value) {
+    builder.append("'").append(value.replace("'", "''")).append("'");
   }
 
   private void transformAs(ExpressionBuilder builder, ColumnId col) {
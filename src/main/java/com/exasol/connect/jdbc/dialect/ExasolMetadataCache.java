@@ -0,0 +1,87 @@
+package com.exasol.connect.jdbc.dialect;
+
+import org.apache.kafka.common.utils.Time;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+
+/**
+ * The column definitions of the tables of whole schemas, loaded together the first time a table
+ * of a schema is described. A table missing from its loaded schema loads the schema again,
+ * because it may have been created since. A schema is also loaded again after a fixed interval,
+ * to see the tables altered by others, and the cache is invalidated when this connector changes
+ * the structure of a table.
+ */
+final class ExasolMetadataCache {
+
+  /**
+   * Loads the column definitions of all tables of a schema.
+   */
+  @FunctionalInterface
+  interface SchemaLoader {
+    /**
+     * @param schema the name of the schema, or null for the current schema
+     * @return the column definitions in their order, by table name; never null
+     * @throws SQLException if the definitions cannot be loaded
+     */
+    Map<String, Map<ColumnId, ColumnDefinition>> load(String schema) throws SQLException;
+  }
+
+  private final Map<String, Map<String, Map<ColumnId, ColumnDefinition>>> schemas =
+      new HashMap<>();
+  private final Map<String, Long> loadedAt = new HashMap<>();
+  private final long refreshMs;
+  private final Time time;
+
+  /**
+   * Create a cache.
+   *
+   * @param refreshMs the interval after which a schema is loaded again; 0 loads it every time
+   * @param time      the local clock; may not be null
+   */
+  ExasolMetadataCache(long refreshMs, Time time) {
+    this.refreshMs = refreshMs;
+    this.time = time;
+  }
+
+  /**
+   * Get the column definitions of a table.
+   *
+   * @param schema the name of the schema, or null for the current schema
+   * @param table  the name of the table; may not be null
+   * @param loader loads the definitions of a schema that is not cached; may not be null
+   * @return the column definitions in their order, empty if the table does not exist; never null
+   * @throws SQLException if the definitions cannot be loaded
+   */
+  synchronized Map<ColumnId, ColumnDefinition> columns(
+      String schema,
+      String table,
+      SchemaLoader loader
+  ) throws SQLException {
+    final long now = time.milliseconds();
+    Map<String, Map<ColumnId, ColumnDefinition>> tables = schemas.get(schema);
+    if (tables == null || !tables.containsKey(table) || now - loadedAt.get(schema) >= refreshMs) {
+      tables = loader.load(schema);
+      schemas.put(schema, tables);
+      loadedAt.put(schema, now);
+    }
+    final Map<ColumnId, ColumnDefinition> columns = tables.get(table);
+    return columns == null
+           ? Collections.<ColumnId, ColumnDefinition>emptyMap()
+           : new LinkedHashMap<>(columns);
+  }
+
+  /**
+   * Drop the cached definitions of all schemas.
+   */
+  synchronized void invalidate() {
+    schemas.clear();
+    loadedAt.clear();
+  }
+}
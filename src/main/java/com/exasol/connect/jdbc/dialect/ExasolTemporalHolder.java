@@ -0,0 +1,57 @@
+package com.exasol.connect.jdbc.dialect;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+
+/**
+ * The {@code DATE} and {@code TIMESTAMP} parameter values of one thread, reset to each bound
+ * epoch instead of being allocated per value.
+ *
+ * <p>A holder must stay confined to its thread, and a value is only valid until the next value of
+ * the same type is bound. The Exasol driver copies a parameter when it is set, so reusing the
+ * value for the next parameter or batch row does not change the one already bound.
+ */
+final class ExasolTemporalHolder {
+
+  private static final ThreadLocal<ExasolTemporalHolder> HOLDERS =
+      ThreadLocal.withInitial(ExasolTemporalHolder::new);
+
+  private final Calendar utcCalendar = DateTimeUtils.UTC_CALENDAR.get();
+  private final Date date = new Date(0L);
+  private final Timestamp timestamp = new Timestamp(0L);
+
+  /**
+   * @return the holder of the current thread; never null
+   */
+  static ExasolTemporalHolder current() {
+    return HOLDERS.get();
+  }
+
+  /**
+   * @return the UTC calendar of the thread to bind the values with; never null
+   */
+  Calendar utcCalendar() {
+    return utcCalendar;
+  }
+
+  /**
+   * @param epochMillis the milliseconds since the epoch
+   * @return the date of this holder, set to the given epoch; never null
+   */
+  Date date(long epochMillis) {
+    date.setTime(epochMillis);
+    return date;
+  }
+
+  /**
+   * @param epochMillis the milliseconds since the epoch
+   * @return the timestamp of this holder, set to the given epoch; never null
+   */
+  Timestamp timestamp(long epochMillis) {
+    timestamp.setTime(epochMillis);
+    return timestamp;
+  }
+}
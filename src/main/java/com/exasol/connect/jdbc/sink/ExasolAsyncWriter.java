@@ -0,0 +1,167 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the records of a {@code put()} on a dedicated thread, so the task receives the next
+ * records while Exasol executes and commits the previous ones.
+ *
+ * <p>At most one write is in flight: a new write first waits for the previous one, so the task
+ * holds at most two batches, the one being written and the one being handed over. The offsets of
+ * a batch are reported as committed only once its transaction is committed. A failed write is
+ * not retried; it fails every later call, so no later batch is committed before it and its
+ * records are consumed again from the last committed offsets when the task restarts.
+ */
+public class ExasolAsyncWriter implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolAsyncWriter.class);
+
+  private final ExasolDbWriter writer;
+  private final ExecutorService executor;
+  private final Map<TopicPartition, OffsetAndMetadata> committedOffsets =
+      new ConcurrentHashMap<>();
+  private Future<?> inFlight;
+  private ConnectException failure;
+
+  public ExasolAsyncWriter(ExasolDbWriter writer) {
+    this.writer = writer;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "exasol-async-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Hand the given records over to the writer thread, after the previous write completed.
+   *
+   * @param records the records; may not be null
+   * @throws ConnectException if this or an earlier write failed
+   */
+  public void write(Collection<SinkRecord> records) {
+    await();
+    final List<SinkRecord> batch = new ArrayList<>(records);
+    final Map<TopicPartition, OffsetAndMetadata> offsets = offsetsAfter(batch);
+    inFlight = executor.submit(() -> {
+      writer.write(batch);
+      offsets.forEach((partition, offset) -> committedOffsets.merge(
+          partition,
+          offset,
+          (previous, next) -> next.offset() > previous.offset() ? next : previous
+      ));
+      return null;
+    });
+  }
+
+  /**
+   * Get the committed offsets of the given partitions, without waiting for the write in flight.
+   *
+   * @param partitions the partitions assigned to the task; may not be null
+   * @return the offsets after the last committed record of each partition with committed
+   *     records; never null
+   * @throws ConnectException if a write failed
+   */
+  public Map<TopicPartition, OffsetAndMetadata> committedOffsets(
+      Collection<TopicPartition> partitions
+  ) {
+    if (inFlight != null && inFlight.isDone()) {
+      await();
+    }
+    checkFailure();
+    final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    for (TopicPartition partition : partitions) {
+      final OffsetAndMetadata offset = committedOffsets.get(partition);
+      if (offset != null) {
+        offsets.put(partition, offset);
+      }
+    }
+    return offsets;
+  }
+
+  /**
+   * Finish the write in flight and forget the offsets of partitions taken from the task.
+   *
+   * @param partitions the revoked partitions; may not be null
+   * @throws ConnectException if a write failed
+   */
+  public void revoke(Collection<TopicPartition> partitions) {
+    await();
+    committedOffsets.keySet().removeAll(partitions);
+  }
+
+  /**
+   * Wait for the write in flight to complete.
+   *
+   * @throws ConnectException if this or an earlier write failed
+   */
+  public void await() {
+    checkFailure();
+    if (inFlight == null) {
+      return;
+    }
+    try {
+      inFlight.get();
+    } catch (ExecutionException e) {
+      failure = new ConnectException("Asynchronous write to Exasol failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectException("Interrupted while waiting for the write to Exasol", e);
+    } finally {
+      if (inFlight.isDone()) {
+        inFlight = null;
+      }
+    }
+    checkFailure();
+  }
+
+  /**
+   * Wait for the write in flight and stop the writer thread. A failed write is logged.
+   */
+  @Override
+  public void close() {
+    try {
+      await();
+    } catch (ConnectException e) {
+      log.warn("Closing the asynchronous writer after a failed write", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static Map<TopicPartition, OffsetAndMetadata> offsetsAfter(List<SinkRecord> records) {
+    final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    for (SinkRecord record : records) {
+      final TopicPartition partition = new TopicPartition(
+          record.topic(),
+          record.kafkaPartition()
+      );
+      final OffsetAndMetadata offset = offsets.get(partition);
+      if (offset == null || offset.offset() <= record.kafkaOffset()) {
+        offsets.put(partition, new OffsetAndMetadata(record.kafkaOffset() + 1));
+      }
+    }
+    return offsets;
+  }
+}
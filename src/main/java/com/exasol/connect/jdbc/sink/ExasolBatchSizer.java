@@ -0,0 +1,95 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the batch size of a table from the measured duration of its flushes.
+ *
+ * <p>With adaptive batch sizing the size grows by {@code batch.size.min} records after every
+ * full batch flushed within {@code batch.flush.target.ms}, and is halved after a slower or
+ * failed flush, between {@code batch.size.min} and {@code batch.size.max}. Without it the size
+ * stays at {@code batch.size}. The measurements are published either way.
+ */
+public class ExasolBatchSizer implements ExasolBatchSizerMBean {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolBatchSizer.class);
+
+  private final boolean adaptive;
+  private final int minSize;
+  private final int maxSize;
+  private final long targetNanos;
+  private volatile int batchSize;
+  private volatile long lastFlushMillis;
+  private volatile long lastFlushRecordsPerSecond;
+
+  public ExasolBatchSizer(ExasolSinkConfig config) {
+    this.adaptive = config.batchSizeAdaptive;
+    this.minSize = config.batchSizeMin;
+    this.maxSize = config.batchSizeMax;
+    this.targetNanos = TimeUnit.MILLISECONDS.toNanos(config.batchFlushTargetMs);
+    this.batchSize = adaptive
+                     ? Math.min(Math.max(config.jdbcConfig.batchSize, minSize), maxSize)
+                     : config.jdbcConfig.batchSize;
+  }
+
+  /**
+   * @return the number of records at which to flush
+   */
+  public int batchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Record a successful flush.
+   *
+   * @param records the number of flushed records
+   * @param nanos   the duration of the flush in nanoseconds
+   */
+  public void recordFlush(int records, long nanos) {
+    lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    lastFlushRecordsPerSecond = nanos > 0 ? records * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    if (!adaptive) {
+      return;
+    }
+    if (nanos > targetNanos) {
+      decrease();
+    } else if (records >= batchSize) {
+      batchSize = Math.min(batchSize + minSize, maxSize);
+    }
+  }
+
+  /**
+   * Record a failed flush.
+   */
+  public void recordFailure() {
+    if (adaptive) {
+      decrease();
+    }
+  }
+
+  @Override
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  @Override
+  public long getLastFlushMillis() {
+    return lastFlushMillis;
+  }
+
+  @Override
+  public long getLastFlushRecordsPerSecond() {
+    return lastFlushRecordsPerSecond;
+  }
+
+  private void decrease() {
+    final int decreased = Math.max(batchSize / 2, minSize);
+    if (decreased != batchSize) {
+      log.debug("Decreasing batch size from {} to {}", batchSize, decreased);
+      batchSize = decreased;
+    }
+  }
+}
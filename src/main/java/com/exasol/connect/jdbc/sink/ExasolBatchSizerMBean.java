@@ -0,0 +1,22 @@
+package com.exasol.connect.jdbc.sink;
+
+/**
+ * The JMX view of the {@link ExasolBatchSizer} of a table.
+ */
+public interface ExasolBatchSizerMBean {
+
+  /**
+   * @return the number of records at which the buffer of the table is flushed
+   */
+  int getBatchSize();
+
+  /**
+   * @return the duration of the last flush of the table in milliseconds
+   */
+  long getLastFlushMillis();
+
+  /**
+   * @return the number of records per second written by the last flush of the table
+   */
+  long getLastFlushRecordsPerSecond();
+}
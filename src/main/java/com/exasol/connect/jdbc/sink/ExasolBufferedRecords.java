@@ -0,0 +1,587 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Buffers the records of one destination table and writes them in batches. The buffer is
+ * flushed at the batch size chosen by the {@link ExasolBatchSizer} of the table.
+ *
+ * <p>In upsert mode the records are merged in chunks of {@code upsert.merge.rows} rows per
+ * {@code MERGE} statement, and the records left over are merged one row per statement. Batches
+ * of a single integer key with a spread up to {@code upsert.prune.max.key.spread} are merged
+ * with statements restricted to the key range of their rows. With {@code upsert.deduplicate}
+ * records that share a key are collapsed by an {@link ExasolRecordDeduplicator} first.
+ *
+ * <p>With the {@code staging} upsert strategy the records are loaded into the staging table of
+ * the destination table instead, which is merged into it with a single {@code MERGE} statement
+ * and truncated.
+ *
+ * <p>With the {@code import} write method inserts and staging table loads are streamed as CSV
+ * through an {@link ExasolImportServer} and loaded with {@code IMPORT}. Otherwise inserts are
+ * spread over the sub-connections by an {@link ExasolParallelWriter} when they are configured.
+ *
+ * <p>With deletes enabled, tombstones are buffered along with the other records and deleted by
+ * an {@link ExasolRecordDeleter}, in order with the writes of the same keys.
+ *
+ * <p>Statements are prepared through the {@link ExasolStatementCache} of the writer and stay
+ * open after the buffer is closed. String columns too short for a batch are widened by the
+ * {@link ExasolDbStructure} before it is written.
+ */
+public class ExasolBufferedRecords {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolBufferedRecords.class);
+
+  private static final EnumSet<Schema.Type> INTEGER_TYPES = EnumSet.of(
+      Schema.Type.INT8,
+      Schema.Type.INT16,
+      Schema.Type.INT32,
+      Schema.Type.INT64
+  );
+
+  private final TableId tableId;
+  private final ExasolSinkConfig config;
+  private final JdbcSinkConfig jdbcConfig;
+  private final ExasolDatabaseDialect dbDialect;
+  private final ExasolDbStructure dbStructure;
+  private final ExasolStagingTables stagingTables;
+  private final ExasolImportServer importServer;
+  private final ExasolParallelWriter parallelWriter;
+  private final ExasolStatementCache statementCache;
+  private final ExasolSinkMetrics metrics;
+  private final ExasolBatchSizer batchSizer;
+  private final ExasolRecordDeduplicator deduplicator = new ExasolRecordDeduplicator();
+  private final Connection connection;
+
+  private final ExasolRecordDeleter deleter;
+
+  private List<SinkRecord> records = new ArrayList<>();
+  private int tombstones;
+  private Schema keySchema;
+  private SchemaPair currentSchemaPair;
+  private FieldsMetadata fieldsMetadata;
+  private TableId stagingTableId;
+  private PreparedStatement preparedStatement;
+  private ExasolStatementBinder preparedStatementBinder;
+  private PreparedStatement multiRowStatement;
+  private ExasolStatementBinder multiRowStatementBinder;
+  private final Map<Integer, ExasolStatementBinder> keyRangeBinders = new HashMap<>();
+
+  public ExasolBufferedRecords(
+      ExasolWriteContext context,
+      TableId tableId,
+      ExasolBatchSizer batchSizer,
+      Connection connection
+  ) {
+    this.tableId = tableId;
+    this.config = context.config;
+    this.jdbcConfig = config.jdbcConfig;
+    this.dbDialect = context.dbDialect;
+    this.dbStructure = context.dbStructure;
+    this.stagingTables = context.stagingTables;
+    this.importServer = context.importServer;
+    this.parallelWriter = context.parallelWriter;
+    this.statementCache = context.statementCache;
+    this.metrics = context.metrics;
+    this.batchSizer = batchSizer;
+    this.connection = connection;
+    this.deleter = config.deleteEnabled
+                   ? new ExasolRecordDeleter(config, tableId, dbDialect, statementCache)
+                   : null;
+  }
+
+  public List<SinkRecord> add(SinkRecord record) throws SQLException {
+    final boolean tombstone = isTombstone(record);
+    final SchemaPair schemaPair = new SchemaPair(
+        record.keySchema(),
+        record.valueSchema()
+    );
+
+    final List<SinkRecord> flushed = new ArrayList<>();
+    if ((!records.isEmpty() && !Objects.equals(keySchema, record.keySchema()))
+        || (!tombstone && currentSchemaPair != null && !currentSchemaPair.equals(schemaPair))) {
+      // Each batch needs to have the same SchemaPair, so get the buffered records out and reset
+      // state
+      flushed.addAll(flush());
+      currentSchemaPair = null;
+    }
+
+    if (!tombstone && currentSchemaPair == null) {
+      currentSchemaPair = schemaPair;
+      // re-initialize everything that depends on the record schema
+      fieldsMetadata = FieldsMetadata.extract(
+          tableId.tableName(),
+          jdbcConfig.pkMode,
+          jdbcConfig.pkFields,
+          jdbcConfig.fieldsWhitelist,
+          currentSchemaPair
+      );
+      final boolean amended = dbStructure.createOrAmendIfNecessary(
+          jdbcConfig,
+          connection,
+          tableId,
+          fieldsMetadata
+      );
+      if (usesStagingTable()) {
+        if (amended) {
+          stagingTables.invalidate(tableId);
+        }
+        stagingTableId = stagingTables.prepare(connection, tableId);
+      }
+
+      close();
+      prepareStatements();
+    }
+
+    keySchema = record.keySchema();
+    records.add(record);
+    if (tombstone) {
+      tombstones++;
+    }
+    if (records.size() >= batchSizer.batchSize()) {
+      flushed.addAll(flush());
+    }
+    return flushed;
+  }
+
+  public List<SinkRecord> flush() throws SQLException {
+    if (records.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final List<SinkRecord> batch = deduplicate();
+    final long start = System.nanoTime();
+    try {
+      if (tombstones == 0) {
+        write(batch);
+      } else {
+        for (List<SinkRecord> run : runs(batch)) {
+          if (isTombstone(run.get(0))) {
+            deleter.delete(connection, run);
+          } else {
+            write(run);
+          }
+        }
+      }
+    } catch (SQLException | RuntimeException e) {
+      batchSizer.recordFailure();
+      throw e;
+    }
+    batchSizer.recordFlush(records.size(), System.nanoTime() - start);
+    tombstones = 0;
+    return takeRecords();
+  }
+
+  private void write(List<SinkRecord> batch) throws SQLException {
+    widenColumnsIfNecessary(batch);
+    if (usesStagingTable()) {
+      flushThroughStagingTable(batch);
+    } else if (usesImport()) {
+      checkUpdateCounts(batch, importRecords(tableId, batch));
+    } else if (usesParallelInserts()) {
+      checkUpdateCounts(batch, insertInParallel(batch));
+    } else {
+      executeStatements(batch);
+    }
+  }
+
+  /**
+   * Split a batch into runs of writes and runs of deletes, keeping the order of the operations
+   * on each key. Once the batch is deduplicated every key occurs once, so all writes form one
+   * run and all deletes another.
+   */
+  private List<List<SinkRecord>> runs(List<SinkRecord> batch) {
+    final List<List<SinkRecord>> runs = new ArrayList<>();
+    if (deduplicates()) {
+      final List<SinkRecord> writes = new ArrayList<>(batch.size() - tombstones);
+      final List<SinkRecord> deletes = new ArrayList<>(tombstones);
+      for (SinkRecord record : batch) {
+        (isTombstone(record) ? deletes : writes).add(record);
+      }
+      for (List<SinkRecord> run : Arrays.asList(writes, deletes)) {
+        if (!run.isEmpty()) {
+          runs.add(run);
+        }
+      }
+      return runs;
+    }
+    int start = 0;
+    for (int i = 1; i <= batch.size(); i++) {
+      if (i == batch.size() || isTombstone(batch.get(i)) != isTombstone(batch.get(start))) {
+        runs.add(batch.subList(start, i));
+        start = i;
+      }
+    }
+    return runs;
+  }
+
+  private List<SinkRecord> deduplicate() {
+    if (!deduplicates()) {
+      return records;
+    }
+    final ExasolRecordKeys keys = tombstones == 0
+        ? new ExasolRecordKeys(jdbcConfig.pkMode, currentSchemaPair, fieldsMetadata)
+        : new ExasolRecordKeys(
+            jdbcConfig.pkMode,
+            new SchemaPair(keySchema, null),
+            deleter.keyFields(keySchema)
+        );
+    final List<SinkRecord> batch = deduplicator.deduplicate(records, keys);
+    final int dropped = records.size() - batch.size();
+    log.debug("Dropped {} of {} records with repeated keys", dropped, records.size());
+    metrics.recordDeduplication(dropped);
+    return batch;
+  }
+
+  private void widenColumnsIfNecessary(List<SinkRecord> batch) throws SQLException {
+    if (!dbStructure.widenIfNecessary(jdbcConfig, connection, tableId, fieldsMetadata, batch)) {
+      return;
+    }
+    // statements prepared before the change may still expect the old column types
+    if (usesStagingTable()) {
+      stagingTables.invalidate(tableId);
+      stagingTableId = stagingTables.prepare(connection, tableId);
+    }
+    statementCache.evict(tableId);
+    if (stagingTableId != null) {
+      statementCache.evict(stagingTableId);
+    }
+    close();
+    prepareStatements();
+  }
+
+  private void prepareStatements() throws SQLException {
+    if (!usesImport() && !usesParallelInserts()) {
+      final String sql = getInsertSql();
+      log.debug(
+          "{} sql: {}",
+          jdbcConfig.insertMode,
+          sql
+      );
+      preparedStatement = statementCache.prepare(
+          connection,
+          usesStagingTable() ? stagingTableId : tableId,
+          sql
+      );
+      preparedStatementBinder = createBinder(preparedStatement);
+    }
+  }
+
+  private void executeStatements(List<SinkRecord> batch) throws SQLException {
+    final int rowsPerStatement = rowsPerStatement();
+    final int multiRowRecords = rowsPerStatement > 1
+                                ? batch.size() - batch.size() % rowsPerStatement
+                                : 0;
+    final boolean keyRange = prunesKeyRange(batch);
+    int[] multiRowCounts = new int[0];
+    if (multiRowRecords > 0) {
+      final ExasolStatementBinder binder = keyRange
+                                           ? keyRangeBinder(rowsPerStatement)
+                                           : multiRowStatementBinder(rowsPerStatement);
+      binder.bindRecords(batch.subList(0, multiRowRecords), rowsPerStatement);
+      multiRowCounts = binder.statement().executeBatch();
+    }
+    int[] singleRowCounts = new int[0];
+    if (multiRowRecords < batch.size()) {
+      final ExasolStatementBinder binder = keyRange ? keyRangeBinder(1) : preparedStatementBinder;
+      binder.bindRecords(batch.subList(multiRowRecords, batch.size()), 1);
+      singleRowCounts = binder.statement().executeBatch();
+    }
+
+    checkUpdateCounts(batch, multiRowCounts, singleRowCounts);
+  }
+
+  private void flushThroughStagingTable(List<SinkRecord> batch) throws SQLException {
+    final int[] stagedCounts;
+    if (usesImport()) {
+      stagedCounts = importRecords(stagingTableId, batch);
+    } else if (usesParallelInserts()) {
+      stagedCounts = insertInParallel(batch);
+    } else {
+      preparedStatementBinder.bindRecords(batch, 1);
+      stagedCounts = preparedStatement.executeBatch();
+    }
+    final String mergeSql = dbDialect.buildMergeFromTableStatement(
+        tableId,
+        stagingTableId,
+        asColumns(fieldsMetadata.keyFieldNames),
+        asColumns(fieldsMetadata.nonKeyFieldNames)
+    );
+    try (Statement statement = connection.createStatement()) {
+      final int mergedCount = statement.executeUpdate(mergeSql);
+      log.debug("Merged {} rows from staging table {}", mergedCount, stagingTableId);
+      statement.executeUpdate(dbDialect.buildTruncateTableStatement(stagingTableId));
+    }
+    checkUpdateCounts(batch, stagedCounts);
+  }
+
+  private int[] insertInParallel(List<SinkRecord> batch) throws SQLException {
+    return parallelWriter.insert(
+        connection,
+        getInsertSql(),
+        batch,
+        this::createBinder
+    );
+  }
+
+  private int[] importRecords(TableId table, List<SinkRecord> batch) throws SQLException {
+    final ExasolCsvSerializer serializer = new ExasolCsvSerializer(
+        jdbcConfig.pkMode,
+        currentSchemaPair,
+        fieldsMetadata
+    );
+    try (ExasolImportServer.Transfer transfer = importServer.offer(
+            out -> serializer.write(batch, out));
+         Statement statement = connection.createStatement()) {
+      final String sql = dbDialect.buildImportStatement(
+          table,
+          asColumns(fieldsMetadata.keyFieldNames),
+          asColumns(fieldsMetadata.nonKeyFieldNames),
+          transfer.url(),
+          transfer.fileName()
+      );
+      log.debug("import sql: {}", sql);
+      return new int[] {statement.executeUpdate(sql)};
+    }
+  }
+
+  private List<SinkRecord> takeRecords() {
+    final List<SinkRecord> flushedRecords = records;
+    records = new ArrayList<>();
+    return flushedRecords;
+  }
+
+  public void close() throws SQLException {
+    // the statements belong to the statement cache
+    preparedStatement = null;
+    preparedStatementBinder = null;
+    multiRowStatement = null;
+    multiRowStatementBinder = null;
+    keyRangeBinders.clear();
+  }
+
+  private void checkUpdateCounts(List<SinkRecord> batch, int[]... updateCountArrays) {
+    int totalUpdateCount = 0;
+    boolean successNoInfo = false;
+    for (int[] updateCounts : updateCountArrays) {
+      for (int updateCount : updateCounts) {
+        if (updateCount == Statement.SUCCESS_NO_INFO) {
+          successNoInfo = true;
+          continue;
+        }
+        totalUpdateCount += updateCount;
+      }
+    }
+    if (totalUpdateCount != batch.size() && !successNoInfo) {
+      switch (jdbcConfig.insertMode) {
+        case INSERT:
+          throw new ConnectException(String.format(
+              "Update count (%d) did not sum up to total number of records inserted (%d)",
+              totalUpdateCount,
+              batch.size()
+          ));
+        case UPSERT:
+        case UPDATE:
+          log.trace(
+              "{} records:{} resulting in in totalUpdateCount:{}",
+              jdbcConfig.insertMode,
+              batch.size(),
+              totalUpdateCount
+          );
+          break;
+        default:
+          throw new ConnectException("Unknown insert mode: " + jdbcConfig.insertMode);
+      }
+    }
+    if (successNoInfo) {
+      log.info(
+          "{} records:{} , but no count of the number of rows it affected is available",
+          jdbcConfig.insertMode,
+          batch.size()
+      );
+    }
+  }
+
+  private boolean isTombstone(SinkRecord record) {
+    return deleter != null && ExasolRecordDeleter.isTombstone(record);
+  }
+
+  private boolean deduplicates() {
+    return jdbcConfig.insertMode == JdbcSinkConfig.InsertMode.UPSERT && config.upsertDeduplicate;
+  }
+
+  private boolean usesStagingTable() {
+    return jdbcConfig.insertMode == JdbcSinkConfig.InsertMode.UPSERT
+           && config.upsertStrategy == ExasolSinkConfig.UpsertStrategy.STAGING;
+  }
+
+  private boolean usesImport() {
+    return config.writeMethod == ExasolSinkConfig.WriteMethod.IMPORT
+           && (jdbcConfig.insertMode == JdbcSinkConfig.InsertMode.INSERT || usesStagingTable());
+  }
+
+  private boolean usesParallelInserts() {
+    return parallelWriter != null
+           && !usesImport()
+           && (jdbcConfig.insertMode == JdbcSinkConfig.InsertMode.INSERT || usesStagingTable());
+  }
+
+  private int rowsPerStatement() {
+    if (jdbcConfig.insertMode == JdbcSinkConfig.InsertMode.UPSERT) {
+      return config.upsertMergeRows;
+    }
+    return 1;
+  }
+
+  private ExasolStatementBinder multiRowStatementBinder(int rows) throws SQLException {
+    if (multiRowStatement == null) {
+      final String sql = dbDialect.buildUpsertQueryStatement(
+          tableId,
+          asColumns(fieldsMetadata.keyFieldNames),
+          asColumns(fieldsMetadata.nonKeyFieldNames),
+          rows
+      );
+      log.debug("{} sql for {} rows: {}", jdbcConfig.insertMode, rows, sql);
+      multiRowStatement = statementCache.prepare(connection, tableId, sql);
+      multiRowStatementBinder = createBinder(multiRowStatement);
+    }
+    return multiRowStatementBinder;
+  }
+
+  /**
+   * Check whether the {@code MERGE} of a batch can be restricted to the range of its keys: the
+   * table has a single integer key and the keys of the batch are close enough together.
+   */
+  private boolean prunesKeyRange(List<SinkRecord> batch) {
+    if (config.upsertPruneMaxKeySpread <= 0
+        || jdbcConfig.insertMode != JdbcSinkConfig.InsertMode.UPSERT
+        || usesStagingTable()
+        || fieldsMetadata.keyFieldNames.size() != 1) {
+      return false;
+    }
+    final SinkRecordField key = fieldsMetadata.allFields.get(
+        fieldsMetadata.keyFieldNames.iterator().next()
+    );
+    if (key.schemaName() != null || !INTEGER_TYPES.contains(key.schemaType())) {
+      return false;
+    }
+    final ExasolRecordKeys keys = new ExasolRecordKeys(
+        jdbcConfig.pkMode,
+        currentSchemaPair,
+        fieldsMetadata
+    );
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (SinkRecord record : batch) {
+      final Object value = keys.value(record, 0);
+      if (value == null) {
+        // a null key has no range, the unrestricted merge lets the database reject it
+        return false;
+      }
+      min = Math.min(min, ((Number) value).longValue());
+      max = Math.max(max, ((Number) value).longValue());
+    }
+    final long spread = max - min;
+    if (spread < 0 || spread > config.upsertPruneMaxKeySpread) {
+      log.debug("Merging without key range, the keys of {} spread over {}", tableId, spread);
+      return false;
+    }
+    return true;
+  }
+
+  private ExasolStatementBinder keyRangeBinder(int rows) throws SQLException {
+    ExasolStatementBinder binder = keyRangeBinders.get(rows);
+    if (binder == null) {
+      final String sql = dbDialect.buildKeyRangeUpsertQueryStatement(
+          tableId,
+          asColumns(fieldsMetadata.keyFieldNames),
+          asColumns(fieldsMetadata.nonKeyFieldNames),
+          rows
+      );
+      log.debug("{} sql for {} rows in a key range: {}", jdbcConfig.insertMode, rows, sql);
+      binder = createBinder(statementCache.prepare(connection, tableId, sql)).withKeyRange();
+      keyRangeBinders.put(rows, binder);
+    }
+    return binder;
+  }
+
+  private ExasolStatementBinder createBinder(PreparedStatement statement) {
+    return dbDialect.statementBinder(
+        statement,
+        jdbcConfig.pkMode,
+        currentSchemaPair,
+        fieldsMetadata,
+        jdbcConfig.insertMode
+    );
+  }
+
+  private String getInsertSql() {
+    switch (jdbcConfig.insertMode) {
+      case INSERT:
+        return dbDialect.buildInsertStatement(
+            tableId,
+            asColumns(fieldsMetadata.keyFieldNames),
+            asColumns(fieldsMetadata.nonKeyFieldNames)
+        );
+      case UPSERT:
+        if (fieldsMetadata.keyFieldNames.isEmpty()) {
+          throw new ConnectException(String.format(
+              "Write to table '%s' in UPSERT mode requires key field names to be known, check the"
+              + " primary key configuration",
+              tableId
+          ));
+        }
+        if (usesStagingTable()) {
+          return dbDialect.buildInsertStatement(
+              stagingTableId,
+              asColumns(fieldsMetadata.keyFieldNames),
+              asColumns(fieldsMetadata.nonKeyFieldNames)
+          );
+        }
+        return dbDialect.buildUpsertQueryStatement(
+            tableId,
+            asColumns(fieldsMetadata.keyFieldNames),
+            asColumns(fieldsMetadata.nonKeyFieldNames)
+        );
+      case UPDATE:
+        return dbDialect.buildUpdateStatement(
+            tableId,
+            asColumns(fieldsMetadata.keyFieldNames),
+            asColumns(fieldsMetadata.nonKeyFieldNames)
+        );
+      default:
+        throw new ConnectException("Invalid insert mode");
+    }
+  }
+
+  private Collection<ColumnId> asColumns(Collection<String> names) {
+    return names.stream()
+        .map(name -> new ColumnId(tableId, name))
+        .collect(Collectors.toList());
+  }
+}
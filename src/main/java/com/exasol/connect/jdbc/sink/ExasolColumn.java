@@ -0,0 +1,357 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+
+/**
+ * The values of one statement parameter across a batch of records, held in an array of the
+ * parameter's type. The type is resolved once when the column is created, so filling and binding
+ * a value neither dispatches on the schema nor keeps the value boxed. The arrays grow to the
+ * largest batch and are reused.
+ */
+abstract class ExasolColumn {
+
+  private final Function<SinkRecord, Object> accessor;
+  private final BitSet nulls = new BitSet();
+
+  ExasolColumn(Function<SinkRecord, Object> accessor) {
+    this.accessor = accessor;
+  }
+
+  /**
+   * Create the column of a parameter with the given schema.
+   *
+   * @param dialect  the dialect binding the types without an own column; may not be null
+   * @param schema   the schema of the parameter's values; may not be null
+   * @param accessor reads the parameter's value from a record; may not be null
+   * @return the column; never null
+   */
+  static ExasolColumn of(
+      DatabaseDialect dialect,
+      Schema schema,
+      Function<SinkRecord, Object> accessor
+  ) {
+    if (schema.name() == null) {
+      switch (schema.type()) {
+        case INT8:
+        case INT16:
+        case INT32:
+        case INT64:
+          return new LongColumn(accessor);
+        case FLOAT32:
+        case FLOAT64:
+          return new DoubleColumn(accessor);
+        case BOOLEAN:
+          return new BooleanColumn(accessor);
+        case STRING:
+          return new StringColumn(accessor);
+        default:
+          // bound by the dialect
+      }
+    } else if (dialect instanceof ExasolDatabaseDialect) {
+      switch (schema.name()) {
+        case Date.LOGICAL_NAME:
+          return new EpochColumn((ExasolDatabaseDialect) dialect, false, accessor);
+        case Timestamp.LOGICAL_NAME:
+          return new EpochColumn((ExasolDatabaseDialect) dialect, true, accessor);
+        default:
+          // bound by the dialect
+      }
+    }
+    return new ObjectColumn(dialect, schema, accessor);
+  }
+
+  /**
+   * Read the values of the column from the given records, replacing the previous values.
+   *
+   * @param records the records; may not be null
+   */
+  void fill(List<SinkRecord> records) {
+    final int size = records.size();
+    ensureCapacity(size);
+    nulls.clear();
+    for (int row = 0; row < size; row++) {
+      final Object value = accessor.apply(records.get(row));
+      if (value == null) {
+        nulls.set(row);
+      } else {
+        set(row, value);
+      }
+    }
+  }
+
+  /**
+   * Bind the value of a row to a statement parameter.
+   *
+   * @param statement the statement; may not be null
+   * @param index     the index of the parameter
+   * @param row       the row
+   * @throws SQLException if the value cannot be bound
+   */
+  void bind(PreparedStatement statement, int index, int row) throws SQLException {
+    if (nulls.get(row)) {
+      bindNull(statement, index);
+    } else {
+      bindValue(statement, index, row);
+    }
+  }
+
+  abstract void ensureCapacity(int size);
+
+  abstract void set(int row, Object value);
+
+  boolean isNull(int row) {
+    return nulls.get(row);
+  }
+
+  abstract void bindNull(PreparedStatement statement, int index) throws SQLException;
+
+  abstract void bindValue(PreparedStatement statement, int index, int row) throws SQLException;
+
+  static int grow(int capacity, int size) {
+    return Math.max(size, capacity + (capacity >> 1));
+  }
+
+  /**
+   * A column of integer values, which can also bind the range of its values.
+   */
+  static final class LongColumn extends ExasolColumn {
+    private long[] values = new long[0];
+
+    LongColumn(Function<SinkRecord, Object> accessor) {
+      super(accessor);
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = ((Number) value).longValue();
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      statement.setNull(index, Types.BIGINT);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      statement.setLong(index, values[row]);
+    }
+
+    /**
+     * Bind the lowest and the highest non-null value of some rows to two consecutive statement
+     * parameters.
+     *
+     * @param statement the statement; may not be null
+     * @param index     the index of the parameter of the lowest value
+     * @param from      the first row, inclusive
+     * @param to        the last row, exclusive
+     * @throws SQLException if the values cannot be bound
+     */
+    void bindRange(PreparedStatement statement, int index, int from, int to) throws SQLException {
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (int row = from; row < to; row++) {
+        if (!isNull(row)) {
+          min = Math.min(min, values[row]);
+          max = Math.max(max, values[row]);
+        }
+      }
+      statement.setLong(index, min);
+      statement.setLong(index + 1, max);
+    }
+  }
+
+  private static final class DoubleColumn extends ExasolColumn {
+    private double[] values = new double[0];
+
+    DoubleColumn(Function<SinkRecord, Object> accessor) {
+      super(accessor);
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = ((Number) value).doubleValue();
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      statement.setNull(index, Types.DOUBLE);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      statement.setDouble(index, values[row]);
+    }
+  }
+
+  private static final class BooleanColumn extends ExasolColumn {
+    private boolean[] values = new boolean[0];
+
+    BooleanColumn(Function<SinkRecord, Object> accessor) {
+      super(accessor);
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = (Boolean) value;
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      statement.setNull(index, Types.BOOLEAN);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      statement.setBoolean(index, values[row]);
+    }
+  }
+
+  private static final class StringColumn extends ExasolColumn {
+    private String[] values = new String[0];
+
+    StringColumn(Function<SinkRecord, Object> accessor) {
+      super(accessor);
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = (String) value;
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      statement.setNull(index, Types.VARCHAR);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      statement.setString(index, values[row]);
+    }
+  }
+
+  /**
+   * A column of dates or timestamps held as milliseconds since the epoch and bound through the
+   * reused values of the dialect.
+   */
+  private static final class EpochColumn extends ExasolColumn {
+    private final ExasolDatabaseDialect dialect;
+    private final boolean timestamp;
+    private long[] values = new long[0];
+
+    EpochColumn(
+        ExasolDatabaseDialect dialect,
+        boolean timestamp,
+        Function<SinkRecord, Object> accessor
+    ) {
+      super(accessor);
+      this.dialect = dialect;
+      this.timestamp = timestamp;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = ((java.util.Date) value).getTime();
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      statement.setNull(index, timestamp ? Types.TIMESTAMP : Types.DATE);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      if (timestamp) {
+        dialect.bindTimestamp(statement, index, values[row]);
+      } else {
+        dialect.bindDate(statement, index, values[row]);
+      }
+    }
+  }
+
+  /**
+   * A column of values bound by the dialect, used for logical types and bytes.
+   */
+  private static final class ObjectColumn extends ExasolColumn {
+    private final DatabaseDialect dialect;
+    private final Schema schema;
+    private Object[] values = new Object[0];
+
+    ObjectColumn(DatabaseDialect dialect, Schema schema, Function<SinkRecord, Object> accessor) {
+      super(accessor);
+      this.dialect = dialect;
+      this.schema = schema;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (values.length < size) {
+        values = Arrays.copyOf(values, grow(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value;
+    }
+
+    @Override
+    void bindNull(PreparedStatement statement, int index) throws SQLException {
+      dialect.bindField(statement, index, schema, null);
+    }
+
+    @Override
+    void bindValue(PreparedStatement statement, int index, int row) throws SQLException {
+      dialect.bindField(statement, index, schema, values[row]);
+    }
+  }
+}
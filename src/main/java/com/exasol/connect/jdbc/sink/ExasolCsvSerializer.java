@@ -0,0 +1,201 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+/**
+ * Serializes records into the CSV format read by Exasol's {@code IMPORT FROM CSV}.
+ *
+ * <p>Each record becomes one row holding the key columns followed by the non-key columns, in the
+ * order used by the insert statement of the record's table. Fields are separated by {@code ,},
+ * strings are enclosed in {@code "} and rows end with a line feed. Null values are written as
+ * empty fields. Dates and timestamps are written in UTC, in the formats {@code YYYY-MM-DD} and
+ * {@code YYYY-MM-DD HH24:MI:SS.FF3} that Exasol's default {@code NLS_DATE_FORMAT} and
+ * {@code NLS_TIMESTAMP_FORMAT} parse.
+ */
+public class ExasolCsvSerializer {
+
+  private static final char SEPARATOR = ',';
+  private static final char DELIMITER = '"';
+  private static final char ROW_SEPARATOR = '\n';
+
+  private final StringBuilder row = new StringBuilder();
+  private final SimpleDateFormat dateFormat = utcFormat("yyyy-MM-dd");
+  private final SimpleDateFormat timestampFormat = utcFormat("yyyy-MM-dd HH:mm:ss.SSS");
+  private final List<CsvColumn> columns = new ArrayList<>();
+
+  public ExasolCsvSerializer(
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata
+  ) {
+    addKeyColumns(pkMode, schemaPair, fieldsMetadata);
+    for (String fieldName : fieldsMetadata.nonKeyFieldNames) {
+      addValueColumn(schemaPair.valueSchema.field(fieldName));
+    }
+  }
+
+  /**
+   * Write the given records as CSV rows.
+   *
+   * @param records the records to write; may not be null
+   * @param out     the writer to write the rows to; may not be null
+   * @throws IOException if the rows cannot be written
+   */
+  public void write(List<SinkRecord> records, Writer out) throws IOException {
+    for (SinkRecord record : records) {
+      out.append(toRow(record));
+    }
+  }
+
+  CharSequence toRow(SinkRecord record) {
+    row.setLength(0);
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        row.append(SEPARATOR);
+      }
+      final CsvColumn column = columns.get(i);
+      append(i + 1, column.schema, column.accessor.apply(record));
+    }
+    row.append(ROW_SEPARATOR);
+    return row;
+  }
+
+  private void append(int index, Schema schema, Object value) {
+    if (value == null) {
+      return;
+    }
+    if (schema.name() != null) {
+      switch (schema.name()) {
+        case Decimal.LOGICAL_NAME:
+          row.append(((BigDecimal) value).toPlainString());
+          return;
+        case Date.LOGICAL_NAME:
+          row.append(dateFormat.format((java.util.Date) value));
+          return;
+        case Time.LOGICAL_NAME:
+          // TIME is not supported by Exasol, the column holds the milliseconds of the day
+          row.append(((java.util.Date) value).getTime());
+          return;
+        case Timestamp.LOGICAL_NAME:
+          row.append(timestampFormat.format((java.util.Date) value));
+          return;
+        default:
+          // fall through to normal types
+      }
+    }
+    switch (schema.type()) {
+      case INT8:
+      case INT16:
+      case INT32:
+      case INT64:
+      case FLOAT32:
+      case FLOAT64:
+        row.append(value);
+        break;
+      case BOOLEAN:
+        row.append((Boolean) value ? "TRUE" : "FALSE");
+        break;
+      case STRING:
+        appendDelimited(value.toString());
+        break;
+      default:
+        throw new ConnectException(String.format(
+            "Unsupported type %s for IMPORT of field %d",
+            schema.type(),
+            index
+        ));
+    }
+  }
+
+  private void appendDelimited(String value) {
+    row.append(DELIMITER);
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == DELIMITER) {
+        row.append(DELIMITER);
+      }
+      row.append(c);
+    }
+    row.append(DELIMITER);
+  }
+
+  private void addKeyColumns(
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata
+  ) {
+    switch (pkMode) {
+      case NONE:
+        break;
+      case KAFKA:
+        columns.add(new CsvColumn(Schema.STRING_SCHEMA, SinkRecord::topic));
+        columns.add(new CsvColumn(Schema.INT32_SCHEMA, SinkRecord::kafkaPartition));
+        columns.add(new CsvColumn(Schema.INT64_SCHEMA, SinkRecord::kafkaOffset));
+        break;
+      case RECORD_KEY:
+        if (schemaPair.keySchema.type().isPrimitive()) {
+          columns.add(new CsvColumn(schemaPair.keySchema, SinkRecord::key));
+        } else {
+          for (String fieldName : fieldsMetadata.keyFieldNames) {
+            final Field field = schemaPair.keySchema.field(fieldName);
+            columns.add(new CsvColumn(
+                field.schema(),
+                record -> ((Struct) record.key()).get(field)
+            ));
+          }
+        }
+        break;
+      case RECORD_VALUE:
+        for (String fieldName : fieldsMetadata.keyFieldNames) {
+          addValueColumn(schemaPair.valueSchema.field(fieldName));
+        }
+        break;
+      default:
+        throw new ConnectException("Unknown primary key mode: " + pkMode);
+    }
+  }
+
+  private void addValueColumn(Field field) {
+    columns.add(new CsvColumn(field.schema(), record -> ((Struct) record.value()).get(field)));
+  }
+
+  private static SimpleDateFormat utcFormat(String pattern) {
+    final SimpleDateFormat format = new SimpleDateFormat(pattern);
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return format;
+  }
+
+  /**
+   * A column of the CSV rows with the schema of its values and how to read them from a record.
+   */
+  private static final class CsvColumn {
+    private final Schema schema;
+    private final Function<SinkRecord, Object> accessor;
+
+    CsvColumn(Schema schema, Function<SinkRecord, Object> accessor) {
+      this.schema = schema;
+      this.accessor = accessor;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.DbStructure;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * A {@link DbStructure} that also widens string columns that are too short for the records
+ * about to be written.
+ *
+ * <p>The lengths of the string columns of a table are read from the database once and tracked
+ * afterwards, so checking a batch only measures its strings. A column that seems too short is
+ * read again from the database, since the tasks of a connector widen the same columns. If it is
+ * still too short, it is widened with {@code ALTER TABLE ... MODIFY COLUMN} to the next power of
+ * two that fits the longest string, at most to the length of a {@code CLOB}. The tracked
+ * lengths of a table are dropped whenever its structure is created or amended.
+ */
+public class ExasolDbStructure extends DbStructure {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolDbStructure.class);
+
+  private final ExasolDatabaseDialect dbDialect;
+  private final Map<TableId, Map<String, Integer>> columnLengths = new HashMap<>();
+
+  public ExasolDbStructure(ExasolDatabaseDialect dbDialect) {
+    super(dbDialect);
+    this.dbDialect = dbDialect;
+  }
+
+  @Override
+  public boolean createOrAmendIfNecessary(
+      JdbcSinkConfig config,
+      Connection connection,
+      TableId tableId,
+      FieldsMetadata fieldsMetadata
+  ) throws SQLException {
+    final boolean amended = super.createOrAmendIfNecessary(
+        config,
+        connection,
+        tableId,
+        fieldsMetadata
+    );
+    if (amended) {
+      columnLengths.remove(tableId);
+    }
+    return amended;
+  }
+
+  /**
+   * Widen the string columns of a table that are shorter than the longest value of the given
+   * records.
+   *
+   * @param config         the connector configuration; may not be null
+   * @param connection     the connection to the database; may not be null
+   * @param tableId        the identifier of the table; may not be null
+   * @param fieldsMetadata the fields of the records; may not be null
+   * @param records        the records about to be written; may not be null
+   * @return true if a column was widened
+   * @throws SQLException if the columns cannot be described or widened
+   */
+  public boolean widenIfNecessary(
+      JdbcSinkConfig config,
+      Connection connection,
+      TableId tableId,
+      FieldsMetadata fieldsMetadata,
+      List<SinkRecord> records
+  ) throws SQLException {
+    final List<String> statements = new ArrayList<>();
+    Map<String, Integer> lengths = null;
+    for (SinkRecordField field : fieldsMetadata.allFields.values()) {
+      if (field.schemaType() != Schema.Type.STRING || field.schemaName() != null) {
+        continue;
+      }
+      if (lengths == null) {
+        lengths = columnLengths.get(tableId);
+        if (lengths == null) {
+          lengths = describeLengths(connection, tableId);
+          columnLengths.put(tableId, lengths);
+        }
+      }
+      final Integer length = lengths.get(field.name());
+      if (length == null || length >= ExasolDatabaseDialect.MAX_VARCHAR_LENGTH) {
+        continue;
+      }
+      final int longest = longestValue(records, accessor(config, field));
+      if (longest <= length) {
+        continue;
+      }
+      // another task may have widened the column since it was described
+      final Integer current = dbDialect.columnLength(connection, tableId, field.name());
+      if (current == null) {
+        continue;
+      }
+      lengths.put(field.name(), current);
+      if (current >= longest || current >= ExasolDatabaseDialect.MAX_VARCHAR_LENGTH) {
+        continue;
+      }
+      final int widened = widenedLength(longest);
+      log.info(
+          "Widening column {} of {} from {} to {} characters",
+          field.name(),
+          tableId,
+          current,
+          widened
+      );
+      statements.add(dbDialect.buildModifyColumnLengthStatement(tableId, field.name(), widened));
+      lengths.put(field.name(), widened);
+    }
+    if (statements.isEmpty()) {
+      return false;
+    }
+    try {
+      dbDialect.applyDdlStatements(connection, statements);
+    } catch (SQLException e) {
+      columnLengths.remove(tableId);
+      throw e;
+    }
+    return true;
+  }
+
+  static int widenedLength(int length) {
+    final int highestBit = Integer.highestOneBit(length);
+    final int widened = highestBit == length ? length : highestBit << 1;
+    return Math.min(widened, ExasolDatabaseDialect.MAX_VARCHAR_LENGTH);
+  }
+
+  private Map<String, Integer> describeLengths(Connection connection, TableId tableId)
+      throws SQLException {
+    final Map<String, Integer> lengths = new HashMap<>();
+    final Map<ColumnId, ColumnDefinition> columns = dbDialect.describeColumns(
+        connection,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    );
+    for (ColumnDefinition column : columns.values()) {
+      if (column.type() == Types.VARCHAR) {
+        lengths.put(column.id().name(), column.precision());
+      }
+    }
+    return lengths;
+  }
+
+  private static int longestValue(List<SinkRecord> records, Function<SinkRecord, Object> accessor) {
+    int longest = 0;
+    for (SinkRecord record : records) {
+      final Object value = accessor.apply(record);
+      if (value != null) {
+        longest = Math.max(longest, ((String) value).length());
+      }
+    }
+    return longest;
+  }
+
+  private static Function<SinkRecord, Object> accessor(
+      JdbcSinkConfig config,
+      SinkRecordField field
+  ) {
+    if (field.isPrimaryKey()) {
+      switch (config.pkMode) {
+        case KAFKA:
+          return SinkRecord::topic;
+        case RECORD_KEY:
+          return record -> record.key() instanceof Struct
+                           ? ((Struct) record.key()).get(field.name())
+                           : record.key();
+        default:
+          // read from the value
+      }
+    }
+    return record -> ((Struct) record.value()).get(field.name());
+  }
+}
@@ -0,0 +1,224 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Writes the records of one {@code put()} into their destination tables and commits them in a
+ * single transaction, together with their offsets if an {@link ExasolOffsetStore offsets table}
+ * is configured. A transaction is committed early when it reaches the configured number of
+ * records or tables.
+ */
+public class ExasolDbWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolDbWriter.class);
+
+  private final ExasolSinkConfig config;
+  private final ExasolDatabaseDialect dbDialect;
+  private final ExasolDbStructure dbStructure;
+  private final ExasolSinkMetrics metrics;
+  private final ExasolStagingTables stagingTables;
+  private final ExasolParallelWriter parallelWriter;
+  private final ExasolStatementCache statementCache;
+  private final ExasolOffsetStore offsetStore;
+  private ExasolImportServer importServer;
+  final CachedConnectionProvider cachedConnectionProvider;
+
+  ExasolDbWriter(
+      final ExasolSinkConfig config,
+      ExasolDatabaseDialect dbDialect,
+      ExasolDbStructure dbStructure,
+      ExasolSinkMetrics metrics
+  ) {
+    this.config = config;
+    this.dbDialect = dbDialect;
+    this.dbStructure = dbStructure;
+    this.metrics = metrics;
+    this.stagingTables = new ExasolStagingTables(dbDialect, config.taskIndex);
+    this.parallelWriter = config.writeSubConnections > 0
+                          ? new ExasolParallelWriter(
+                              new ExasolDriverSubConnectionProvider(
+                                  config.jdbcConfig.connectionUser,
+                                  config.jdbcConfig.connectionPassword
+                              ),
+                              config.writeSubConnections)
+                          : null;
+    this.statementCache = new ExasolStatementCache(config.statementCacheSize);
+    metrics.watchCaches(dbDialect.sqlCache(), statementCache.statements());
+    this.offsetStore = config.offsetsTable.isEmpty()
+                       ? null
+                       : new ExasolOffsetStore(config, dbDialect);
+
+    this.cachedConnectionProvider = new CachedConnectionProvider(this.dbDialect) {
+      @Override
+      protected void onConnect(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+      }
+    };
+  }
+
+  void write(Collection<SinkRecord> records) throws SQLException {
+    final Connection connection = cachedConnectionProvider.getConnection();
+    if (offsetStore != null) {
+      records = offsetStore.unwritten(connection, records);
+    }
+    if (config.writeMethod == ExasolSinkConfig.WriteMethod.IMPORT && importServer == null) {
+      importServer = startImportServer();
+    }
+
+    final ExasolWriteContext context = new ExasolWriteContext(
+        config,
+        dbDialect,
+        dbStructure,
+        stagingTables,
+        importServer,
+        parallelWriter,
+        statementCache,
+        metrics
+    );
+    final Map<TableId, ExasolBufferedRecords> bufferByTable = new HashMap<>();
+    final List<SinkRecord> transaction = new ArrayList<>();
+    for (SinkRecord record : records) {
+      final TableId tableId = destinationTable(record.topic());
+      ExasolBufferedRecords buffer = bufferByTable.get(tableId);
+      if (buffer == null && config.transactionMaxTables > 0
+          && bufferByTable.size() >= config.transactionMaxTables) {
+        commit(connection, bufferByTable, transaction);
+      }
+      if (buffer == null) {
+        buffer = new ExasolBufferedRecords(
+            context,
+            tableId,
+            metrics.batchSizer(tableId, () -> new ExasolBatchSizer(config)),
+            connection
+        );
+        bufferByTable.put(tableId, buffer);
+      }
+      buffer.add(record);
+      transaction.add(record);
+      if (config.transactionMaxRecords > 0
+          && transaction.size() >= config.transactionMaxRecords) {
+        commit(connection, bufferByTable, transaction);
+      }
+    }
+    commit(connection, bufferByTable, transaction);
+  }
+
+  /**
+   * Flush the buffers of all tables of a transaction and commit it with a single commit,
+   * together with the offsets of its records.
+   */
+  private void commit(
+      Connection connection,
+      Map<TableId, ExasolBufferedRecords> bufferByTable,
+      List<SinkRecord> transaction
+  ) throws SQLException {
+    if (transaction.isEmpty()) {
+      return;
+    }
+    for (ExasolBufferedRecords buffer : bufferByTable.values()) {
+      buffer.flush();
+      buffer.close();
+    }
+    Map<TopicPartition, Long> offsets = Collections.emptyMap();
+    if (offsetStore != null) {
+      offsets = offsetStore.write(connection, statementCache, transaction);
+    }
+    connection.commit();
+    statementCache.release();
+    if (offsetStore != null) {
+      offsetStore.committed(offsets);
+    }
+    log.debug("Committed {} records to {} tables", transaction.size(), bufferByTable.size());
+    metrics.recordCommit(transaction.size());
+    bufferByTable.clear();
+    transaction.clear();
+  }
+
+  /**
+   * Read the offsets stored with the records written before.
+   *
+   * @param partitions the partitions to get the offsets of; may not be null
+   * @return the offset of the next record to write of each given partition with a stored offset,
+   *     empty without an offsets table; never null
+   * @throws SQLException if the offsets cannot be read
+   */
+  Map<TopicPartition, Long> storedOffsets(Collection<TopicPartition> partitions)
+      throws SQLException {
+    if (offsetStore == null) {
+      return Collections.emptyMap();
+    }
+    return offsetStore.read(cachedConnectionProvider.getConnection(), partitions);
+  }
+
+  /**
+   * Forget the stored offsets of revoked partitions.
+   *
+   * @param partitions the revoked partitions; may not be null
+   */
+  void revoked(Collection<TopicPartition> partitions) {
+    if (offsetStore != null) {
+      offsetStore.close(partitions);
+    }
+  }
+
+  void closeQuietly() {
+    if (!stagingTables.isEmpty()) {
+      try {
+        final Connection connection = cachedConnectionProvider.getConnection();
+        // dropping the staging tables commits, but not the writes of a failed transaction
+        connection.rollback();
+        stagingTables.dropAll(connection);
+      } catch (SQLException | ConnectException e) {
+        log.warn("Could not drop the staging tables of this task", e);
+      }
+    }
+    if (parallelWriter != null) {
+      parallelWriter.close();
+    }
+    statementCache.close();
+    cachedConnectionProvider.close();
+    if (importServer != null) {
+      importServer.close();
+      importServer = null;
+    }
+  }
+
+  private ExasolImportServer startImportServer() {
+    try {
+      return new ExasolImportServer(config.importHttpHost, config.importHttpPort);
+    } catch (IOException e) {
+      throw new ConnectException("Could not start the import server", e);
+    }
+  }
+
+  TableId destinationTable(String topic) {
+    final String tableName = config.jdbcConfig.tableNameFormat.replace("${topic}", topic);
+    if (tableName.isEmpty()) {
+      throw new ConnectException(String.format(
+          "Destination table name for topic '%s' is empty using the format string '%s'",
+          topic,
+          config.jdbcConfig.tableNameFormat
+      ));
+    }
+    return dbDialect.parseTableIdentifier(tableName);
+  }
+}
@@ -0,0 +1,78 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens sub-connections through the parallel mode of the Exasol JDBC driver: the main connection
+ * enters parallel mode and hands out one host, port and token per cluster node, which are used to
+ * connect with {@code jdbc:exa-slave:} URLs.
+ *
+ * <p>The driver is not a compile time dependency of the connector, so its connection methods are
+ * called reflectively.
+ */
+public class ExasolDriverSubConnectionProvider implements ExasolSubConnectionProvider {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(ExasolDriverSubConnectionProvider.class);
+
+  private final String user;
+  private final String password;
+
+  public ExasolDriverSubConnectionProvider(String user, String password) {
+    this.user = user;
+    this.password = password;
+  }
+
+  @Override
+  public List<Connection> open(Connection connection, int maxConnections) throws SQLException {
+    final int granted = (Integer) call(connection, "EnterParallel", maxConnections);
+    final String[] hosts = (String[]) call(connection, "GetSlaveHosts");
+    final int[] ports = (int[]) call(connection, "GetSlavePorts");
+    final long token = (Long) call(connection, "GetSlaveToken");
+    log.info("Opening {} sub-connections", granted);
+    final List<Connection> connections = new ArrayList<>(granted);
+    try {
+      for (int i = 0; i < granted; i++) {
+        final String url = "jdbc:exa-slave:" + hosts[i] + ":" + ports[i] + ";slavetoken=" + token;
+        final Connection subConnection = DriverManager.getConnection(url, user, password);
+        connections.add(subConnection);
+        subConnection.setAutoCommit(false);
+      }
+    } catch (SQLException e) {
+      for (Connection subConnection : connections) {
+        subConnection.close();
+      }
+      throw e;
+    }
+    return connections;
+  }
+
+  private static Object call(Connection connection, String name, Object... args)
+      throws SQLException {
+    try {
+      final Method method = args.length == 0
+                            ? connection.getClass().getMethod(name)
+                            : connection.getClass().getMethod(name, int.class);
+      return method.invoke(connection, args);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new SQLException(
+          "Connection " + connection.getClass().getName() + " does not support sub-connections",
+          e
+      );
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException("Could not call " + name, e.getCause());
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A small HTTP server that streams CSV data to Exasol's {@code IMPORT FROM CSV AT} statement.
+ *
+ * <p>Data is offered as a file with a random name and generated while Exasol reads it, so that
+ * a batch is never materialized on disk. The server answers {@code GET} requests for offered
+ * files only.
+ */
+public class ExasolImportServer implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolImportServer.class);
+
+  /**
+   * Writes the content of an offered file.
+   */
+  public interface Content {
+    /**
+     * Write the content to the given writer.
+     *
+     * @param out the writer of the HTTP response body; may not be null
+     * @throws IOException if the content cannot be written
+     */
+    void writeTo(Writer out) throws IOException;
+  }
+
+  /**
+   * A file offered by the server until the transfer is closed.
+   */
+  public final class Transfer implements AutoCloseable {
+    private final String fileName;
+    private final Content content;
+    private volatile Exception failure;
+
+    private Transfer(String fileName, Content content) {
+      this.fileName = fileName;
+      this.content = content;
+    }
+
+    /**
+     * @return the URL of the server, as used in the {@code AT} clause of the import statement
+     */
+    public String url() {
+      return baseUrl;
+    }
+
+    /**
+     * @return the name of the offered file, as used in the {@code FILE} clause of the import
+     *     statement
+     */
+    public String fileName() {
+      return fileName;
+    }
+
+    /**
+     * Stop offering the file.
+     *
+     * @throws ConnectException if writing the content to a client failed
+     */
+    @Override
+    public void close() {
+      transfers.remove(fileName);
+      if (failure != null) {
+        throw new ConnectException("Could not stream " + fileName + " to Exasol", failure);
+      }
+    }
+  }
+
+  private final HttpServer server;
+  private final String baseUrl;
+  private final Map<String, Transfer> transfers = new ConcurrentHashMap<>();
+
+  /**
+   * Start a server on the given port.
+   *
+   * @param host the host name or address Exasol uses to reach this worker; if null or empty the
+   *             address of the local host is used
+   * @param port the port to listen on, or 0 for an ephemeral port
+   * @throws IOException if the server cannot be started
+   */
+  public ExasolImportServer(String host, int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    final String advertisedHost = host == null || host.isEmpty()
+                                  ? InetAddress.getLocalHost().getHostAddress()
+                                  : host;
+    baseUrl = "http://" + advertisedHost + ":" + server.getAddress().getPort();
+    log.info("Started import server at {}", baseUrl);
+  }
+
+  /**
+   * Offer the given content under a new file name until the returned transfer is closed.
+   *
+   * @param content the content of the file; may not be null
+   * @return the transfer; never null
+   */
+  public Transfer offer(Content content) {
+    final Transfer transfer = new Transfer(UUID.randomUUID() + ".csv", content);
+    transfers.put(transfer.fileName, transfer);
+    return transfer;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    transfers.clear();
+    log.info("Stopped import server at {}", baseUrl);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    final String path = exchange.getRequestURI().getPath();
+    final Transfer transfer = transfers.get(path.substring(path.lastIndexOf('/') + 1));
+    if (transfer == null || !"GET".equals(exchange.getRequestMethod())) {
+      log.warn("Rejecting {} request for {}", exchange.getRequestMethod(), path);
+      exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+      exchange.close();
+      return;
+    }
+    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+    final Writer out = new BufferedWriter(
+        new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+    try {
+      transfer.content.writeTo(out);
+    } catch (IOException | RuntimeException e) {
+      // the failure is recorded before the connection is dropped without ending the response,
+      // so the client never sees a complete file and the transfer always reports it
+      transfer.failure = e;
+      throw e;
+    }
+    out.close();
+    exchange.close();
+  }
+}
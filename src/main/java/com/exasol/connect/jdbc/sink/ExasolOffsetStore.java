@@ -0,0 +1,204 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Stores the Kafka offsets of the written records in an Exasol table, in the transaction of the
+ * records, so the offsets in the table always match the rows in the destination tables.
+ *
+ * <p>When partitions are assigned to the task, their offsets are read from the table and their
+ * consumer positions are reset to them. Records below the stored offset of their partition, which
+ * were already written by an earlier transaction, are dropped before they are written. Together
+ * this makes plain inserts idempotent. The table is created on first use and is shared by all
+ * connectors, with one row per connector and topic partition.
+ */
+public class ExasolOffsetStore {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolOffsetStore.class);
+
+  private final ExasolDatabaseDialect dbDialect;
+  private final TableId table;
+  private final String connector;
+  private final Map<TopicPartition, Long> offsets = new ConcurrentHashMap<>();
+  private final Set<TopicPartition> assigned = ConcurrentHashMap.newKeySet();
+  private volatile boolean created;
+
+  public ExasolOffsetStore(ExasolSinkConfig config, ExasolDatabaseDialect dbDialect) {
+    this.dbDialect = dbDialect;
+    this.table = dbDialect.parseTableIdentifier(config.offsetsTable);
+    this.connector = config.connectorName;
+  }
+
+  /**
+   * Read the stored offsets of newly assigned partitions from the table, creating the table if it
+   * does not exist. The offsets are read again on every assignment, because another task may have
+   * written the partitions since. The transaction of the connection is committed.
+   *
+   * @param connection the connection to the database; may not be null
+   * @param partitions the partitions to get the offsets of; may not be null
+   * @return the offset of the next record to write of each given partition with a stored offset;
+   *     never null
+   * @throws SQLException if the offsets cannot be read
+   */
+  public Map<TopicPartition, Long> read(
+      Connection connection,
+      Collection<TopicPartition> partitions
+  ) throws SQLException {
+    createTable(connection);
+    final Map<TopicPartition, Long> stored = new HashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(
+        dbDialect.buildSelectOffsetsStatement(table)
+    )) {
+      statement.setString(1, connector);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          final TopicPartition partition = new TopicPartition(
+              resultSet.getString(1),
+              resultSet.getInt(2)
+          );
+          if (partitions.contains(partition)) {
+            stored.merge(partition, resultSet.getLong(3), Math::max);
+          }
+        }
+      }
+    }
+    connection.commit();
+    for (TopicPartition partition : partitions) {
+      final Long offset = stored.get(partition);
+      if (offset == null) {
+        offsets.remove(partition);
+      } else {
+        offsets.put(partition, offset);
+      }
+    }
+    assigned.addAll(partitions);
+    log.info("Read {} offsets of connector {} from {}", stored.size(), connector, table);
+    return stored;
+  }
+
+  /**
+   * Forget the offsets of revoked partitions, so they are read again when the partitions are
+   * assigned to this task again.
+   *
+   * @param partitions the revoked partitions; may not be null
+   */
+  public void close(Collection<TopicPartition> partitions) {
+    assigned.removeAll(partitions);
+    offsets.keySet().removeAll(partitions);
+  }
+
+  /**
+   * Drop the records that were already written according to the stored offsets.
+   *
+   * @param connection the connection to read the offsets with, if they were not read yet; may
+   *                   not be null
+   * @param records    the records; may not be null
+   * @return the records at or above the stored offsets of their partitions; never null
+   * @throws SQLException if the offsets cannot be read
+   */
+  public Collection<SinkRecord> unwritten(Connection connection, Collection<SinkRecord> records)
+      throws SQLException {
+    final Set<TopicPartition> unread = new HashSet<>();
+    for (SinkRecord record : records) {
+      if (!assigned.contains(partition(record))) {
+        unread.add(partition(record));
+      }
+    }
+    if (!unread.isEmpty()) {
+      read(connection, unread);
+    }
+    final List<SinkRecord> unwritten = new ArrayList<>(records.size());
+    for (SinkRecord record : records) {
+      final Long offset = offsets.get(partition(record));
+      if (offset == null || record.kafkaOffset() >= offset) {
+        unwritten.add(record);
+      }
+    }
+    if (unwritten.size() < records.size()) {
+      log.info("Skipping {} records written before", records.size() - unwritten.size());
+    }
+    return unwritten;
+  }
+
+  /**
+   * Store the offsets after the given records in the transaction of the connection.
+   *
+   * @param connection     the connection to the database; may not be null
+   * @param statementCache the prepared statements of the connection; may not be null
+   * @param records        the records about to be committed; may not be null
+   * @return the offsets to pass to {@link #committed(Map)} after the commit; never null
+   * @throws SQLException if the offsets cannot be stored
+   */
+  public Map<TopicPartition, Long> write(
+      Connection connection,
+      ExasolStatementCache statementCache,
+      Collection<SinkRecord> records
+  ) throws SQLException {
+    final Map<TopicPartition, Long> next = new HashMap<>();
+    for (SinkRecord record : records) {
+      next.merge(partition(record), record.kafkaOffset() + 1, Math::max);
+    }
+    if (next.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    final PreparedStatement statement = statementCache.prepare(
+        connection,
+        table,
+        dbDialect.buildMergeOffsetsStatement(table)
+    );
+    for (Map.Entry<TopicPartition, Long> entry : next.entrySet()) {
+      statement.setString(1, connector);
+      statement.setString(2, entry.getKey().topic());
+      statement.setInt(3, entry.getKey().partition());
+      statement.setLong(4, entry.getValue());
+      statement.addBatch();
+    }
+    statement.executeBatch();
+    return next;
+  }
+
+  /**
+   * Remember the offsets of a committed transaction.
+   *
+   * @param committed the offsets returned by {@link #write}; may not be null
+   */
+  public void committed(Map<TopicPartition, Long> committed) {
+    committed.forEach((partition, offset) -> offsets.merge(partition, offset, Math::max));
+  }
+
+  private void createTable(Connection connection) throws SQLException {
+    if (created) {
+      return;
+    }
+    dbDialect.applyDdlStatements(
+        connection,
+        Collections.singletonList(dbDialect.buildCreateOffsetsTableStatement(table))
+    );
+    created = true;
+  }
+
+  private static TopicPartition partition(SinkRecord record) {
+    return new TopicPartition(record.topic(), record.kafkaPartition());
+  }
+}
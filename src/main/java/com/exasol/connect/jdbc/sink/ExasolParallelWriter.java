@@ -0,0 +1,170 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Spreads inserts over parallel sub-connections, one per Exasol cluster node.
+ *
+ * <p>A batch is split into one contiguous slice of about equal size per sub-connection. Exasol
+ * places the inserted rows on the nodes by the distribution of the table, whichever
+ * sub-connection inserts them, so the slices only spread the work. The slices are inserted
+ * concurrently, each over its own sub-connection. Every sub-connection executes the statement,
+ * with an empty slice if the batch has fewer records than there are sub-connections, because in
+ * parallel mode Exasol waits for all of them. Sub-connections are part of the transaction of
+ * their main connection, so the batch is committed with the main connection. They are opened on
+ * first use and reopened when the main connection changes.
+ */
+public class ExasolParallelWriter implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolParallelWriter.class);
+
+  private final ExasolSubConnectionProvider provider;
+  private final int maxConnections;
+  private Connection mainConnection;
+  private List<Connection> subConnections = new ArrayList<>();
+  private ExecutorService executor;
+
+  public ExasolParallelWriter(ExasolSubConnectionProvider provider, int maxConnections) {
+    this.provider = provider;
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * Insert records over the sub-connections of the given main connection.
+   *
+   * @param connection    the main connection; may not be null
+   * @param sql           the insert statement to prepare on each sub-connection; may not be
+   *                      null
+   * @param records       the records to insert; may not be null
+   * @param binderFactory creates the binder of a prepared statement; may not be null
+   * @return the update counts of all slices; never null
+   * @throws SQLException if a slice cannot be inserted
+   */
+  public int[] insert(
+      Connection connection,
+      String sql,
+      List<SinkRecord> records,
+      Function<PreparedStatement, ExasolStatementBinder> binderFactory
+  ) throws SQLException {
+    final List<Connection> connections = subConnectionsOf(connection);
+    final List<List<SinkRecord>> slices = slice(records, connections.size());
+    final List<Future<int[]>> results = new ArrayList<>(slices.size());
+    for (int i = 0; i < slices.size(); i++) {
+      results.add(executor.submit(
+          insertSlice(connections.get(i), sql, slices.get(i), binderFactory)
+      ));
+    }
+    final List<int[]> counts = new ArrayList<>(results.size());
+    SQLException failure = null;
+    for (Future<int[]> result : results) {
+      try {
+        counts.add(result.get());
+      } catch (ExecutionException e) {
+        failure = chain(failure, e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = chain(failure, e);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return counts.stream().flatMapToInt(Arrays::stream).toArray();
+  }
+
+  @Override
+  public void close() {
+    closeSubConnections();
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  static List<List<SinkRecord>> slice(List<SinkRecord> records, int sliceCount) {
+    final List<List<SinkRecord>> slices = new ArrayList<>(sliceCount);
+    for (int i = 0; i < sliceCount; i++) {
+      slices.add(records.subList(
+          records.size() * i / sliceCount,
+          records.size() * (i + 1) / sliceCount
+      ));
+    }
+    return slices;
+  }
+
+  private Callable<int[]> insertSlice(
+      Connection subConnection,
+      String sql,
+      List<SinkRecord> slice,
+      Function<PreparedStatement, ExasolStatementBinder> binderFactory
+  ) {
+    return () -> {
+      try (PreparedStatement statement = subConnection.prepareStatement(sql)) {
+        final ExasolStatementBinder binder = binderFactory.apply(statement);
+        binder.bindRecords(slice, 1);
+        return statement.executeBatch();
+      }
+    };
+  }
+
+  private List<Connection> subConnectionsOf(Connection connection) throws SQLException {
+    if (connection != mainConnection) {
+      closeSubConnections();
+      subConnections = provider.open(connection, maxConnections);
+      if (subConnections.isEmpty()) {
+        throw new ConnectException("No sub-connections were opened");
+      }
+      mainConnection = connection;
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+      executor = Executors.newFixedThreadPool(subConnections.size(), runnable -> {
+        final Thread thread = new Thread(runnable, "exasol-sub-connection-writer");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return subConnections;
+  }
+
+  private void closeSubConnections() {
+    for (Connection subConnection : subConnections) {
+      try {
+        subConnection.close();
+      } catch (SQLException e) {
+        log.warn("Ignoring error closing sub-connection", e);
+      }
+    }
+    subConnections = new ArrayList<>();
+    mainConnection = null;
+  }
+
+  private static SQLException chain(SQLException failure, Throwable cause) {
+    final SQLException next = cause instanceof SQLException
+                              ? (SQLException) cause
+                              : new SQLException("Parallel insert failed", cause);
+    if (failure == null) {
+      return next;
+    }
+    if (next != failure) {
+      failure.setNextException(next);
+    }
+    return failure;
+  }
+}
@@ -0,0 +1,105 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collapses the records of a batch that share a primary key, keeping the last record of each
+ * key by offset. Upserting the kept records leaves the table in the same state as upserting all
+ * records one after another, without sending several source rows for one target row to a
+ * {@code MERGE}.
+ *
+ * <p>Records are indexed in an open addressing hash table of record positions. The table and
+ * the per record arrays are reused across batches, so a batch without duplicates is processed
+ * without allocating.
+ */
+public class ExasolRecordDeduplicator {
+
+  private int[] slots = new int[0];
+  private int[] hashes = new int[0];
+  private boolean[] kept = new boolean[0];
+
+  /**
+   * Remove the records whose key is repeated by a later record of the batch.
+   *
+   * @param records the records of the batch; may not be null
+   * @param keys    the keys of the records; may not be null
+   * @return the kept records in batch order, or the given list if no record was removed
+   */
+  public List<SinkRecord> deduplicate(List<SinkRecord> records, ExasolRecordKeys keys) {
+    if (!keys.hasKey() || records.size() < 2) {
+      return records;
+    }
+    final int size = records.size();
+    reset(size);
+    final int mask = slots.length - 1;
+    int dropped = 0;
+    for (int i = 0; i < size; i++) {
+      final SinkRecord record = records.get(i);
+      final int hash = keys.hash(record);
+      hashes[i] = hash;
+      int slot = spread(hash) & mask;
+      while (true) {
+        final int occupant = slots[slot] - 1;
+        if (occupant < 0) {
+          slots[slot] = i + 1;
+          kept[i] = true;
+          break;
+        }
+        if (hashes[occupant] == hash && keys.sameKey(records.get(occupant), record)) {
+          dropped++;
+          if (supersedes(record, records.get(occupant))) {
+            kept[occupant] = false;
+            kept[i] = true;
+            slots[slot] = i + 1;
+          }
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+    if (dropped == 0) {
+      return records;
+    }
+    final List<SinkRecord> result = new ArrayList<>(size - dropped);
+    for (int i = 0; i < size; i++) {
+      if (kept[i]) {
+        result.add(records.get(i));
+      }
+    }
+    return result;
+  }
+
+  private void reset(int size) {
+    final int capacity = Integer.highestOneBit(size) << 2;
+    if (slots.length < capacity) {
+      slots = new int[capacity];
+    } else {
+      Arrays.fill(slots, 0);
+    }
+    if (hashes.length < size) {
+      hashes = new int[capacity];
+      kept = new boolean[capacity];
+    } else {
+      Arrays.fill(kept, false);
+    }
+  }
+
+  /**
+   * A later record of the batch supersedes an earlier one unless both come from the same
+   * partition and the later one has a lower offset.
+   */
+  private static boolean supersedes(SinkRecord later, SinkRecord earlier) {
+    return !Objects.equals(later.topic(), earlier.topic())
+           || !Objects.equals(later.kafkaPartition(), earlier.kafkaPartition())
+           || later.kafkaOffset() >= earlier.kafkaOffset();
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,146 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Deletes the rows of tombstone records, that is records with a key and a null value.
+ *
+ * <p>The keys are deleted in chunks of {@code delete.keys.per.statement} keys per
+ * {@code DELETE} statement, the keys left over at the end of a batch with the single key
+ * statement. The statements are prepared through the {@link ExasolStatementCache} of the
+ * writer.
+ */
+public class ExasolRecordDeleter {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolRecordDeleter.class);
+
+  private final TableId tableId;
+  private final JdbcSinkConfig jdbcConfig;
+  private final int keysPerStatement;
+  private final ExasolDatabaseDialect dbDialect;
+  private final ExasolStatementCache statementCache;
+
+  public ExasolRecordDeleter(
+      ExasolSinkConfig config,
+      TableId tableId,
+      ExasolDatabaseDialect dbDialect,
+      ExasolStatementCache statementCache
+  ) {
+    this.tableId = tableId;
+    this.jdbcConfig = config.jdbcConfig;
+    this.keysPerStatement = config.deleteKeysPerStatement;
+    this.dbDialect = dbDialect;
+    this.statementCache = statementCache;
+  }
+
+  /**
+   * Check whether a record is a tombstone.
+   *
+   * @param record the record; may not be null
+   * @return true if the record has no value
+   */
+  public static boolean isTombstone(SinkRecord record) {
+    return record.value() == null;
+  }
+
+  /**
+   * Describe the key fields of tombstones with the given key schema.
+   *
+   * @param keySchema the key schema of the tombstones; may be null
+   * @return the key fields; never null
+   */
+  public FieldsMetadata keyFields(Schema keySchema) {
+    return FieldsMetadata.extract(
+        tableId.tableName(),
+        jdbcConfig.pkMode,
+        jdbcConfig.pkFields,
+        jdbcConfig.fieldsWhitelist,
+        keySchema,
+        null
+    );
+  }
+
+  /**
+   * Delete the rows of the given tombstones.
+   *
+   * @param connection the connection to the database; may not be null
+   * @param tombstones the tombstones, all with the same key schema; may not be empty
+   * @return the number of deleted rows, if the driver reports it
+   * @throws SQLException if the rows cannot be deleted
+   */
+  public int delete(Connection connection, List<SinkRecord> tombstones) throws SQLException {
+    final Schema keySchema = tombstones.get(0).keySchema();
+    final SchemaPair schemaPair = new SchemaPair(keySchema, null);
+    final FieldsMetadata keyFields = keyFields(keySchema);
+    final Collection<ColumnId> keyColumns = keyFields.keyFieldNames.stream()
+        .map(name -> new ColumnId(tableId, name))
+        .collect(Collectors.toList());
+    final int chunkedRecords = keysPerStatement > 1
+                               ? tombstones.size() - tombstones.size() % keysPerStatement
+                               : 0;
+    int deleted = 0;
+    if (chunkedRecords > 0) {
+      deleted += execute(
+          connection,
+          dbDialect.buildDeleteStatement(tableId, keyColumns, keysPerStatement),
+          tombstones.subList(0, chunkedRecords),
+          keysPerStatement,
+          schemaPair,
+          keyFields
+      );
+    }
+    if (chunkedRecords < tombstones.size()) {
+      deleted += execute(
+          connection,
+          dbDialect.buildDeleteStatement(tableId, keyColumns, 1),
+          tombstones.subList(chunkedRecords, tombstones.size()),
+          1,
+          schemaPair,
+          keyFields
+      );
+    }
+    log.debug("Deleted {} rows of {} tombstones from {}", deleted, tombstones.size(), tableId);
+    return deleted;
+  }
+
+  private int execute(
+      Connection connection,
+      String sql,
+      List<SinkRecord> tombstones,
+      int rowsPerStatement,
+      SchemaPair schemaPair,
+      FieldsMetadata keyFields
+  ) throws SQLException {
+    final PreparedStatement statement = statementCache.prepare(connection, tableId, sql);
+    dbDialect.statementBinder(
+        statement,
+        jdbcConfig.pkMode,
+        schemaPair,
+        keyFields,
+        JdbcSinkConfig.InsertMode.INSERT
+    ).bindRecords(tombstones, rowsPerStatement);
+    int deleted = 0;
+    for (int count : statement.executeBatch()) {
+      deleted += Math.max(count, 0);
+    }
+    return deleted;
+  }
+}
@@ -0,0 +1,127 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+/**
+ * Reads the primary key of records with the same schema, following the primary key mode of the
+ * connector. Keys are hashed and compared field by field, without copying them out of the
+ * records.
+ */
+public class ExasolRecordKeys {
+
+  private static final int KAFKA_KEY_FIELDS = 3;
+
+  private final JdbcSinkConfig.PrimaryKeyMode pkMode;
+  private final boolean primitiveKey;
+  private final List<Field> fields;
+
+  public ExasolRecordKeys(
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata
+  ) {
+    this.pkMode = pkMode;
+    this.primitiveKey = pkMode == JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY
+                        && schemaPair.keySchema.type().isPrimitive();
+    this.fields = new ArrayList<>(fieldsMetadata.keyFieldNames.size());
+    if (pkMode == JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY && !primitiveKey) {
+      for (String fieldName : fieldsMetadata.keyFieldNames) {
+        fields.add(schemaPair.keySchema.field(fieldName));
+      }
+    } else if (pkMode == JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE) {
+      for (String fieldName : fieldsMetadata.keyFieldNames) {
+        fields.add(schemaPair.valueSchema.field(fieldName));
+      }
+    }
+  }
+
+  /**
+   * @return true if the records have a primary key
+   */
+  public boolean hasKey() {
+    return pkMode != JdbcSinkConfig.PrimaryKeyMode.NONE;
+  }
+
+  /**
+   * Compute the hash code of the key of a record.
+   *
+   * @param record the record; may not be null
+   * @return the hash code of the key
+   */
+  public int hash(SinkRecord record) {
+    int hash = 1;
+    for (int i = 0; i < size(); i++) {
+      final Object value = value(record, i);
+      hash = 31 * hash + (value instanceof byte[]
+                          ? Arrays.hashCode((byte[]) value)
+                          : Objects.hashCode(value));
+    }
+    return hash;
+  }
+
+  /**
+   * Check whether two records have the same key.
+   *
+   * @param left  the first record; may not be null
+   * @param right the second record; may not be null
+   * @return true if all key fields of the records are equal
+   */
+  public boolean sameKey(SinkRecord left, SinkRecord right) {
+    for (int i = 0; i < size(); i++) {
+      if (!Objects.deepEquals(value(left, i), value(right, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int size() {
+    switch (pkMode) {
+      case NONE:
+        return 0;
+      case KAFKA:
+        return KAFKA_KEY_FIELDS;
+      case RECORD_KEY:
+        return primitiveKey ? 1 : fields.size();
+      case RECORD_VALUE:
+        return fields.size();
+      default:
+        throw new ConnectException("Unknown primary key mode: " + pkMode);
+    }
+  }
+
+  /**
+   * Get a field of the key of a record.
+   *
+   * @param record the record; may not be null
+   * @param index  the index of the key field
+   * @return the value of the key field; may be null
+   */
+  public Object value(SinkRecord record, int index) {
+    switch (pkMode) {
+      case KAFKA:
+        if (index == 0) {
+          return record.topic();
+        }
+        return index == 1 ? record.kafkaPartition() : (Object) record.kafkaOffset();
+      case RECORD_KEY:
+        return primitiveKey ? record.key() : ((Struct) record.key()).get(fields.get(index));
+      case RECORD_VALUE:
+        return ((Struct) record.value()).get(fields.get(index));
+      default:
+        throw new ConnectException("Records have no primary key in mode " + pkMode);
+    }
+  }
+}
@@ -0,0 +1,567 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+
+/**
+ * Configuration of the {@link ExasolSinkTask}. It accepts all the settings of the JDBC sink
+ * connector and adds the Exasol specific write options on top of them.
+ */
+public class ExasolSinkConfig extends AbstractConfig {
+
+  public static final String UPSERT_MERGE_ROWS = "upsert.merge.rows";
+  private static final int UPSERT_MERGE_ROWS_DEFAULT = 1;
+  private static final String UPSERT_MERGE_ROWS_DOC =
+      "The number of records merged by a single ``MERGE`` statement in ``upsert`` mode. "
+      + "Records that do not fill a whole statement at the end of a batch are merged with a "
+      + "single row statement each.";
+  private static final String UPSERT_MERGE_ROWS_DISPLAY = "Rows per MERGE";
+
+  public static final String UPSERT_STRATEGY = "upsert.strategy";
+  private static final String UPSERT_STRATEGY_DEFAULT = "merge";
+  private static final String UPSERT_STRATEGY_DOC =
+      "How records are merged into the destination table in ``upsert`` mode. Supported "
+      + "strategies are:\n"
+      + "``merge``\n"
+      + "    Merge the records with parameterized ``MERGE`` statements.\n"
+      + "``staging``\n"
+      + "    Insert the records into a staging table shaped like the destination table, then "
+      + "merge the whole staging table with one ``MERGE`` statement and truncate it.";
+  private static final String UPSERT_STRATEGY_DISPLAY = "Upsert Strategy";
+
+  public static final String UPSERT_DEDUPLICATE = "upsert.deduplicate";
+  private static final boolean UPSERT_DEDUPLICATE_DEFAULT = true;
+  private static final String UPSERT_DEDUPLICATE_DOC =
+      "Whether records of a batch that share a primary key are collapsed before they are merged "
+      + "in ``upsert`` mode, keeping the record with the highest offset. This avoids sending "
+      + "several source rows for one target row to a ``MERGE``.";
+  private static final String UPSERT_DEDUPLICATE_DISPLAY = "Deduplicate Upserts";
+
+  public static final String WRITE_METHOD = "write.method";
+  private static final String WRITE_METHOD_DEFAULT = "statement";
+  private static final String WRITE_METHOD_DOC =
+      "How records are loaded into Exasol in ``insert`` mode and into the staging tables of the "
+      + "``staging`` upsert strategy. Supported methods are:\n"
+      + "``statement``\n"
+      + "    Insert the records with batched parameterized ``INSERT`` statements.\n"
+      + "``import``\n"
+      + "    Stream the records as CSV from an HTTP server embedded in the task and load them "
+      + "with an ``IMPORT FROM CSV`` statement. Exasol must be able to connect to the worker.";
+  private static final String WRITE_METHOD_DISPLAY = "Write Method";
+
+  public static final String IMPORT_HTTP_HOST = "import.http.host";
+  private static final String IMPORT_HTTP_HOST_DEFAULT = "";
+  private static final String IMPORT_HTTP_HOST_DOC =
+      "The host name or address Exasol uses to reach the import HTTP server of a task. Defaults "
+      + "to the address of the worker's local host.";
+  private static final String IMPORT_HTTP_HOST_DISPLAY = "Import HTTP Host";
+
+  public static final String IMPORT_HTTP_PORT = "import.http.port";
+  private static final int IMPORT_HTTP_PORT_DEFAULT = 0;
+  private static final String IMPORT_HTTP_PORT_DOC =
+      "The port of the import HTTP server of a task. Defaults to an ephemeral port, use a fixed "
+      + "port only when a worker runs a single task.";
+  private static final String IMPORT_HTTP_PORT_DISPLAY = "Import HTTP Port";
+
+  public static final String WRITE_SUB_CONNECTIONS = "write.sub.connections";
+  private static final int WRITE_SUB_CONNECTIONS_DEFAULT = 0;
+  private static final String WRITE_SUB_CONNECTIONS_DOC =
+      "The maximum number of parallel sub-connections used to insert records, usually one per "
+      + "Exasol cluster node. A batch is split into slices of equal size that are inserted "
+      + "concurrently, then committed together with the main connection. Applies to "
+      + "``statement`` writes in ``insert`` mode and to staging table loads. ``0`` inserts over "
+      + "the main connection only.";
+  private static final String WRITE_SUB_CONNECTIONS_DISPLAY = "Write Sub-Connections";
+
+  public static final String STATEMENT_CACHE_SIZE = "statement.cache.size";
+  private static final int STATEMENT_CACHE_SIZE_DEFAULT = 32;
+  private static final String STATEMENT_CACHE_SIZE_DOC =
+      "The maximum number of prepared statements a task keeps open on its connection between "
+      + "batches. Statements are reused by their SQL, the least recently used one is closed when "
+      + "the cache is full.";
+  private static final String STATEMENT_CACHE_SIZE_DISPLAY = "Statement Cache Size";
+
+  public static final String STRING_VARCHAR_LENGTH = "string.varchar.length";
+  private static final int STRING_VARCHAR_LENGTH_DEFAULT = 0;
+  private static final String STRING_VARCHAR_LENGTH_DOC =
+      "The length of the ``VARCHAR`` columns created for string fields. A column is widened "
+      + "with ``ALTER TABLE ... MODIFY COLUMN`` when a longer string arrives, to the next power "
+      + "of two that fits it. ``0`` creates ``CLOB`` columns, which Exasol stores as "
+      + "``VARCHAR(2000000)``.";
+  private static final String STRING_VARCHAR_LENGTH_DISPLAY = "String VARCHAR Length";
+
+  public static final String TABLE_DISTRIBUTE_BY = "table.distribute.by";
+  private static final String TABLE_DISTRIBUTE_BY_DEFAULT = "";
+  private static final String TABLE_DISTRIBUTE_BY_DOC =
+      "The columns of the ``DISTRIBUTE BY`` clause of auto-created tables. Empty distributes "
+      + "tables by their primary key columns, tables without a primary key are not distributed. "
+      + "The columns of the tables of a topic can be set with ``table.distribute.by.<topic>``.";
+  private static final String TABLE_DISTRIBUTE_BY_DISPLAY = "Table Distribution Columns";
+
+  public static final String TABLE_PARTITION_BY = "table.partition.by";
+  private static final String TABLE_PARTITION_BY_DEFAULT = "";
+  private static final String TABLE_PARTITION_BY_DOC =
+      "A timestamp or date column of the ``PARTITION BY`` clause of auto-created tables. Tables "
+      + "without the column are not partitioned. Empty partitions no table.";
+  private static final String TABLE_PARTITION_BY_DISPLAY = "Table Partition Column";
+
+  public static final String DELETE_ENABLED = "delete.enabled";
+  private static final boolean DELETE_ENABLED_DEFAULT = false;
+  private static final String DELETE_ENABLED_DOC =
+      "Whether tombstones, records with a null value, delete the row of their key. Requires "
+      + "``pk.mode`` ``record_key``. Deletes and writes of the same key keep their order.";
+  private static final String DELETE_ENABLED_DISPLAY = "Enable Deletes";
+
+  public static final String DELETE_KEYS_PER_STATEMENT = "delete.keys.per.statement";
+  private static final int DELETE_KEYS_PER_STATEMENT_DEFAULT = 100;
+  private static final String DELETE_KEYS_PER_STATEMENT_DOC =
+      "The number of keys deleted by a single ``DELETE`` statement. Keys that do not fill a "
+      + "whole statement at the end of a batch are deleted with a single key statement each.";
+  private static final String DELETE_KEYS_PER_STATEMENT_DISPLAY = "Keys per DELETE";
+
+  public static final String WRITE_ASYNC = "write.async";
+  private static final boolean WRITE_ASYNC_DEFAULT = false;
+  private static final String WRITE_ASYNC_DOC =
+      "Whether the records of a ``put()`` are written and committed on a separate thread while "
+      + "the task receives the next records. At most one write is in flight, and offsets are "
+      + "committed only for records whose transaction is committed. A failed write fails the "
+      + "task instead of being retried, the records are consumed again after a restart.";
+  private static final String WRITE_ASYNC_DISPLAY = "Asynchronous Writes";
+
+  public static final String BATCH_SIZE_ADAPTIVE = "batch.size.adaptive";
+  private static final boolean BATCH_SIZE_ADAPTIVE_DEFAULT = false;
+  private static final String BATCH_SIZE_ADAPTIVE_DOC =
+      "Whether the batch size of each table adapts to the duration of its flushes. The size "
+      + "starts at ``batch.size``, grows by ``batch.size.min`` records after each full batch "
+      + "flushed within ``batch.flush.target.ms`` and is halved after a slower or failed flush.";
+  private static final String BATCH_SIZE_ADAPTIVE_DISPLAY = "Adaptive Batch Size";
+
+  public static final String BATCH_SIZE_MIN = "batch.size.min";
+  private static final int BATCH_SIZE_MIN_DEFAULT = 100;
+  private static final String BATCH_SIZE_MIN_DOC =
+      "The smallest adaptive batch size, also the step by which it grows.";
+  private static final String BATCH_SIZE_MIN_DISPLAY = "Minimum Batch Size";
+
+  public static final String BATCH_SIZE_MAX = "batch.size.max";
+  private static final int BATCH_SIZE_MAX_DEFAULT = 20000;
+  private static final String BATCH_SIZE_MAX_DOC = "The largest adaptive batch size.";
+  private static final String BATCH_SIZE_MAX_DISPLAY = "Maximum Batch Size";
+
+  public static final String BATCH_FLUSH_TARGET_MS = "batch.flush.target.ms";
+  private static final long BATCH_FLUSH_TARGET_MS_DEFAULT = 2000L;
+  private static final String BATCH_FLUSH_TARGET_MS_DOC =
+      "The longest duration of a flush in milliseconds before the adaptive batch size of its "
+      + "table is halved.";
+  private static final String BATCH_FLUSH_TARGET_MS_DISPLAY = "Flush Target Duration (ms)";
+
+  public static final String OFFSETS_TABLE = "offsets.table";
+  private static final String OFFSETS_TABLE_DEFAULT = "";
+  private static final String OFFSETS_TABLE_DOC =
+      "The table that stores the offsets of the written records in the transaction of the "
+      + "records, created if it does not exist. Consumer positions are reset to the stored "
+      + "offsets when partitions are assigned, and records below them are skipped, so the "
+      + "records are written exactly once and ``insert.mode`` ``insert`` is idempotent. Empty "
+      + "relies on the offsets committed to Kafka.";
+  private static final String OFFSETS_TABLE_DISPLAY = "Offsets Table";
+
+  public static final String TRANSACTION_MAX_RECORDS = "transaction.max.records";
+  private static final int TRANSACTION_MAX_RECORDS_DEFAULT = 0;
+  private static final String TRANSACTION_MAX_RECORDS_DOC =
+      "The most records written in one transaction. The records of a ``put()`` are written to all "
+      + "their tables in a single transaction with one commit, unless they exceed this number. "
+      + "0 does not limit the records of a transaction.";
+  private static final String TRANSACTION_MAX_RECORDS_DISPLAY = "Records per Transaction";
+
+  public static final String TRANSACTION_MAX_TABLES = "transaction.max.tables";
+  private static final int TRANSACTION_MAX_TABLES_DEFAULT = 0;
+  private static final String TRANSACTION_MAX_TABLES_DOC =
+      "The most tables written in one transaction. The transaction is committed before a record "
+      + "for a further table is written. 0 does not limit the tables of a transaction.";
+  private static final String TRANSACTION_MAX_TABLES_DISPLAY = "Tables per Transaction";
+
+  public static final String UPSERT_PRUNE_MAX_KEY_SPREAD = "upsert.prune.max.key.spread";
+  private static final long UPSERT_PRUNE_MAX_KEY_SPREAD_DEFAULT = 0L;
+  private static final String UPSERT_PRUNE_MAX_KEY_SPREAD_DOC =
+      "The largest difference between the highest and the lowest key of a batch for which the "
+      + "``MERGE`` statements of the ``merge`` upsert strategy only consider the target rows "
+      + "between these keys, so Exasol can skip the rest of the target table. Applies to tables "
+      + "with a single integer key. Batches with a wider spread are merged without the "
+      + "restriction. 0 never restricts the ``MERGE``.";
+  private static final String UPSERT_PRUNE_MAX_KEY_SPREAD_DISPLAY = "Maximum Pruned Key Spread";
+
+  private static final String CONNECTOR_NAME = "name";
+  private static final String CONNECTOR_NAME_DEFAULT = "exasol-sink";
+
+  /**
+   * The index of the task among the tasks of the connector, set by the connector for each task.
+   */
+  public static final String TASK_INDEX = "exasol.task.index";
+
+  private static final String EXASOL_WRITES_GROUP = "Exasol Writes";
+
+  public static final ConfigDef CONFIG_DEF = new ConfigDef(JdbcSinkConfig.CONFIG_DEF)
+      .define(
+          UPSERT_MERGE_ROWS,
+          ConfigDef.Type.INT,
+          UPSERT_MERGE_ROWS_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.MEDIUM,
+          UPSERT_MERGE_ROWS_DOC,
+          EXASOL_WRITES_GROUP,
+          1,
+          ConfigDef.Width.SHORT,
+          UPSERT_MERGE_ROWS_DISPLAY
+      )
+      .define(
+          UPSERT_STRATEGY,
+          ConfigDef.Type.STRING,
+          UPSERT_STRATEGY_DEFAULT,
+          ConfigDef.ValidString.in("merge", "staging"),
+          ConfigDef.Importance.MEDIUM,
+          UPSERT_STRATEGY_DOC,
+          EXASOL_WRITES_GROUP,
+          2,
+          ConfigDef.Width.SHORT,
+          UPSERT_STRATEGY_DISPLAY
+      )
+      .define(
+          WRITE_METHOD,
+          ConfigDef.Type.STRING,
+          WRITE_METHOD_DEFAULT,
+          ConfigDef.ValidString.in("statement", "import"),
+          ConfigDef.Importance.MEDIUM,
+          WRITE_METHOD_DOC,
+          EXASOL_WRITES_GROUP,
+          3,
+          ConfigDef.Width.SHORT,
+          WRITE_METHOD_DISPLAY
+      )
+      .define(
+          IMPORT_HTTP_HOST,
+          ConfigDef.Type.STRING,
+          IMPORT_HTTP_HOST_DEFAULT,
+          ConfigDef.Importance.LOW,
+          IMPORT_HTTP_HOST_DOC,
+          EXASOL_WRITES_GROUP,
+          4,
+          ConfigDef.Width.MEDIUM,
+          IMPORT_HTTP_HOST_DISPLAY
+      )
+      .define(
+          IMPORT_HTTP_PORT,
+          ConfigDef.Type.INT,
+          IMPORT_HTTP_PORT_DEFAULT,
+          ConfigDef.Range.between(0, 65535),
+          ConfigDef.Importance.LOW,
+          IMPORT_HTTP_PORT_DOC,
+          EXASOL_WRITES_GROUP,
+          5,
+          ConfigDef.Width.SHORT,
+          IMPORT_HTTP_PORT_DISPLAY
+      )
+      .define(
+          WRITE_SUB_CONNECTIONS,
+          ConfigDef.Type.INT,
+          WRITE_SUB_CONNECTIONS_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          WRITE_SUB_CONNECTIONS_DOC,
+          EXASOL_WRITES_GROUP,
+          6,
+          ConfigDef.Width.SHORT,
+          WRITE_SUB_CONNECTIONS_DISPLAY
+      )
+      .define(
+          UPSERT_DEDUPLICATE,
+          ConfigDef.Type.BOOLEAN,
+          UPSERT_DEDUPLICATE_DEFAULT,
+          ConfigDef.Importance.LOW,
+          UPSERT_DEDUPLICATE_DOC,
+          EXASOL_WRITES_GROUP,
+          7,
+          ConfigDef.Width.SHORT,
+          UPSERT_DEDUPLICATE_DISPLAY
+      )
+      .define(
+          STATEMENT_CACHE_SIZE,
+          ConfigDef.Type.INT,
+          STATEMENT_CACHE_SIZE_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW,
+          STATEMENT_CACHE_SIZE_DOC,
+          EXASOL_WRITES_GROUP,
+          8,
+          ConfigDef.Width.SHORT,
+          STATEMENT_CACHE_SIZE_DISPLAY
+      )
+      .define(
+          STRING_VARCHAR_LENGTH,
+          ConfigDef.Type.INT,
+          STRING_VARCHAR_LENGTH_DEFAULT,
+          ConfigDef.Range.between(0, ExasolDatabaseDialect.MAX_VARCHAR_LENGTH),
+          ConfigDef.Importance.LOW,
+          STRING_VARCHAR_LENGTH_DOC,
+          EXASOL_WRITES_GROUP,
+          9,
+          ConfigDef.Width.SHORT,
+          STRING_VARCHAR_LENGTH_DISPLAY
+      )
+      .define(
+          TABLE_DISTRIBUTE_BY,
+          ConfigDef.Type.LIST,
+          TABLE_DISTRIBUTE_BY_DEFAULT,
+          ConfigDef.Importance.LOW,
+          TABLE_DISTRIBUTE_BY_DOC,
+          EXASOL_WRITES_GROUP,
+          10,
+          ConfigDef.Width.LONG,
+          TABLE_DISTRIBUTE_BY_DISPLAY
+      )
+      .define(
+          TABLE_PARTITION_BY,
+          ConfigDef.Type.STRING,
+          TABLE_PARTITION_BY_DEFAULT,
+          ConfigDef.Importance.LOW,
+          TABLE_PARTITION_BY_DOC,
+          EXASOL_WRITES_GROUP,
+          11,
+          ConfigDef.Width.MEDIUM,
+          TABLE_PARTITION_BY_DISPLAY
+      )
+      .define(
+          DELETE_ENABLED,
+          ConfigDef.Type.BOOLEAN,
+          DELETE_ENABLED_DEFAULT,
+          ConfigDef.Importance.MEDIUM,
+          DELETE_ENABLED_DOC,
+          EXASOL_WRITES_GROUP,
+          12,
+          ConfigDef.Width.SHORT,
+          DELETE_ENABLED_DISPLAY
+      )
+      .define(
+          DELETE_KEYS_PER_STATEMENT,
+          ConfigDef.Type.INT,
+          DELETE_KEYS_PER_STATEMENT_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW,
+          DELETE_KEYS_PER_STATEMENT_DOC,
+          EXASOL_WRITES_GROUP,
+          13,
+          ConfigDef.Width.SHORT,
+          DELETE_KEYS_PER_STATEMENT_DISPLAY
+      )
+      .define(
+          WRITE_ASYNC,
+          ConfigDef.Type.BOOLEAN,
+          WRITE_ASYNC_DEFAULT,
+          ConfigDef.Importance.MEDIUM,
+          WRITE_ASYNC_DOC,
+          EXASOL_WRITES_GROUP,
+          14,
+          ConfigDef.Width.SHORT,
+          WRITE_ASYNC_DISPLAY
+      )
+      .define(
+          BATCH_SIZE_ADAPTIVE,
+          ConfigDef.Type.BOOLEAN,
+          BATCH_SIZE_ADAPTIVE_DEFAULT,
+          ConfigDef.Importance.MEDIUM,
+          BATCH_SIZE_ADAPTIVE_DOC,
+          EXASOL_WRITES_GROUP,
+          15,
+          ConfigDef.Width.SHORT,
+          BATCH_SIZE_ADAPTIVE_DISPLAY
+      )
+      .define(
+          BATCH_SIZE_MIN,
+          ConfigDef.Type.INT,
+          BATCH_SIZE_MIN_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW,
+          BATCH_SIZE_MIN_DOC,
+          EXASOL_WRITES_GROUP,
+          16,
+          ConfigDef.Width.SHORT,
+          BATCH_SIZE_MIN_DISPLAY
+      )
+      .define(
+          BATCH_SIZE_MAX,
+          ConfigDef.Type.INT,
+          BATCH_SIZE_MAX_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW,
+          BATCH_SIZE_MAX_DOC,
+          EXASOL_WRITES_GROUP,
+          17,
+          ConfigDef.Width.SHORT,
+          BATCH_SIZE_MAX_DISPLAY
+      )
+      .define(
+          BATCH_FLUSH_TARGET_MS,
+          ConfigDef.Type.LONG,
+          BATCH_FLUSH_TARGET_MS_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.LOW,
+          BATCH_FLUSH_TARGET_MS_DOC,
+          EXASOL_WRITES_GROUP,
+          18,
+          ConfigDef.Width.SHORT,
+          BATCH_FLUSH_TARGET_MS_DISPLAY
+      )
+      .define(
+          OFFSETS_TABLE,
+          ConfigDef.Type.STRING,
+          OFFSETS_TABLE_DEFAULT,
+          ConfigDef.Importance.MEDIUM,
+          OFFSETS_TABLE_DOC,
+          EXASOL_WRITES_GROUP,
+          19,
+          ConfigDef.Width.LONG,
+          OFFSETS_TABLE_DISPLAY
+      )
+      .define(
+          TRANSACTION_MAX_RECORDS,
+          ConfigDef.Type.INT,
+          TRANSACTION_MAX_RECORDS_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          TRANSACTION_MAX_RECORDS_DOC,
+          EXASOL_WRITES_GROUP,
+          20,
+          ConfigDef.Width.SHORT,
+          TRANSACTION_MAX_RECORDS_DISPLAY
+      )
+      .define(
+          TRANSACTION_MAX_TABLES,
+          ConfigDef.Type.INT,
+          TRANSACTION_MAX_TABLES_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          TRANSACTION_MAX_TABLES_DOC,
+          EXASOL_WRITES_GROUP,
+          21,
+          ConfigDef.Width.SHORT,
+          TRANSACTION_MAX_TABLES_DISPLAY
+      )
+      .define(
+          UPSERT_PRUNE_MAX_KEY_SPREAD,
+          ConfigDef.Type.LONG,
+          UPSERT_PRUNE_MAX_KEY_SPREAD_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          UPSERT_PRUNE_MAX_KEY_SPREAD_DOC,
+          EXASOL_WRITES_GROUP,
+          22,
+          ConfigDef.Width.SHORT,
+          UPSERT_PRUNE_MAX_KEY_SPREAD_DISPLAY
+      );
+
+  public enum UpsertStrategy {
+    MERGE,
+    STAGING
+  }
+
+  public enum WriteMethod {
+    STATEMENT,
+    IMPORT
+  }
+
+  public final JdbcSinkConfig jdbcConfig;
+  public final int upsertMergeRows;
+  public final UpsertStrategy upsertStrategy;
+  public final boolean upsertDeduplicate;
+  public final WriteMethod writeMethod;
+  public final String importHttpHost;
+  public final int importHttpPort;
+  public final int writeSubConnections;
+  public final int statementCacheSize;
+  public final int stringVarcharLength;
+  public final List<String> tableDistributeBy;
+  public final Map<String, List<String>> topicDistributeBy;
+  public final String tablePartitionBy;
+  public final boolean deleteEnabled;
+  public final int deleteKeysPerStatement;
+  public final boolean writeAsync;
+  public final boolean batchSizeAdaptive;
+  public final int batchSizeMin;
+  public final int batchSizeMax;
+  public final long batchFlushTargetMs;
+  public final String offsetsTable;
+  public final int transactionMaxRecords;
+  public final int transactionMaxTables;
+  public final long upsertPruneMaxKeySpread;
+  public final String connectorName;
+  public final int taskIndex;
+
+  public ExasolSinkConfig(Map<?, ?> props) {
+    super(CONFIG_DEF, props);
+    jdbcConfig = new JdbcSinkConfig(props);
+    upsertMergeRows = getInt(UPSERT_MERGE_ROWS);
+    upsertStrategy = UpsertStrategy.valueOf(getString(UPSERT_STRATEGY).toUpperCase());
+    upsertDeduplicate = getBoolean(UPSERT_DEDUPLICATE);
+    writeMethod = WriteMethod.valueOf(getString(WRITE_METHOD).toUpperCase());
+    importHttpHost = getString(IMPORT_HTTP_HOST);
+    importHttpPort = getInt(IMPORT_HTTP_PORT);
+    writeSubConnections = getInt(WRITE_SUB_CONNECTIONS);
+    statementCacheSize = getInt(STATEMENT_CACHE_SIZE);
+    stringVarcharLength = getInt(STRING_VARCHAR_LENGTH);
+    tableDistributeBy = getList(TABLE_DISTRIBUTE_BY);
+    topicDistributeBy = new HashMap<>();
+    for (Map.Entry<String, Object> entry
+        : originalsWithPrefix(TABLE_DISTRIBUTE_BY + ".").entrySet()) {
+      final String columns = entry.getValue().toString().trim();
+      topicDistributeBy.put(
+          entry.getKey(),
+          columns.isEmpty()
+          ? Collections.<String>emptyList()
+          : Arrays.asList(columns.split("\\s*,\\s*"))
+      );
+    }
+    tablePartitionBy = getString(TABLE_PARTITION_BY);
+    deleteEnabled = getBoolean(DELETE_ENABLED);
+    deleteKeysPerStatement = getInt(DELETE_KEYS_PER_STATEMENT);
+    writeAsync = getBoolean(WRITE_ASYNC);
+    batchSizeAdaptive = getBoolean(BATCH_SIZE_ADAPTIVE);
+    batchSizeMin = getInt(BATCH_SIZE_MIN);
+    batchSizeMax = getInt(BATCH_SIZE_MAX);
+    batchFlushTargetMs = getLong(BATCH_FLUSH_TARGET_MS);
+    offsetsTable = getString(OFFSETS_TABLE).trim();
+    transactionMaxRecords = getInt(TRANSACTION_MAX_RECORDS);
+    transactionMaxTables = getInt(TRANSACTION_MAX_TABLES);
+    upsertPruneMaxKeySpread = getLong(UPSERT_PRUNE_MAX_KEY_SPREAD);
+    if (deleteEnabled && jdbcConfig.pkMode != JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY) {
+      throw new ConfigException(
+          DELETE_ENABLED,
+          true,
+          "Deletes require pk.mode record_key, not " + jdbcConfig.pkMode
+      );
+    }
+    if (batchSizeMin > batchSizeMax) {
+      throw new ConfigException(
+          BATCH_SIZE_MIN,
+          batchSizeMin,
+          "The minimum batch size exceeds " + BATCH_SIZE_MAX + " " + batchSizeMax
+      );
+    }
+    final Object name = originals().get(CONNECTOR_NAME);
+    connectorName = name == null ? CONNECTOR_NAME_DEFAULT : name.toString();
+    final Object index = originals().get(TASK_INDEX);
+    taskIndex = index == null ? 0 : Integer.parseInt(index.toString());
+  }
+
+  public static void main(String... args) {
+    System.out.println(CONFIG_DEF.toEnrichedRst());
+  }
+}
@@ -0,0 +1,206 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.exasol.connect.jdbc.util.LruCache;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Counters of a sink task, published as a JMX MBean named
+ * {@code com.exasol.connect.jdbc:type=sink-task-metrics,connector=<name>,task=<index>}. The
+ * {@link ExasolBatchSizer batch sizers} of the tables are published next to it with
+ * {@code type=sink-table-metrics} and an additional {@code table} key.
+ */
+public class ExasolSinkMetrics implements ExasolSinkMetricsMBean, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSinkMetrics.class);
+
+  static final String DOMAIN = "com.exasol.connect.jdbc";
+
+  private final AtomicLong deduplicatedRecords = new AtomicLong();
+  private volatile long lastFlushDeduplicatedRecords;
+  private final AtomicLong maxFlushDeduplicatedRecords = new AtomicLong();
+  private final AtomicLong committedTransactions = new AtomicLong();
+  private final AtomicLong committedRecords = new AtomicLong();
+  private volatile LruCache<?, ?> sqlCache;
+  private volatile LruCache<?, ?> statementCache;
+  private final Map<TableId, ExasolBatchSizer> batchSizers = new ConcurrentHashMap<>();
+  private final List<ObjectName> tableNames = new ArrayList<>();
+  private ObjectName name;
+
+  /**
+   * Record the number of records dropped by key deduplication in a flush.
+   *
+   * @param dropped the number of dropped records
+   */
+  public void recordDeduplication(int dropped) {
+    deduplicatedRecords.addAndGet(dropped);
+    lastFlushDeduplicatedRecords = dropped;
+    maxFlushDeduplicatedRecords.accumulateAndGet(dropped, Math::max);
+  }
+
+  /**
+   * Record a committed transaction.
+   *
+   * @param records the number of records written by the transaction
+   */
+  public void recordCommit(int records) {
+    committedTransactions.incrementAndGet();
+    committedRecords.addAndGet(records);
+  }
+
+  /**
+   * Report the hits and misses of the given caches, replacing the caches of an earlier writer.
+   *
+   * @param sqlCache       the SQL cache of the dialect; may not be null
+   * @param statementCache the prepared statement cache of the writer; may not be null
+   */
+  public void watchCaches(LruCache<?, ?> sqlCache, LruCache<?, ?> statementCache) {
+    this.sqlCache = sqlCache;
+    this.statementCache = statementCache;
+  }
+
+  @Override
+  public long getDeduplicatedRecords() {
+    return deduplicatedRecords.get();
+  }
+
+  @Override
+  public long getLastFlushDeduplicatedRecords() {
+    return lastFlushDeduplicatedRecords;
+  }
+
+  @Override
+  public long getMaxFlushDeduplicatedRecords() {
+    return maxFlushDeduplicatedRecords.get();
+  }
+
+  @Override
+  public long getCommittedTransactions() {
+    return committedTransactions.get();
+  }
+
+  @Override
+  public long getCommittedRecords() {
+    return committedRecords.get();
+  }
+
+  @Override
+  public long getSqlCacheHits() {
+    final LruCache<?, ?> cache = sqlCache;
+    return cache == null ? 0 : cache.hits();
+  }
+
+  @Override
+  public long getSqlCacheMisses() {
+    final LruCache<?, ?> cache = sqlCache;
+    return cache == null ? 0 : cache.misses();
+  }
+
+  @Override
+  public long getStatementCacheHits() {
+    final LruCache<?, ?> cache = statementCache;
+    return cache == null ? 0 : cache.hits();
+  }
+
+  @Override
+  public long getStatementCacheMisses() {
+    final LruCache<?, ?> cache = statementCache;
+    return cache == null ? 0 : cache.misses();
+  }
+
+  /**
+   * Publish the metrics of a task, replacing metrics left behind by an earlier instance of the
+   * same task. Failures are logged and do not stop the task.
+   *
+   * @param connector the name of the connector; may not be null
+   * @param taskIndex the index of the task
+   */
+  public void register(String connector, int taskIndex) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      name = new ObjectName(
+          DOMAIN + ":type=sink-task-metrics,connector=" + ObjectName.quote(connector)
+          + ",task=" + taskIndex
+      );
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(this, name);
+    } catch (JMException e) {
+      log.warn("Could not register the metrics of task {} of {}", taskIndex, connector, e);
+      name = null;
+    }
+  }
+
+  /**
+   * Get the batch sizer of a table, creating and publishing it on first use. The sizer lives as
+   * long as the metrics, so it keeps its state when the writer of the task is replaced.
+   *
+   * @param table   the identifier of the table; may not be null
+   * @param factory creates the sizer of a new table; may not be null
+   * @return the batch sizer; never null
+   */
+  public ExasolBatchSizer batchSizer(TableId table, Supplier<ExasolBatchSizer> factory) {
+    return batchSizers.computeIfAbsent(table, key -> {
+      final ExasolBatchSizer sizer = factory.get();
+      if (name != null) {
+        publish(sizer, table);
+      }
+      return sizer;
+    });
+  }
+
+  /**
+   * Withdraw the published metrics.
+   */
+  @Override
+  public synchronized void close() {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final List<ObjectName> names = new ArrayList<>(tableNames);
+    if (name != null) {
+      names.add(name);
+    }
+    for (ObjectName published : names) {
+      try {
+        server.unregisterMBean(published);
+      } catch (JMException e) {
+        log.warn("Could not unregister metrics {}", published, e);
+      }
+    }
+    tableNames.clear();
+    name = null;
+  }
+
+  private synchronized void publish(ExasolBatchSizer sizer, TableId table) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName tableName = new ObjectName(
+          DOMAIN + ":type=sink-table-metrics,connector=" + name.getKeyProperty("connector")
+          + ",task=" + name.getKeyProperty("task")
+          + ",table=" + ObjectName.quote(table.toString())
+      );
+      if (server.isRegistered(tableName)) {
+        server.unregisterMBean(tableName);
+      }
+      server.registerMBean(sizer, tableName);
+      tableNames.add(tableName);
+    } catch (JMException e) {
+      log.warn("Could not register the metrics of table {}", table, e);
+    }
+  }
+}
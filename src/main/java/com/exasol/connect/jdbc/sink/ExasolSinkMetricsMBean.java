@@ -0,0 +1,52 @@
+package com.exasol.connect.jdbc.sink;
+
+/**
+ * The JMX view of the {@link ExasolSinkMetrics} of a sink task.
+ */
+public interface ExasolSinkMetricsMBean {
+
+  /**
+   * @return the number of records dropped by key deduplication since the task started
+   */
+  long getDeduplicatedRecords();
+
+  /**
+   * @return the number of records dropped by key deduplication in the last flush
+   */
+  long getLastFlushDeduplicatedRecords();
+
+  /**
+   * @return the highest number of records dropped by key deduplication in a single flush
+   */
+  long getMaxFlushDeduplicatedRecords();
+
+  /**
+   * @return the number of transactions committed since the task started
+   */
+  long getCommittedTransactions();
+
+  /**
+   * @return the number of records committed since the task started
+   */
+  long getCommittedRecords();
+
+  /**
+   * @return the number of DML statements served from the SQL cache of the dialect
+   */
+  long getSqlCacheHits();
+
+  /**
+   * @return the number of DML statements built because they were not in the SQL cache
+   */
+  long getSqlCacheMisses();
+
+  /**
+   * @return the number of prepared statements reused from the statement cache
+   */
+  long getStatementCacheHits();
+
+  /**
+   * @return the number of statements prepared because they were not in the statement cache
+   */
+  long getStatementCacheMisses();
+}
@@ -0,0 +1,163 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.errors.RetriableException;
+import org.apache.kafka.connect.sink.SinkRecord;
+import org.apache.kafka.connect.sink.SinkTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+/**
+ * A sink task writing records into Exasol through the {@link ExasolDatabaseDialect}.
+ */
+public class ExasolSinkTask extends SinkTask {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSinkTask.class);
+
+  ExasolDatabaseDialect dialect;
+  ExasolSinkConfig config;
+  ExasolDbWriter writer;
+  ExasolAsyncWriter asyncWriter;
+  ExasolSinkMetrics metrics;
+  int remainingRetries;
+
+  @Override
+  public void start(Map<String, String> props) {
+    log.info("Starting task");
+    config = new ExasolSinkConfig(props);
+    metrics = new ExasolSinkMetrics();
+    metrics.register(config.connectorName, config.taskIndex);
+    initWriter();
+    if (config.writeAsync) {
+      asyncWriter = new ExasolAsyncWriter(writer);
+    }
+    remainingRetries = config.jdbcConfig.maxRetries;
+  }
+
+  void initWriter() {
+    dialect = new ExasolDatabaseDialect(config);
+    final ExasolDbStructure dbStructure = new ExasolDbStructure(dialect);
+    log.info("Initializing writer using SQL dialect: {}", dialect.getClass().getSimpleName());
+    writer = new ExasolDbWriter(config, dialect, dbStructure, metrics);
+  }
+
+  @Override
+  public void put(Collection<SinkRecord> records) {
+    if (records.isEmpty()) {
+      return;
+    }
+    final SinkRecord first = records.iterator().next();
+    final int recordsCount = records.size();
+    log.trace(
+        "Received {} records. First record kafka coordinates:({}-{}-{}). Writing them to the "
+        + "database...",
+        recordsCount, first.topic(), first.kafkaPartition(), first.kafkaOffset()
+    );
+    if (asyncWriter != null) {
+      asyncWriter.write(records);
+      return;
+    }
+    try {
+      writer.write(records);
+    } catch (SQLException sqle) {
+      log.warn(
+          "Write of {} records failed, remainingRetries={}",
+          records.size(),
+          remainingRetries,
+          sqle
+      );
+      String sqleAllMessages = "";
+      for (Throwable e : sqle) {
+        sqleAllMessages += e + System.lineSeparator();
+      }
+      if (remainingRetries == 0) {
+        throw new ConnectException(new SQLException(sqleAllMessages));
+      } else {
+        writer.closeQuietly();
+        initWriter();
+        remainingRetries--;
+        context.timeout(config.jdbcConfig.retryBackoffMs);
+        throw new RetriableException(new SQLException(sqleAllMessages));
+      }
+    }
+    remainingRetries = config.jdbcConfig.maxRetries;
+  }
+
+  @Override
+  public void flush(Map<TopicPartition, OffsetAndMetadata> map) {
+    // Not necessary
+  }
+
+  @Override
+  public Map<TopicPartition, OffsetAndMetadata> preCommit(
+      Map<TopicPartition, OffsetAndMetadata> currentOffsets
+  ) {
+    if (asyncWriter != null) {
+      // only the offsets of records whose transaction is committed
+      return asyncWriter.committedOffsets(currentOffsets.keySet());
+    }
+    return super.preCommit(currentOffsets);
+  }
+
+  @Override
+  public void open(Collection<TopicPartition> partitions) {
+    if (asyncWriter != null) {
+      // the writer thread shares the connection
+      asyncWriter.await();
+    }
+    final Map<TopicPartition, Long> offsets;
+    try {
+      offsets = writer.storedOffsets(partitions);
+    } catch (SQLException e) {
+      throw new ConnectException("Could not read the stored offsets", e);
+    }
+    if (!offsets.isEmpty()) {
+      log.info("Resetting {} partitions to their stored offsets", offsets.size());
+      context.offset(offsets);
+    }
+  }
+
+  @Override
+  public void close(Collection<TopicPartition> partitions) {
+    if (asyncWriter != null) {
+      asyncWriter.revoke(partitions);
+    }
+    writer.revoked(partitions);
+  }
+
+  @Override
+  public void stop() {
+    log.info("Stopping task");
+    try {
+      if (asyncWriter != null) {
+        asyncWriter.close();
+        asyncWriter = null;
+      }
+      writer.closeQuietly();
+    } finally {
+      try {
+        if (dialect != null) {
+          dialect.close();
+        }
+      } catch (Throwable t) {
+        log.warn("Error while closing the {} dialect: ", dialect, t);
+      } finally {
+        dialect = null;
+        metrics.close();
+      }
+    }
+  }
+
+  @Override
+  public String version() {
+    return getClass().getPackage().getImplementationVersion();
+  }
+}
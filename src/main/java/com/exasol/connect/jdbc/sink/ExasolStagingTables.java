@@ -0,0 +1,110 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.dialect.DropOptions;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Keeps track of the staging tables used by the {@code staging} upsert strategy.
+ *
+ * <p>Exasol has no session local tables, so every task owns one staging table per destination
+ * table, named after the destination table and the task index. A staging table is (re)created
+ * with the columns of its destination table the first time it is used by a task and after the
+ * destination table was altered. This also discards rows left behind by a task that died before
+ * truncating its staging table.
+ */
+public class ExasolStagingTables {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolStagingTables.class);
+
+  static final String STAGING_TABLE_SUFFIX = "_KAFKA_STAGING_";
+
+  private final ExasolDatabaseDialect dialect;
+  private final int taskIndex;
+  private final Map<TableId, TableId> stagingTables = new HashMap<>();
+  private final Set<TableId> prepared = new HashSet<>();
+
+  public ExasolStagingTables(ExasolDatabaseDialect dialect, int taskIndex) {
+    this.dialect = dialect;
+    this.taskIndex = taskIndex;
+  }
+
+  /**
+   * Get the staging table of the given destination table, creating it if this task has not
+   * done so yet.
+   *
+   * @param connection the connection to use; may not be null
+   * @param table      the destination table; may not be null
+   * @return the staging table; never null
+   * @throws SQLException if the staging table cannot be created
+   */
+  public TableId prepare(Connection connection, TableId table) throws SQLException {
+    final TableId stagingTable = stagingTables.computeIfAbsent(table, this::stagingTableFor);
+    if (!prepared.contains(table)) {
+      log.info("Creating staging table {} for table {}", stagingTable, table);
+      dialect.applyDdlStatements(
+          connection,
+          Collections.singletonList(dialect.buildCreateStagingTableStatement(stagingTable, table))
+      );
+      prepared.add(table);
+    }
+    return stagingTable;
+  }
+
+  /**
+   * Mark the staging table of the given destination table as outdated, for example because the
+   * destination table was altered.
+   *
+   * @param table the destination table; may not be null
+   */
+  public void invalidate(TableId table) {
+    prepared.remove(table);
+  }
+
+  /**
+   * @return true if this task has not used any staging table yet
+   */
+  public boolean isEmpty() {
+    return stagingTables.isEmpty();
+  }
+
+  /**
+   * Drop all staging tables created by this task.
+   *
+   * @param connection the connection to use; may not be null
+   * @throws SQLException if a staging table cannot be dropped
+   */
+  public void dropAll(Connection connection) throws SQLException {
+    final DropOptions options = new DropOptions().setIfExists(true);
+    for (TableId stagingTable : stagingTables.values()) {
+      log.info("Dropping staging table {}", stagingTable);
+      dialect.applyDdlStatements(
+          connection,
+          Collections.singletonList(dialect.buildDropTableStatement(stagingTable, options))
+      );
+    }
+    connection.commit();
+    stagingTables.clear();
+    prepared.clear();
+  }
+
+  TableId stagingTableFor(TableId table) {
+    return new TableId(
+        table.catalogName(),
+        table.schemaName(),
+        table.tableName() + STAGING_TABLE_SUFFIX + taskIndex
+    );
+  }
+}
@@ -0,0 +1,171 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect;
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+/**
+ * A {@link DatabaseDialect.StatementBinder} that binds a batch of records column by column.
+ *
+ * <p>The parameters of the statement are resolved into typed {@link ExasolColumn columns} once
+ * per schema. A batch is first copied into the columns and then bound from them, so the values
+ * of primitive fields are neither dispatched on their schema nor kept boxed per record. Several
+ * records can be bound as consecutive parameter rows of one statement. The parameters follow the
+ * order of the generic binder: key fields before non-key fields, except in update mode.
+ */
+public class ExasolStatementBinder implements DatabaseDialect.StatementBinder {
+
+  private final PreparedStatement statement;
+  private final List<ExasolColumn> columns = new ArrayList<>();
+  private ExasolColumn.LongColumn keyRangeColumn;
+
+  public ExasolStatementBinder(
+      DatabaseDialect dialect,
+      PreparedStatement statement,
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata,
+      JdbcSinkConfig.InsertMode insertMode
+  ) {
+    this.statement = statement;
+    if (insertMode == JdbcSinkConfig.InsertMode.UPDATE) {
+      addNonKeyColumns(dialect, schemaPair, fieldsMetadata);
+      addKeyColumns(dialect, pkMode, schemaPair, fieldsMetadata);
+    } else {
+      addKeyColumns(dialect, pkMode, schemaPair, fieldsMetadata);
+      addNonKeyColumns(dialect, schemaPair, fieldsMetadata);
+    }
+  }
+
+  /**
+   * Also bind the lowest and the highest key of the rows of each statement, after the rows, as
+   * expected by {@code MERGE} statements restricted to a key range.
+   *
+   * @return this binder
+   * @throws IllegalStateException if the statement has no leading integer key column
+   */
+  public ExasolStatementBinder withKeyRange() {
+    if (columns.isEmpty() || !(columns.get(0) instanceof ExasolColumn.LongColumn)) {
+      throw new IllegalStateException("Key ranges require a leading integer key column");
+    }
+    keyRangeColumn = (ExasolColumn.LongColumn) columns.get(0);
+    return this;
+  }
+
+  /**
+   * @return the statement the records are bound to; never null
+   */
+  public PreparedStatement statement() {
+    return statement;
+  }
+
+  @Override
+  public void bindRecord(SinkRecord record) throws SQLException {
+    bindRecords(Collections.singletonList(record), 1);
+  }
+
+  /**
+   * Bind the given records, adding the statement to the batch after every
+   * {@code rowsPerStatement} records.
+   *
+   * @param records          the records to bind; may not be null
+   * @param rowsPerStatement the number of parameter rows of the statement; must divide the
+   *                         number of records
+   * @throws SQLException if a value cannot be bound
+   */
+  public void bindRecords(List<SinkRecord> records, int rowsPerStatement) throws SQLException {
+    if (records.size() % rowsPerStatement != 0) {
+      throw new IllegalArgumentException(String.format(
+          "%d records do not fill statements of %d rows",
+          records.size(),
+          rowsPerStatement
+      ));
+    }
+    for (ExasolColumn column : columns) {
+      column.fill(records);
+    }
+    int row = 0;
+    while (row < records.size()) {
+      final int first = row;
+      int index = 1;
+      for (int end = row + rowsPerStatement; row < end; row++) {
+        for (ExasolColumn column : columns) {
+          column.bind(statement, index++, row);
+        }
+      }
+      if (keyRangeColumn != null) {
+        keyRangeColumn.bindRange(statement, index, first, row);
+      }
+      statement.addBatch();
+    }
+  }
+
+  private void addKeyColumns(
+      DatabaseDialect dialect,
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata
+  ) {
+    switch (pkMode) {
+      case NONE:
+        break;
+      case KAFKA:
+        columns.add(ExasolColumn.of(dialect, Schema.STRING_SCHEMA, SinkRecord::topic));
+        columns.add(ExasolColumn.of(dialect, Schema.INT32_SCHEMA, SinkRecord::kafkaPartition));
+        columns.add(ExasolColumn.of(dialect, Schema.INT64_SCHEMA, SinkRecord::kafkaOffset));
+        break;
+      case RECORD_KEY:
+        if (schemaPair.keySchema.type().isPrimitive()) {
+          columns.add(ExasolColumn.of(dialect, schemaPair.keySchema, SinkRecord::key));
+        } else {
+          for (String fieldName : fieldsMetadata.keyFieldNames) {
+            final Field field = schemaPair.keySchema.field(fieldName);
+            columns.add(ExasolColumn.of(
+                dialect,
+                field.schema(),
+                record -> ((Struct) record.key()).get(field)
+            ));
+          }
+        }
+        break;
+      case RECORD_VALUE:
+        for (String fieldName : fieldsMetadata.keyFieldNames) {
+          addValueColumn(dialect, schemaPair.valueSchema.field(fieldName));
+        }
+        break;
+      default:
+        throw new ConnectException("Unknown primary key mode: " + pkMode);
+    }
+  }
+
+  private void addNonKeyColumns(
+      DatabaseDialect dialect,
+      SchemaPair schemaPair,
+      FieldsMetadata fieldsMetadata
+  ) {
+    for (String fieldName : fieldsMetadata.nonKeyFieldNames) {
+      addValueColumn(dialect, schemaPair.valueSchema.field(fieldName));
+    }
+  }
+
+  private void addValueColumn(DatabaseDialect dialect, Field field) {
+    columns.add(ExasolColumn.of(
+        dialect,
+        field.schema(),
+        record -> ((Struct) record.value()).get(field)
+    ));
+  }
+}
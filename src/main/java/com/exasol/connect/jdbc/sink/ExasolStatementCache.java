@@ -0,0 +1,118 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.exasol.connect.jdbc.util.LruCache;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Keeps the prepared statements of a connection open across batches, so a statement is parsed
+ * by Exasol once per connection instead of once per {@code put()}. The least recently used
+ * statement is evicted when the cache is full, but only closed by {@link #release()} after the
+ * transaction, because the buffers of the transaction may still hold it. The statements of a
+ * table are evicted when the table is altered. All statements are closed when the connection
+ * changes or the cache is closed.
+ */
+public class ExasolStatementCache implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolStatementCache.class);
+
+  private final LruCache<String, PreparedStatement> statements;
+  private final List<PreparedStatement> evicted = new ArrayList<>();
+  private final Map<TableId, Set<String>> sqlByTable = new HashMap<>();
+  private Connection connection;
+
+  public ExasolStatementCache(int capacity) {
+    this.statements = new LruCache<>(capacity, evicted::add);
+  }
+
+  /**
+   * Get the prepared statement of the given SQL, preparing it on a miss.
+   *
+   * @param connection the connection to prepare the statement on; may not be null
+   * @param table      the table the statement writes to; may not be null
+   * @param sql        the SQL of the statement; may not be null
+   * @return the prepared statement; never null
+   * @throws SQLException if the statement cannot be prepared
+   */
+  public PreparedStatement prepare(Connection connection, TableId table, String sql)
+      throws SQLException {
+    if (connection != this.connection) {
+      clear();
+      this.connection = connection;
+    }
+    PreparedStatement statement = statements.get(sql);
+    if (statement == null || statement.isClosed()) {
+      statement = connection.prepareStatement(sql);
+      statements.put(sql, statement);
+      sqlByTable.computeIfAbsent(table, key -> new HashSet<>()).add(sql);
+    }
+    return statement;
+  }
+
+  /**
+   * Evict the statements of a table, for example after the table was altered. They are closed
+   * by {@link #release()} like the other evicted statements.
+   *
+   * @param table the table; may not be null
+   */
+  public void evict(TableId table) {
+    final Set<String> sqls = sqlByTable.remove(table);
+    if (sqls != null) {
+      sqls.forEach(statements::remove);
+    }
+  }
+
+  /**
+   * @return the cached statements, for reporting hits and misses
+   */
+  public LruCache<String, PreparedStatement> statements() {
+    return statements;
+  }
+
+  /**
+   * Close the statements evicted since the last call, once no buffer uses them anymore, that is
+   * after the transaction was committed or rolled back.
+   */
+  public void release() {
+    for (PreparedStatement statement : evicted) {
+      closeQuietly(statement);
+    }
+    evicted.clear();
+  }
+
+  /**
+   * Close all cached and evicted statements.
+   */
+  public void clear() {
+    statements.clear();
+    sqlByTable.clear();
+    release();
+  }
+
+  @Override
+  public void close() {
+    clear();
+    connection = null;
+  }
+
+  private static void closeQuietly(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      log.warn("Ignoring error closing cached statement", e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.exasol.connect.jdbc.sink;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Opens parallel sub-connections of an Exasol connection. Sub-connections join the session of
+ * their main connection, so the work done over them is committed or rolled back with the main
+ * connection.
+ */
+public interface ExasolSubConnectionProvider {
+
+  /**
+   * Open sub-connections of the given main connection.
+   *
+   * @param connection the main connection; may not be null
+   * @param maxConnections the maximum number of sub-connections to open; must be positive
+   * @return the opened sub-connections, with auto-commit disabled; never empty
+   * @throws SQLException if the sub-connections cannot be opened
+   */
+  List<Connection> open(Connection connection, int maxConnections) throws SQLException;
+}
@@ -0,0 +1,52 @@
+package com.exasol.connect.jdbc.sink;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+/**
+ * The configuration and collaborators a writer shares with the buffers of its tables.
+ */
+public class ExasolWriteContext {
+
+  public final ExasolSinkConfig config;
+  public final ExasolDatabaseDialect dbDialect;
+  public final ExasolDbStructure dbStructure;
+  public final ExasolStagingTables stagingTables;
+  public final ExasolImportServer importServer;
+  public final ExasolParallelWriter parallelWriter;
+  public final ExasolStatementCache statementCache;
+  public final ExasolSinkMetrics metrics;
+
+  /**
+   * Create a context.
+   *
+   * @param config         the configuration of the task; may not be null
+   * @param dbDialect      the dialect; may not be null
+   * @param dbStructure    creates, amends and widens tables; may not be null
+   * @param stagingTables  the staging tables of the task; may not be null
+   * @param importServer   serves the files of {@code IMPORT} statements; may be null unless the
+   *                       {@code import} write method is configured
+   * @param parallelWriter inserts over sub-connections; may be null unless sub-connections are
+   *                       configured
+   * @param statementCache the prepared statements of the connection; may not be null
+   * @param metrics        the metrics of the task; may not be null
+   */
+  public ExasolWriteContext(
+      ExasolSinkConfig config,
+      ExasolDatabaseDialect dbDialect,
+      ExasolDbStructure dbStructure,
+      ExasolStagingTables stagingTables,
+      ExasolImportServer importServer,
+      ExasolParallelWriter parallelWriter,
+      ExasolStatementCache statementCache,
+      ExasolSinkMetrics metrics
+  ) {
+    this.config = config;
+    this.dbDialect = dbDialect;
+    this.dbStructure = dbStructure;
+    this.stagingTables = stagingTables;
+    this.importServer = importServer;
+    this.parallelWriter = parallelWriter;
+    this.statementCache = statementCache;
+    this.metrics = metrics;
+  }
+}
@@ -0,0 +1,226 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Reads one split of a table in {@code bulk} mode, but only the key ranges that changed since
+ * the last poll. Each poll first computes the number of rows and a hash of the rows of every
+ * range with one aggregate query in Exasol, then reads the rows of the ranges whose count or hash
+ * differ from those of the last completed read. The first poll reads the whole split.
+ *
+ * <p>The hash of a row is {@code HASH_MD5} of the hashes of its columns, each column hashed by
+ * itself and {@code NULL} marked by a character that is no hexadecimal digit. A value moving
+ * between neighbouring columns therefore changes the hash of its row. The hash of a range is the
+ * sum of the first 16 hexadecimal digits of the hashes of its rows, read as a number. The hashes
+ * are kept in memory only, so a restarted task reads the whole split again, like in {@code bulk}
+ * mode. Deleted rows are not published, a range that lost rows is read again.
+ */
+public class ExasolHashDiffQuerier extends ExasolTableQuerier {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolHashDiffQuerier.class);
+
+  private static final String HEX_DIGITS = "0123456789abcdef";
+  private static final int HASH_DIGITS = 16;
+  private static final String BUCKET = "BUCKET";
+  private static final String ROW_HASH = "ROW_HASH";
+
+  private final ExasolTableSplit split;
+  private final int ranges;
+  private final ColumnId splitColumn;
+  private final Map<String, String> partition;
+  private Map<Long, String> hashes = Collections.emptyMap();
+  private Map<Long, String> readHashes;
+
+  /**
+   * Create the querier of a split.
+   *
+   * @param config  the connector configuration; may not be null
+   * @param dialect the dialect; may not be null
+   * @param split   the split; may not be null
+   */
+  public ExasolHashDiffQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      ExasolTableSplit split
+  ) {
+    this(config, dialect, dialect.parseTableIdentifier(split.table()), split);
+  }
+
+  private ExasolHashDiffQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      TableId tableId,
+      ExasolTableSplit split
+  ) {
+    super(
+        dialect,
+        tableId,
+        config.getString(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG) + tableId.tableName()
+    );
+    this.split = split;
+    this.ranges = config.sourceHashRanges;
+    splitColumn = config.sourceSplitColumn.isEmpty()
+                  ? null
+                  : new ColumnId(tableId, config.sourceSplitColumn);
+    partition = split.sourcePartition(tableId);
+  }
+
+  /**
+   * @return the source partition of the split
+   */
+  public Map<String, String> partition() {
+    return partition;
+  }
+
+  @Override
+  protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
+    final ExasolSplitCriteria criteria = new ExasolSplitCriteria(
+        null,
+        null,
+        splitColumn,
+        split
+    );
+    readHashes = hashRanges(connection, criteria);
+    final List<Long> changed = new ArrayList<>();
+    for (Map.Entry<Long, String> range : readHashes.entrySet()) {
+      if (!range.getValue().equals(hashes.get(range.getKey()))) {
+        changed.add(range.getKey());
+      }
+    }
+    log.debug("{} ranges of {} changed", changed.size(), this);
+    if (changed.isEmpty()) {
+      return null;
+    }
+    final ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT * FROM ");
+    builder.append(tableId);
+    if (hashes.isEmpty()) {
+      criteria.whereClause(builder);
+    } else {
+      criteria.bucketWhereClause(builder, ranges, changed);
+    }
+    final String sql = builder.toString();
+    log.debug("{} prepared SQL query: {}", this, sql);
+    return dialect.createPreparedStatement(connection, sql);
+  }
+
+  @Override
+  protected ResultSet executeQuery() throws SQLException {
+    return statement.executeQuery();
+  }
+
+  /**
+   * Move to the next row. After the last row the hashes of the read ranges become the hashes
+   * the next poll compares with.
+   */
+  @Override
+  public boolean next() throws SQLException {
+    if (super.next()) {
+      return true;
+    }
+    if (readHashes != null) {
+      hashes = readHashes;
+      readHashes = null;
+    }
+    return false;
+  }
+
+  @Override
+  public SourceRecord extractRecord() throws SQLException {
+    final Struct record = extractStruct();
+    return new SourceRecord(partition, null, topic, record.schema(), record);
+  }
+
+  @Override
+  public void reset(long now) {
+    super.reset(now);
+    readHashes = null;
+  }
+
+  private Map<Long, String> hashRanges(Connection connection, ExasolSplitCriteria criteria)
+      throws SQLException {
+    final TreeSet<String> columns = new TreeSet<>();
+    for (ColumnDefinition column : dialect.describeColumns(
+        connection,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    ).values()) {
+      columns.add(column.id().name());
+    }
+    final ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT ");
+    builder.appendIdentifierQuoted(BUCKET);
+    builder.append(", COUNT(*), SUM(");
+    for (int digit = 0; digit < HASH_DIGITS; digit++) {
+      if (digit > 0) {
+        builder.append(" + ");
+      }
+      builder.append("(INSTR('" + HEX_DIGITS + "', SUBSTR(");
+      builder.appendIdentifierQuoted(ROW_HASH);
+      builder.append(", " + (digit + 1) + ", 1)) - 1) * ");
+      builder.append(1L << 4 * (HASH_DIGITS - 1 - digit));
+    }
+    builder.append(") FROM (SELECT ");
+    criteria.bucketExpression(builder, ranges);
+    builder.append(" AS ");
+    builder.appendIdentifierQuoted(BUCKET);
+    builder.append(", HASH_MD5(");
+    String delimiter = "";
+    for (String column : columns) {
+      // each column is hashed by itself, so values cannot shift between columns unnoticed
+      builder.append(delimiter);
+      builder.append("CASE WHEN ");
+      builder.appendIdentifierQuoted(column);
+      builder.append(" IS NULL THEN 'N' ELSE HASH_MD5(");
+      builder.appendIdentifierQuoted(column);
+      builder.append(") END");
+      delimiter = " || ";
+    }
+    builder.append(") AS ");
+    builder.appendIdentifierQuoted(ROW_HASH);
+    builder.append(" FROM ");
+    builder.append(tableId);
+    criteria.whereClause(builder);
+    builder.append(") GROUP BY ");
+    builder.appendIdentifierQuoted(BUCKET);
+    final String sql = builder.toString();
+    log.trace("{} hashing ranges with: {}", this, sql);
+    final Map<Long, String> rangeHashes = new HashMap<>();
+    try (PreparedStatement stmt = dialect.createPreparedStatement(connection, sql);
+         ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        rangeHashes.put(rs.getLong(1), rs.getLong(2) + ":" + rs.getBigDecimal(3));
+      }
+    }
+    return rangeHashes;
+  }
+
+  @Override
+  public String toString() {
+    return "ExasolHashDiffQuerier{split=" + split + "}";
+  }
+}
@@ -0,0 +1,252 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Reads one split of a table in {@code bulk} mode one page at a time, with
+ * {@code WHERE key > ? ORDER BY key LIMIT n}. The first page of a pass has no lower bound, and a
+ * page with less than {@code n} rows ends the pass. The next page of a pass is due right away,
+ * the next pass after {@code poll.interval.ms}.
+ *
+ * <p>The number of rows of a page is {@code source.page.bytes} divided by the average size of
+ * the rows of the last page, starting with {@code batch.max.rows}. The size of a row is estimated
+ * from its values: the length of strings and binary values, 8 bytes for any other value. Each
+ * record has the key of its row as offset, so a restarted task resumes the pass after it.
+ */
+public class ExasolPagedQuerier extends ExasolTableQuerier {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolPagedQuerier.class);
+
+  static final String KEY_FIELD = "key";
+
+  private static final int OTHER_VALUE_SIZE = 8;
+
+  private final ExasolTableSplit split;
+  private final long pageBytes;
+  private final long pollInterval;
+  private final ColumnId splitColumn;
+  private final Map<String, String> partition;
+  private String keyColumnName;
+  private ColumnId keyColumn;
+  private Object lastKey;
+  private int pageRows;
+  private int rowsRead;
+  private long bytesRead;
+  private boolean morePages;
+
+  /**
+   * Create the querier of a split.
+   *
+   * @param config    the connector configuration; may not be null
+   * @param dialect   the dialect; may not be null
+   * @param split     the split; may not be null
+   * @param offsetMap the last offset of the split; may be null
+   */
+  public ExasolPagedQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      ExasolTableSplit split,
+      Map<String, Object> offsetMap
+  ) {
+    this(config, dialect, dialect.parseTableIdentifier(split.table()), split, offsetMap);
+  }
+
+  private ExasolPagedQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      TableId tableId,
+      ExasolTableSplit split,
+      Map<String, Object> offsetMap
+  ) {
+    super(
+        dialect,
+        tableId,
+        config.getString(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG) + tableId.tableName()
+    );
+    this.split = split;
+    pageBytes = config.sourcePageBytes;
+    pollInterval = config.getInt(JdbcSourceConnectorConfig.POLL_INTERVAL_MS_CONFIG);
+    splitColumn = config.sourceSplitColumn.isEmpty()
+                  ? null
+                  : new ColumnId(tableId, config.sourceSplitColumn);
+    keyColumnName = config.sourcePageColumn;
+    partition = split.sourcePartition(tableId);
+    lastKey = offsetMap == null ? null : offsetMap.get(KEY_FIELD);
+    pageRows = config.getInt(JdbcSourceConnectorConfig.BATCH_MAX_ROWS_CONFIG);
+  }
+
+  /**
+   * @return the source partition of the split
+   */
+  public Map<String, String> partition() {
+    return partition;
+  }
+
+  @Override
+  protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
+    morePages = false;
+    if (keyColumn == null) {
+      if (keyColumnName.isEmpty()) {
+        keyColumnName = primaryKeyColumn(connection);
+      }
+      keyColumn = new ColumnId(tableId, keyColumnName);
+    }
+    rowsRead = 0;
+    bytesRead = 0;
+    final ExasolSplitCriteria criteria = new ExasolSplitCriteria(null, null, splitColumn, split);
+    final ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT * FROM ");
+    builder.append(tableId);
+    criteria.keysetWhereClause(builder, keyColumn, lastKey != null);
+    builder.append(" LIMIT ");
+    builder.append(pageRows);
+    final String sql = builder.toString();
+    log.debug("{} prepared SQL query: {}", this, sql);
+    return dialect.createPreparedStatement(connection, sql);
+  }
+
+  @Override
+  protected ResultSet executeQuery() throws SQLException {
+    if (lastKey != null) {
+      statement.setObject(1, lastKey);
+    }
+    return statement.executeQuery();
+  }
+
+  /**
+   * Move to the next row of the page. After the last row the size of the next page is computed,
+   * and a page that is not full ends the pass.
+   */
+  @Override
+  public boolean next() throws SQLException {
+    if (super.next()) {
+      return true;
+    }
+    morePages = rowsRead >= pageRows;
+    if (!morePages) {
+      log.debug("{} read the last page of the table", this);
+      lastKey = null;
+    }
+    if (rowsRead > 0) {
+      final long rowBytes = Math.max(1L, bytesRead / rowsRead);
+      pageRows = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, pageBytes / rowBytes));
+      log.trace("{} reads pages of {} rows of about {} bytes", this, pageRows, rowBytes);
+    }
+    return false;
+  }
+
+  @Override
+  public SourceRecord extractRecord() throws SQLException {
+    final Struct record = extractStruct();
+    rowsRead++;
+    bytesRead += estimatedSize(record);
+    final Field keyField = record.schema().field(keyColumn.name());
+    lastKey = offsetKey(keyField == null ? null : record.get(keyField));
+    return new SourceRecord(
+        partition,
+        Collections.singletonMap(KEY_FIELD, lastKey),
+        topic,
+        record.schema(),
+        record
+    );
+  }
+
+  /**
+   * Close the page. A querier with more pages to read is due again right away, but after the
+   * queriers that were due before.
+   */
+  @Override
+  public void reset(long now) {
+    super.reset(morePages ? now - pollInterval : now);
+  }
+
+  private String primaryKeyColumn(Connection connection) throws SQLException {
+    final List<String> keyColumns = new ArrayList<>();
+    for (ColumnDefinition column : dialect.describeColumns(
+        connection,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    ).values()) {
+      if (column.isPrimaryKey()) {
+        keyColumns.add(column.id().name());
+      }
+    }
+    if (keyColumns.size() != 1) {
+      throw new ConnectException(String.format(
+          "Cannot read %s in pages by its primary key columns %s, set %s to a unique column",
+          tableId,
+          keyColumns,
+          ExasolSourceConfig.SOURCE_PAGE_COLUMN
+      ));
+    }
+    return keyColumns.get(0);
+  }
+
+  private Object offsetKey(Object key) {
+    if (key instanceof String || key instanceof Long) {
+      return key;
+    }
+    if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+      return ((Number) key).longValue();
+    }
+    if (key instanceof BigDecimal) {
+      final BigDecimal decimal = (BigDecimal) key;
+      return decimal.scale() <= 0 && decimal.precision() - decimal.scale() <= 18
+             ? (Object) decimal.longValueExact()
+             : decimal.toPlainString();
+    }
+    throw new ConnectException(String.format(
+        "Cannot read %s in pages by %s, which is not an integer or string",
+        tableId,
+        keyColumn
+    ));
+  }
+
+  private static long estimatedSize(Struct record) {
+    long size = 0;
+    for (Field field : record.schema().fields()) {
+      final Object value = record.get(field);
+      if (value instanceof String) {
+        size += ((String) value).length();
+      } else if (value instanceof byte[]) {
+        size += ((byte[]) value).length;
+      } else if (value instanceof ByteBuffer) {
+        size += ((ByteBuffer) value).remaining();
+      } else if (value != null) {
+        size += OTHER_VALUE_SIZE;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "ExasolPagedQuerier{split=" + split + "}";
+  }
+}
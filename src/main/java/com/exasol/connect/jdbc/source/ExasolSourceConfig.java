@@ -0,0 +1,275 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+
+/**
+ * Configuration of the {@link ExasolSourceConnector}. It accepts all the settings of the JDBC
+ * source connector and adds the Exasol specific read options on top of them.
+ */
+public class ExasolSourceConfig extends AbstractConfig {
+
+  public static final String SOURCE_SPLITS = "source.splits";
+  private static final int SOURCE_SPLITS_DEFAULT = 1;
+  private static final String SOURCE_SPLITS_DOC =
+      "The number of splits each table is read in. The splits of all tables are spread over "
+      + "the tasks, so one large table is read by several tasks at once. Each split is queried "
+      + "with its own cursor and keeps its own offsets. ``1`` reads each table with one query.";
+  private static final String SOURCE_SPLITS_DISPLAY = "Splits per Table";
+
+  public static final String SOURCE_SPLIT_COLUMN = "source.split.column";
+  private static final String SOURCE_SPLIT_COLUMN_DEFAULT = "";
+  private static final String SOURCE_SPLIT_COLUMN_DOC =
+      "The integer column that splits a table, a row belongs to the split "
+      + "``MOD(ABS(column), splits)``. An incrementing key spreads rows evenly. Empty splits "
+      + "tables by their ``ROWID`` in ``bulk`` mode. ROWIDs change when Exasol reorganizes a "
+      + "table, so a row could move between splits that keep their own offsets. The incremental "
+      + "modes therefore require a split column when ``source.splits`` is above one.";
+  private static final String SOURCE_SPLIT_COLUMN_DISPLAY = "Split Column";
+
+  public static final String TIMESTAMP_CLOCK_REFRESH_MS = "timestamp.clock.refresh.ms";
+  private static final long TIMESTAMP_CLOCK_REFRESH_MS_DEFAULT = 60000L;
+  private static final String TIMESTAMP_CLOCK_REFRESH_MS_DOC =
+      "How often the offset between the clock of Exasol and the clock of the worker is measured, "
+      + "in milliseconds. In between, the upper bound of the timestamps of a query in "
+      + "``timestamp`` and ``timestamp+incrementing`` mode is computed from the worker clock "
+      + "instead of querying Exasol for each table on each poll. ``0`` queries Exasol every time.";
+  private static final String TIMESTAMP_CLOCK_REFRESH_MS_DISPLAY = "Clock Offset Refresh (ms)";
+
+  public static final String SOURCE_SNAPSHOT = "source.snapshot";
+  private static final boolean SOURCE_SNAPSHOT_DEFAULT = false;
+  private static final String SOURCE_SNAPSHOT_DOC =
+      "Whether a table without offsets is copied as a snapshot before it is read incrementally. "
+      + "The snapshot takes a high-water mark of the timestamp or incrementing column and reads "
+      + "the rows up to it without ordering them, in parallel over the ``source.splits``. Then "
+      + "the table is read incrementally from the mark. Requires an incremental ``mode``.";
+  private static final String SOURCE_SNAPSHOT_DISPLAY = "Snapshot before Streaming";
+
+  public static final String SOURCE_HASH_RANGES = "source.hash.ranges";
+  private static final int SOURCE_HASH_RANGES_DEFAULT = 0;
+  private static final String SOURCE_HASH_RANGES_DOC =
+      "The number of key ranges each split of a table is divided into to detect changes in "
+      + "``bulk`` mode. Each poll computes a hash of the rows of every range in Exasol and reads "
+      + "only the ranges whose hash changed since the last poll. Rows are assigned to ranges by "
+      + "``source.split.column``, or by ``ROWID``. ``0`` reads the whole table on each poll.";
+  private static final String SOURCE_HASH_RANGES_DISPLAY = "Hash Ranges";
+
+  public static final String SOURCE_PAGE_BYTES = "source.page.bytes";
+  private static final long SOURCE_PAGE_BYTES_DEFAULT = 0L;
+  private static final String SOURCE_PAGE_BYTES_DOC =
+      "The approximate size in bytes of the pages a table is read in, in ``bulk`` mode. Each "
+      + "query reads the next page of a split ordered by its key, and the number of rows of a "
+      + "page follows the average size of the rows read so far. The pages of a table are read "
+      + "one after another and each record keeps the last key as offset, so a restarted task "
+      + "resumes after it. ``0`` reads each table with one query.";
+  private static final String SOURCE_PAGE_BYTES_DISPLAY = "Page Size (bytes)";
+
+  public static final String SOURCE_PAGE_COLUMN = "source.page.column";
+  private static final String SOURCE_PAGE_COLUMN_DEFAULT = "";
+  private static final String SOURCE_PAGE_COLUMN_DOC =
+      "The unique integer or string column pages are ordered by. Empty orders pages by the "
+      + "primary key of a table, which must have a single column.";
+  private static final String SOURCE_PAGE_COLUMN_DISPLAY = "Page Key Column";
+
+  public static final String METADATA_REFRESH_MS = "metadata.refresh.ms";
+  private static final long METADATA_REFRESH_MS_DEFAULT = 60000L;
+  private static final String METADATA_REFRESH_MS_DOC =
+      "How long the column metadata of the tables of a schema is cached, in milliseconds. After "
+      + "that it is read again, so columns added to a table are read and hashed. ``0`` reads the "
+      + "metadata every time a table is described.";
+  private static final String METADATA_REFRESH_MS_DISPLAY = "Metadata Refresh (ms)";
+
+  /**
+   * The splits read by a task, set by the connector for each task.
+   */
+  public static final String TASK_SPLITS = "exasol.task.splits";
+
+  private static final String EXASOL_READS_GROUP = "Exasol Reads";
+
+  public static final ConfigDef CONFIG_DEF = new ConfigDef(JdbcSourceConnectorConfig.CONFIG_DEF)
+      .define(
+          SOURCE_SPLITS,
+          ConfigDef.Type.INT,
+          SOURCE_SPLITS_DEFAULT,
+          ConfigDef.Range.atLeast(1),
+          ConfigDef.Importance.MEDIUM,
+          SOURCE_SPLITS_DOC,
+          EXASOL_READS_GROUP,
+          1,
+          ConfigDef.Width.SHORT,
+          SOURCE_SPLITS_DISPLAY
+      )
+      .define(
+          SOURCE_SPLIT_COLUMN,
+          ConfigDef.Type.STRING,
+          SOURCE_SPLIT_COLUMN_DEFAULT,
+          ConfigDef.Importance.LOW,
+          SOURCE_SPLIT_COLUMN_DOC,
+          EXASOL_READS_GROUP,
+          2,
+          ConfigDef.Width.MEDIUM,
+          SOURCE_SPLIT_COLUMN_DISPLAY
+      )
+      .define(
+          TIMESTAMP_CLOCK_REFRESH_MS,
+          ConfigDef.Type.LONG,
+          TIMESTAMP_CLOCK_REFRESH_MS_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          TIMESTAMP_CLOCK_REFRESH_MS_DOC,
+          EXASOL_READS_GROUP,
+          3,
+          ConfigDef.Width.SHORT,
+          TIMESTAMP_CLOCK_REFRESH_MS_DISPLAY
+      )
+      .define(
+          SOURCE_SNAPSHOT,
+          ConfigDef.Type.BOOLEAN,
+          SOURCE_SNAPSHOT_DEFAULT,
+          ConfigDef.Importance.MEDIUM,
+          SOURCE_SNAPSHOT_DOC,
+          EXASOL_READS_GROUP,
+          4,
+          ConfigDef.Width.SHORT,
+          SOURCE_SNAPSHOT_DISPLAY
+      )
+      .define(
+          SOURCE_HASH_RANGES,
+          ConfigDef.Type.INT,
+          SOURCE_HASH_RANGES_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.MEDIUM,
+          SOURCE_HASH_RANGES_DOC,
+          EXASOL_READS_GROUP,
+          5,
+          ConfigDef.Width.SHORT,
+          SOURCE_HASH_RANGES_DISPLAY
+      )
+      .define(
+          SOURCE_PAGE_BYTES,
+          ConfigDef.Type.LONG,
+          SOURCE_PAGE_BYTES_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.MEDIUM,
+          SOURCE_PAGE_BYTES_DOC,
+          EXASOL_READS_GROUP,
+          6,
+          ConfigDef.Width.SHORT,
+          SOURCE_PAGE_BYTES_DISPLAY
+      )
+      .define(
+          SOURCE_PAGE_COLUMN,
+          ConfigDef.Type.STRING,
+          SOURCE_PAGE_COLUMN_DEFAULT,
+          ConfigDef.Importance.LOW,
+          SOURCE_PAGE_COLUMN_DOC,
+          EXASOL_READS_GROUP,
+          7,
+          ConfigDef.Width.MEDIUM,
+          SOURCE_PAGE_COLUMN_DISPLAY
+      )
+      .define(
+          METADATA_REFRESH_MS,
+          ConfigDef.Type.LONG,
+          METADATA_REFRESH_MS_DEFAULT,
+          ConfigDef.Range.atLeast(0),
+          ConfigDef.Importance.LOW,
+          METADATA_REFRESH_MS_DOC,
+          EXASOL_READS_GROUP,
+          8,
+          ConfigDef.Width.SHORT,
+          METADATA_REFRESH_MS_DISPLAY
+      );
+
+  public final JdbcSourceConnectorConfig jdbcConfig;
+  public final String mode;
+  public final int sourceSplits;
+  public final String sourceSplitColumn;
+  public final long timestampClockRefreshMs;
+  public final boolean sourceSnapshot;
+  public final int sourceHashRanges;
+  public final long sourcePageBytes;
+  public final String sourcePageColumn;
+  public final long metadataRefreshMs;
+  public final List<String> taskSplits;
+
+  public ExasolSourceConfig(Map<String, ?> props) {
+    super(CONFIG_DEF, props);
+    jdbcConfig = new JdbcSourceConnectorConfig(props);
+    mode = getString(JdbcSourceConnectorConfig.MODE_CONFIG);
+    sourceSplits = getInt(SOURCE_SPLITS);
+    sourceSplitColumn = getString(SOURCE_SPLIT_COLUMN).trim();
+    timestampClockRefreshMs = getLong(TIMESTAMP_CLOCK_REFRESH_MS);
+    sourceSnapshot = getBoolean(SOURCE_SNAPSHOT);
+    sourceHashRanges = getInt(SOURCE_HASH_RANGES);
+    sourcePageBytes = getLong(SOURCE_PAGE_BYTES);
+    sourcePageColumn = getString(SOURCE_PAGE_COLUMN).trim();
+    metadataRefreshMs = getLong(METADATA_REFRESH_MS);
+    final Object splits = originals().get(TASK_SPLITS);
+    taskSplits = splits == null || splits.toString().isEmpty()
+                 ? Collections.<String>emptyList()
+                 : Arrays.asList(splits.toString().split(";"));
+    if (sourceSplits > 1 && !getString(JdbcSourceConnectorConfig.QUERY_CONFIG).isEmpty()) {
+      throw new ConfigException(
+          SOURCE_SPLITS,
+          sourceSplits,
+          "A query cannot be split, only tables"
+      );
+    }
+    if (sourceSplits > 1 && sourceSplitColumn.isEmpty()
+        && !JdbcSourceConnectorConfig.MODE_BULK.equals(mode)) {
+      throw new ConfigException(
+          SOURCE_SPLIT_COLUMN,
+          sourceSplitColumn,
+          "Incremental modes split tables by a column only, ROWIDs are not stable"
+      );
+    }
+    if (sourceSnapshot && !getString(JdbcSourceConnectorConfig.QUERY_CONFIG).isEmpty()) {
+      throw new ConfigException(SOURCE_SNAPSHOT, true, "Only tables can be snapshot, no query");
+    }
+    if (sourceSnapshot && JdbcSourceConnectorConfig.MODE_BULK.equals(mode)) {
+      throw new ConfigException(SOURCE_SNAPSHOT, true, "A snapshot requires an incremental mode");
+    }
+    if (sourceHashRanges > 0 && !getString(JdbcSourceConnectorConfig.QUERY_CONFIG).isEmpty()) {
+      throw new ConfigException(
+          SOURCE_HASH_RANGES,
+          sourceHashRanges,
+          "Only the ranges of tables can be hashed, not of a query"
+      );
+    }
+    if (sourceHashRanges > 0 && !JdbcSourceConnectorConfig.MODE_BULK.equals(mode)) {
+      throw new ConfigException(
+          SOURCE_HASH_RANGES,
+          sourceHashRanges,
+          "Hash ranges detect changes in bulk mode only"
+      );
+    }
+    if (sourcePageBytes > 0 && !getString(JdbcSourceConnectorConfig.QUERY_CONFIG).isEmpty()) {
+      throw new ConfigException(
+          SOURCE_PAGE_BYTES,
+          sourcePageBytes,
+          "Only tables can be read in pages, no query"
+      );
+    }
+    if (sourcePageBytes > 0
+        && (!JdbcSourceConnectorConfig.MODE_BULK.equals(mode) || sourceHashRanges > 0)) {
+      throw new ConfigException(
+          SOURCE_PAGE_BYTES,
+          sourcePageBytes,
+          "Pages are read in bulk mode only, without hash ranges"
+      );
+    }
+  }
+
+  public static void main(String... args) {
+    System.out.println(CONFIG_DEF.toEnrichedRst());
+  }
+}
@@ -0,0 +1,179 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.utils.SystemTime;
+import org.apache.kafka.common.utils.Time;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.source.JdbcSourceTask;
+import io.confluent.connect.jdbc.util.CachedConnectionProvider;
+import io.confluent.connect.jdbc.util.Version;
+
+/**
+ * A source task reading from Exasol. A task that is assigned splits of tables reads them with
+ * an {@link ExasolSplitQuerier} each, an {@link ExasolHashDiffQuerier} with hash ranges or an
+ * {@link ExasolPagedQuerier} with pages, otherwise it reads its tables like the JDBC source task.
+ */
+public class ExasolSourceTask extends SourceTask {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSourceTask.class);
+
+  private final Time time;
+  ExasolSourceConfig config;
+  JdbcSourceTask jdbcTask;
+  ExasolDatabaseDialect dialect;
+  CachedConnectionProvider connectionProvider;
+  final PriorityQueue<ExasolTableQuerier> queriers = new PriorityQueue<>();
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  public ExasolSourceTask() {
+    this(new SystemTime());
+  }
+
+  public ExasolSourceTask(Time time) {
+    this.time = time;
+  }
+
+  @Override
+  public String version() {
+    return Version.getVersion();
+  }
+
+  @Override
+  public void start(Map<String, String> props) {
+    try {
+      config = new ExasolSourceConfig(props);
+    } catch (ConfigException e) {
+      throw new ConnectException("Couldn't start ExasolSourceTask due to configuration error", e);
+    }
+    if (config.taskSplits.isEmpty()) {
+      jdbcTask = new JdbcSourceTask(time);
+      jdbcTask.initialize(context);
+      jdbcTask.start(props);
+      return;
+    }
+    dialect = new ExasolDatabaseDialect(config);
+    connectionProvider = new CachedConnectionProvider(
+        dialect,
+        config.getInt(JdbcSourceConnectorConfig.CONNECTION_ATTEMPTS_CONFIG),
+        config.getLong(JdbcSourceConnectorConfig.CONNECTION_BACKOFF_CONFIG)
+    );
+    final List<ExasolTableSplit> splits = new ArrayList<>();
+    final List<Map<String, String>> partitions = new ArrayList<>();
+    for (String encoded : config.taskSplits) {
+      final ExasolTableSplit split = ExasolTableSplit.parse(encoded, config.sourceSplits);
+      splits.add(split);
+      partitions.add(split.sourcePartition(dialect.parseTableIdentifier(split.table())));
+    }
+    final Map<Map<String, String>, Map<String, Object>> offsets =
+        JdbcSourceConnectorConfig.MODE_BULK.equals(config.mode) && config.sourcePageBytes == 0
+        ? Collections.<Map<String, String>, Map<String, Object>>emptyMap()
+        : context.offsetStorageReader().offsets(partitions);
+    for (int i = 0; i < splits.size(); i++) {
+      final Map<String, Object> offset = offsets.get(partitions.get(i));
+      log.debug("Found offset {} for {}", offset, splits.get(i));
+      if (config.sourceHashRanges > 0) {
+        queriers.add(new ExasolHashDiffQuerier(config, dialect, splits.get(i)));
+      } else if (config.sourcePageBytes > 0) {
+        queriers.add(new ExasolPagedQuerier(config, dialect, splits.get(i), offset));
+      } else {
+        queriers.add(new ExasolSplitQuerier(config, dialect, splits.get(i), offset));
+      }
+    }
+    running.set(true);
+  }
+
+  @Override
+  public List<SourceRecord> poll() throws InterruptedException {
+    if (jdbcTask != null) {
+      return jdbcTask.poll();
+    }
+    final int pollInterval = config.getInt(JdbcSourceConnectorConfig.POLL_INTERVAL_MS_CONFIG);
+    final int batchMaxRows = config.getInt(JdbcSourceConnectorConfig.BATCH_MAX_ROWS_CONFIG);
+    while (running.get()) {
+      final ExasolTableQuerier querier = queriers.peek();
+      if (!querier.querying()) {
+        final long untilNext = querier.lastUpdate() + pollInterval - time.milliseconds();
+        if (untilNext > 0) {
+          log.trace("Waiting {} ms to poll {} next", untilNext, querier);
+          time.sleep(untilNext);
+          continue;
+        }
+      }
+      final List<SourceRecord> results = new ArrayList<>();
+      try {
+        log.debug("Checking for next block of results from {}", querier);
+        querier.maybeStartQuery(connectionProvider.getConnection());
+        boolean hadNext = true;
+        while (results.size() < batchMaxRows && (hadNext = querier.next())) {
+          results.add(querier.extractRecord());
+        }
+        if (!hadNext) {
+          resetAndRequeueHead(querier);
+        }
+        if (results.isEmpty()) {
+          log.trace("No updates for {}", querier);
+          continue;
+        }
+        log.debug("Returning {} records for {}", results.size(), querier);
+        return results;
+      } catch (SQLException e) {
+        log.error("Failed to run query for {}", querier, e);
+        resetAndRequeueHead(querier);
+        return null;
+      } catch (RuntimeException e) {
+        resetAndRequeueHead(querier);
+        throw e;
+      }
+    }
+    final ExasolTableQuerier querier = queriers.peek();
+    if (querier != null) {
+      resetAndRequeueHead(querier);
+    }
+    return null;
+  }
+
+  private void resetAndRequeueHead(ExasolTableQuerier expectedHead) {
+    log.debug("Resetting querier {}", expectedHead);
+    final ExasolTableQuerier removed = queriers.poll();
+    assert removed == expectedHead;
+    expectedHead.reset(time.milliseconds());
+    queriers.add(expectedHead);
+  }
+
+  @Override
+  public void stop() {
+    if (jdbcTask != null) {
+      jdbcTask.stop();
+      return;
+    }
+    running.set(false);
+    if (connectionProvider != null) {
+      connectionProvider.close();
+      connectionProvider = null;
+    }
+    if (dialect != null) {
+      try {
+        dialect.close();
+      } catch (Throwable t) {
+        log.warn("Error while closing the {} dialect: ", dialect, t);
+      }
+      dialect = null;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package com.exasol.connect.jdbc.source;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+import io.confluent.connect.jdbc.source.TimestampIncrementingCriteria;
+import io.confluent.connect.jdbc.source.TimestampIncrementingOffset;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+
+/**
+ * The criteria of a {@link TimestampIncrementingCriteria} restricted to the rows of one split
+ * of a table. Without timestamp and incrementing columns the criteria select the whole split.
+ * A single split is the whole table and adds no predicate.
+ *
+ * <p>The snapshot criteria select the rows of the split up to a high-water mark, unordered, and
+ * the incremental criteria started from the mark select the rows after it.
+ */
+public class ExasolSplitCriteria extends TimestampIncrementingCriteria {
+
+  private static final String ROWID = "ROWID";
+
+  private final ColumnId splitColumn;
+  private final ExasolTableSplit split;
+
+  /**
+   * Create the criteria of a split.
+   *
+   * @param incrementingColumn the incrementing column; may be null
+   * @param timestampColumns   the timestamp columns; may be null
+   * @param splitColumn        the column whose values split the table, or null to split by
+   *                           {@code ROWID}
+   * @param split              the split; may not be null
+   */
+  public ExasolSplitCriteria(
+      ColumnId incrementingColumn,
+      List<ColumnId> timestampColumns,
+      ColumnId splitColumn,
+      ExasolTableSplit split
+  ) {
+    super(incrementingColumn, timestampColumns);
+    this.splitColumn = splitColumn;
+    this.split = split;
+  }
+
+  @Override
+  public void whereClause(ExpressionBuilder builder) {
+    if (hasTimestampColumns() || hasIncrementedColumn()) {
+      super.whereClause(builder);
+    } else if (split.count() > 1) {
+      builder.append(" WHERE ");
+      splitClause(builder);
+    }
+  }
+
+  /**
+   * Append the predicate of the rows of the split up to the high-water mark set by
+   * {@link #setSnapshotParameters}. The timestamp of the mark is exclusive in
+   * {@code timestamp+incrementing} mode, because the incremental criteria started from a mark
+   * without an incrementing value read all rows of its timestamp.
+   *
+   * @param builder the builder of the query; may not be null
+   */
+  public void snapshotWhereClause(ExpressionBuilder builder) {
+    whereSplitAnd(builder);
+    if (hasTimestampColumns()) {
+      coalesceTimestampColumns(builder);
+      builder.append(hasIncrementedColumn() ? " < ?" : " <= ?");
+    } else {
+      builder.append(incrementingColumn);
+      builder.append(" <= ?");
+    }
+  }
+
+  /**
+   * Set the high-water mark of the snapshot criteria.
+   *
+   * @param stmt the statement of the snapshot query; may not be null
+   * @param mark the high-water mark; may not be null
+   * @throws SQLException if the parameter cannot be set
+   */
+  public void setSnapshotParameters(PreparedStatement stmt, TimestampIncrementingOffset mark)
+      throws SQLException {
+    if (hasTimestampColumns()) {
+      final Timestamp timestamp = mark.getTimestampOffset();
+      stmt.setTimestamp(1, timestamp, DateTimeUtils.UTC_CALENDAR.get());
+      log.debug("Executing snapshot query up to timestamp {}", timestamp);
+    } else {
+      final long incrementing = mark.getIncrementingOffset();
+      stmt.setLong(1, incrementing);
+      log.debug("Executing snapshot query up to incrementing value {}", incrementing);
+    }
+  }
+
+  @Override
+  protected void timestampIncrementingWhereClause(ExpressionBuilder builder) {
+    whereSplitAnd(builder);
+    coalesceTimestampColumns(builder);
+    builder.append(" < ? AND ((");
+    coalesceTimestampColumns(builder);
+    builder.append(" = ? AND ");
+    builder.append(incrementingColumn);
+    builder.append(" > ?");
+    builder.append(") OR ");
+    coalesceTimestampColumns(builder);
+    builder.append(" > ?)");
+    builder.append(" ORDER BY ");
+    coalesceTimestampColumns(builder);
+    builder.append(",");
+    builder.append(incrementingColumn);
+    builder.append(" ASC");
+  }
+
+  @Override
+  protected void incrementingWhereClause(ExpressionBuilder builder) {
+    whereSplitAnd(builder);
+    builder.append(incrementingColumn);
+    builder.append(" > ?");
+    builder.append(" ORDER BY ");
+    builder.append(incrementingColumn);
+    builder.append(" ASC");
+  }
+
+  @Override
+  protected void timestampWhereClause(ExpressionBuilder builder) {
+    whereSplitAnd(builder);
+    coalesceTimestampColumns(builder);
+    builder.append(" > ? AND ");
+    coalesceTimestampColumns(builder);
+    builder.append(" < ? ORDER BY ");
+    coalesceTimestampColumns(builder);
+    builder.append(" ASC");
+  }
+
+  private void whereSplitAnd(ExpressionBuilder builder) {
+    builder.append(" WHERE ");
+    if (split.count() > 1) {
+      splitClause(builder);
+      builder.append(" AND ");
+    }
+  }
+
+  /**
+   * Append the predicate of the rows of the split, which has no parameters.
+   *
+   * @param builder the builder of the query; may not be null
+   */
+  protected void splitClause(ExpressionBuilder builder) {
+    modulo(builder, split.count());
+    builder.append(" = ");
+    builder.append(split.index());
+  }
+
+  /**
+   * Append the expression of the bucket of a row, when each split is divided into the given
+   * number of buckets. The buckets of a split are the residues of a modulus of
+   * {@code splits * buckets} that are congruent to the index of the split.
+   *
+   * @param builder the builder of the query; may not be null
+   * @param buckets the number of buckets of each split
+   */
+  public void bucketExpression(ExpressionBuilder builder, int buckets) {
+    modulo(builder, split.count() * buckets);
+  }
+
+  /**
+   * Append the predicate of the rows of the split in the given buckets.
+   *
+   * @param builder   the builder of the query; may not be null
+   * @param buckets   the number of buckets of each split
+   * @param bucketIds the buckets to select, as values of {@link #bucketExpression}; may not be
+   *                  null or empty
+   */
+  public void bucketWhereClause(
+      ExpressionBuilder builder,
+      int buckets,
+      Collection<Long> bucketIds
+  ) {
+    whereSplitAnd(builder);
+    bucketExpression(builder, buckets);
+    builder.append(" IN (");
+    String delimiter = "";
+    for (Long bucketId : bucketIds) {
+      builder.append(delimiter);
+      builder.append(bucketId);
+      delimiter = ", ";
+    }
+    builder.append(")");
+  }
+
+  /**
+   * Append the predicate of the rows of the split after the key of the last page, which is the
+   * only parameter, ordered by the key.
+   *
+   * @param builder   the builder of the query; may not be null
+   * @param keyColumn the column the pages are ordered by; may not be null
+   * @param afterKey  whether to restrict the rows to those after the key of the last page
+   */
+  public void keysetWhereClause(ExpressionBuilder builder, ColumnId keyColumn, boolean afterKey) {
+    if (afterKey) {
+      whereSplitAnd(builder);
+      builder.append(keyColumn);
+      builder.append(" > ?");
+    } else if (split.count() > 1) {
+      builder.append(" WHERE ");
+      splitClause(builder);
+    }
+    builder.append(" ORDER BY ");
+    builder.append(keyColumn);
+    builder.append(" ASC");
+  }
+
+  private void modulo(ExpressionBuilder builder, int modulus) {
+    if (splitColumn == null) {
+      // ROWIDs may change after DML, only bulk mode reads without a split column
+      builder.append("MOD(");
+      builder.append(ROWID);
+    } else {
+      // MOD keeps the sign of negative keys
+      builder.append("MOD(ABS(");
+      builder.append(splitColumn);
+      builder.append(")");
+    }
+    builder.append(", ");
+    builder.append(modulus);
+    builder.append(")");
+  }
+}
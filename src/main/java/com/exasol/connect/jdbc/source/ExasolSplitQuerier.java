@@ -0,0 +1,317 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.source.JdbcSourceConnectorConfig;
+import io.confluent.connect.jdbc.source.TimestampIncrementingCriteria;
+import io.confluent.connect.jdbc.source.TimestampIncrementingOffset;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+import io.confluent.connect.jdbc.util.ExpressionBuilder;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Reads one split of a table in the mode of the connector. In {@code bulk} mode every poll reads
+ * the whole split. In the incremental modes the split is read like a table by the JDBC source
+ * connector, with offsets of its own kept under the source partition of the split.
+ *
+ * <p>With {@code source.snapshot} a split without offsets is first copied as a snapshot. The
+ * querier takes a high-water mark, the current time of Exasol less the timestamp delay or the
+ * largest incrementing value, and reads the rows of the split up to the mark in one unordered
+ * query. The offsets of the snapshot records hold the phase {@code snapshot} and the mark, so a
+ * restart copies the snapshot again up to the same mark. The last record of the snapshot has the
+ * mark as its incremental offset, and from then on the split is read incrementally.
+ */
+public class ExasolSplitQuerier extends ExasolTableQuerier
+    implements TimestampIncrementingCriteria.CriteriaValues {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolSplitQuerier.class);
+
+  static final String PHASE_KEY = "phase";
+  static final String PHASE_SNAPSHOT = "snapshot";
+
+  private final ExasolTableSplit split;
+  private final boolean incremental;
+  private final List<ColumnId> timestampColumns = new ArrayList<>();
+  private final ColumnId splitColumn;
+  private final long timestampDelay;
+  private final Map<String, String> partition;
+  private String incrementingColumnName;
+  private TimestampIncrementingOffset offset;
+  private ExasolSplitCriteria criteria;
+  private boolean snapshotting;
+  private TimestampIncrementingOffset mark;
+  private Map<String, Object> snapshotOffset;
+  private boolean snapshotQuery;
+  private boolean exhausted;
+  private Struct current;
+  private Struct pending;
+
+  /**
+   * Create the querier of a split.
+   *
+   * @param config    the connector configuration; may not be null
+   * @param dialect   the dialect; may not be null
+   * @param split     the split; may not be null
+   * @param offsetMap the last offset of the split; may be null
+   */
+  public ExasolSplitQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      ExasolTableSplit split,
+      Map<String, Object> offsetMap
+  ) {
+    this(config, dialect, dialect.parseTableIdentifier(split.table()), split, offsetMap);
+  }
+
+  private ExasolSplitQuerier(
+      ExasolSourceConfig config,
+      ExasolDatabaseDialect dialect,
+      TableId tableId,
+      ExasolTableSplit split,
+      Map<String, Object> offsetMap
+  ) {
+    super(
+        dialect,
+        tableId,
+        config.getString(JdbcSourceConnectorConfig.TOPIC_PREFIX_CONFIG) + tableId.tableName()
+    );
+    this.split = split;
+    final String mode = config.mode;
+    incremental = !JdbcSourceConnectorConfig.MODE_BULK.equals(mode);
+    if (mode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP)
+        || mode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING)) {
+      for (String column : config.getList(JdbcSourceConnectorConfig.TIMESTAMP_COLUMN_NAME_CONFIG)) {
+        if (!column.isEmpty()) {
+          timestampColumns.add(new ColumnId(tableId, column));
+        }
+      }
+    }
+    if (mode.equals(JdbcSourceConnectorConfig.MODE_INCREMENTING)
+        || mode.equals(JdbcSourceConnectorConfig.MODE_TIMESTAMP_INCREMENTING)) {
+      incrementingColumnName = config.getString(
+          JdbcSourceConnectorConfig.INCREMENTING_COLUMN_NAME_CONFIG
+      );
+    }
+    splitColumn = config.sourceSplitColumn.isEmpty()
+                  ? null
+                  : new ColumnId(tableId, config.sourceSplitColumn);
+    timestampDelay = config.getLong(JdbcSourceConnectorConfig.TIMESTAMP_DELAY_INTERVAL_MS_CONFIG);
+    partition = split.sourcePartition(tableId);
+    if (offsetMap != null && PHASE_SNAPSHOT.equals(offsetMap.get(PHASE_KEY))) {
+      snapshotting = true;
+      mark = TimestampIncrementingOffset.fromMap(offsetMap);
+    } else {
+      snapshotting = incremental && config.sourceSnapshot
+                     && (offsetMap == null || offsetMap.isEmpty());
+    }
+    offset = TimestampIncrementingOffset.fromMap(snapshotting ? null : offsetMap);
+  }
+
+  /**
+   * @return the source partition of the split
+   */
+  public Map<String, String> partition() {
+    return partition;
+  }
+
+  @Override
+  protected PreparedStatement prepareStatement(Connection connection) throws SQLException {
+    if (incrementingColumnName != null && incrementingColumnName.isEmpty()) {
+      incrementingColumnName = autoIncrementColumn(connection);
+    }
+    final ColumnId incrementingColumn =
+        incrementingColumnName == null || incrementingColumnName.isEmpty()
+        ? null
+        : new ColumnId(tableId, incrementingColumnName);
+    criteria = new ExasolSplitCriteria(incrementingColumn, timestampColumns, splitColumn, split);
+    if (snapshotting && mark == null) {
+      mark = highWaterMark(connection, incrementingColumn);
+      log.info("Snapshot of {} reads up to {}", this, mark.toMap());
+      if (timestampColumns.isEmpty() && mark.toMap().isEmpty()) {
+        // the table is empty, so every row is read incrementally
+        finishSnapshot();
+      }
+    }
+    snapshotQuery = snapshotting;
+    final ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT * FROM ");
+    builder.append(tableId);
+    if (snapshotQuery) {
+      final Map<String, Object> snapshotOffset = new HashMap<>(mark.toMap());
+      snapshotOffset.put(PHASE_KEY, PHASE_SNAPSHOT);
+      this.snapshotOffset = Collections.unmodifiableMap(snapshotOffset);
+      criteria.snapshotWhereClause(builder);
+    } else {
+      criteria.whereClause(builder);
+    }
+    final String sql = builder.toString();
+    log.debug("{} prepared SQL query: {}", this, sql);
+    return dialect.createPreparedStatement(connection, sql);
+  }
+
+  @Override
+  protected ResultSet executeQuery() throws SQLException {
+    if (snapshotQuery) {
+      criteria.setSnapshotParameters(statement, mark);
+    } else {
+      criteria.setQueryParameters(statement, this);
+    }
+    return statement.executeQuery();
+  }
+
+  /**
+   * Move to the next row. The snapshot query reads one row ahead, to give the last row of the
+   * snapshot the offset that starts the incremental queries.
+   */
+  @Override
+  public boolean next() throws SQLException {
+    if (!snapshotQuery) {
+      return super.next();
+    }
+    if (pending == null && !exhausted) {
+      pending = readAhead();
+    }
+    current = pending;
+    if (current == null) {
+      finishSnapshot();
+      return false;
+    }
+    pending = readAhead();
+    return true;
+  }
+
+  @Override
+  public SourceRecord extractRecord() throws SQLException {
+    if (snapshotQuery) {
+      final Map<String, Object> offsetMap;
+      if (pending == null) {
+        finishSnapshot();
+        offsetMap = offset.toMap();
+      } else {
+        offsetMap = snapshotOffset;
+      }
+      return new SourceRecord(partition, offsetMap, topic, current.schema(), current);
+    }
+    final Struct record = extractStruct();
+    if (!incremental) {
+      return new SourceRecord(partition, null, topic, record.schema(), record);
+    }
+    offset = criteria.extractValues(schema(), record, offset);
+    return new SourceRecord(partition, offset.toMap(), topic, record.schema(), record);
+  }
+
+  @Override
+  public void reset(long now) {
+    super.reset(now);
+    snapshotQuery = false;
+    exhausted = false;
+    current = null;
+    pending = null;
+  }
+
+  @Override
+  public Timestamp beginTimetampValue() {
+    return offset.getTimestampOffset();
+  }
+
+  @Override
+  public Timestamp endTimetampValue() throws SQLException {
+    return endTimestampValue(statement.getConnection());
+  }
+
+  private Timestamp endTimestampValue(Connection connection) throws SQLException {
+    final long now = dialect.currentTimeOnDB(
+        connection,
+        DateTimeUtils.UTC_CALENDAR.get()
+    ).getTime();
+    return new Timestamp(now - timestampDelay);
+  }
+
+  @Override
+  public Long lastIncrementedValue() {
+    return offset.getIncrementingOffset();
+  }
+
+  private Struct readAhead() throws SQLException {
+    if (super.next()) {
+      return extractStruct();
+    }
+    exhausted = true;
+    return null;
+  }
+
+  private void finishSnapshot() {
+    if (snapshotting) {
+      log.info("Snapshot of {} is complete, reading incrementally from {}", this, mark.toMap());
+      snapshotting = false;
+      offset = mark;
+    }
+  }
+
+  /**
+   * Take the high-water mark of the snapshot: the end of the timestamps of an incremental query
+   * when reading by timestamp, otherwise the largest value of the incrementing column.
+   */
+  private TimestampIncrementingOffset highWaterMark(
+      Connection connection,
+      ColumnId incrementingColumn
+  ) throws SQLException {
+    if (!timestampColumns.isEmpty()) {
+      return new TimestampIncrementingOffset(endTimestampValue(connection), null);
+    }
+    if (incrementingColumn == null) {
+      return new TimestampIncrementingOffset(null, null);
+    }
+    final ExpressionBuilder builder = dialect.expressionBuilder();
+    builder.append("SELECT MAX(");
+    builder.append(incrementingColumn);
+    builder.append(") FROM ");
+    builder.append(tableId);
+    try (PreparedStatement stmt = dialect.createPreparedStatement(connection, builder.toString());
+         ResultSet rs = stmt.executeQuery()) {
+      if (!rs.next()) {
+        return new TimestampIncrementingOffset(null, null);
+      }
+      final long max = rs.getLong(1);
+      return new TimestampIncrementingOffset(null, rs.wasNull() ? null : max);
+    }
+  }
+
+  private String autoIncrementColumn(Connection connection) throws SQLException {
+    for (ColumnDefinition column : dialect.describeColumns(
+        connection,
+        tableId.catalogName(),
+        tableId.schemaName(),
+        tableId.tableName(),
+        null
+    ).values()) {
+      if (column.isAutoIncrement()) {
+        return column.id().name();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "ExasolSplitQuerier{split=" + split + "}";
+  }
+}
@@ -0,0 +1,198 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.dialect.DatabaseDialect.ColumnConverter;
+import io.confluent.connect.jdbc.source.ColumnMapping;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * Reads the rows of a table as source records, one query at a time. A querier runs its query
+ * when it is polled the first time after a {@link #reset(long)}, and is polled again
+ * {@code poll.interval.ms} after the last reset. Queriers are ordered by their last reset, so
+ * the task polls the one waiting longest first.
+ */
+public abstract class ExasolTableQuerier implements Comparable<ExasolTableQuerier> {
+
+  private static final Logger log = LoggerFactory.getLogger(ExasolTableQuerier.class);
+
+  protected final ExasolDatabaseDialect dialect;
+  protected final TableId tableId;
+  protected final String topic;
+  protected PreparedStatement statement;
+  protected ResultSet resultSet;
+  private Schema schema;
+  private final List<Field> fields = new ArrayList<>();
+  private final List<ColumnConverter> converters = new ArrayList<>();
+  private long lastUpdate;
+
+  protected ExasolTableQuerier(ExasolDatabaseDialect dialect, TableId tableId, String topic) {
+    this.dialect = dialect;
+    this.tableId = tableId;
+    this.topic = topic;
+  }
+
+  /**
+   * @return the time of the last reset, in milliseconds
+   */
+  public long lastUpdate() {
+    return lastUpdate;
+  }
+
+  /**
+   * @return true if the query of the querier runs
+   */
+  public boolean querying() {
+    return resultSet != null;
+  }
+
+  /**
+   * Run the query, unless it already runs or there is nothing to read.
+   *
+   * @param connection the connection to the database; may not be null
+   * @throws SQLException if the query fails
+   */
+  public void maybeStartQuery(Connection connection) throws SQLException {
+    if (resultSet == null) {
+      statement = prepareStatement(connection);
+      if (statement == null) {
+        return;
+      }
+      resultSet = executeQuery();
+      mapSchema(resultSet.getMetaData());
+    }
+  }
+
+  /**
+   * Move to the next row of the query.
+   *
+   * @return true if there is a next row
+   * @throws SQLException if the row cannot be read
+   */
+  public boolean next() throws SQLException {
+    return resultSet != null && resultSet.next();
+  }
+
+  /**
+   * Convert the current row into a source record.
+   *
+   * @return the record; never null
+   * @throws SQLException if the row cannot be read
+   */
+  public abstract SourceRecord extractRecord() throws SQLException;
+
+  /**
+   * Close the query and remember the given time as the time of the last update.
+   *
+   * @param now the current time, in milliseconds
+   */
+  public void reset(long now) {
+    closeQuietly();
+    lastUpdate = now;
+  }
+
+  /**
+   * Prepare the query of the querier.
+   *
+   * @param connection the connection to the database; may not be null
+   * @return the statement of the query, or null if there is nothing to read
+   * @throws SQLException if the query cannot be prepared
+   */
+  protected abstract PreparedStatement prepareStatement(Connection connection)
+      throws SQLException;
+
+  protected abstract ResultSet executeQuery() throws SQLException;
+
+  /**
+   * @return the schema of the rows of the running query
+   */
+  protected Schema schema() {
+    return schema;
+  }
+
+  /**
+   * Convert the current row into a struct of the schema of the query.
+   *
+   * @return the struct; never null
+   * @throws SQLException if the row cannot be read
+   */
+  protected Struct extractStruct() throws SQLException {
+    final Struct struct = new Struct(schema);
+    for (int i = 0; i < converters.size(); i++) {
+      try {
+        final Object value = converters.get(i).convert(resultSet);
+        struct.put(fields.get(i), resultSet.wasNull() ? null : value);
+      } catch (IOException e) {
+        log.warn("Ignoring record because processing failed:", e);
+      }
+    }
+    return struct;
+  }
+
+  private void mapSchema(ResultSetMetaData metadata) throws SQLException {
+    fields.clear();
+    converters.clear();
+    final SchemaBuilder builder = SchemaBuilder.struct().name(tableId.tableName());
+    final List<String> fieldNames = new ArrayList<>();
+    int columnNumber = 0;
+    for (ColumnDefinition column : dialect.describeColumns(metadata).values()) {
+      columnNumber++;
+      final String fieldName = dialect.addFieldToSchema(column, builder);
+      if (fieldName != null) {
+        fieldNames.add(fieldName);
+        converters.add(dialect.createColumnConverter(
+            new ColumnMapping(column, columnNumber, builder.field(fieldName))
+        ));
+      }
+    }
+    schema = builder.build();
+    for (String fieldName : fieldNames) {
+      fields.add(schema.field(fieldName));
+    }
+  }
+
+  private void closeQuietly() {
+    if (resultSet != null) {
+      try {
+        resultSet.close();
+      } catch (SQLException e) {
+        log.warn("Ignoring error closing result set of {}", this, e);
+      }
+    }
+    resultSet = null;
+    if (statement != null) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        log.warn("Ignoring error closing statement of {}", this, e);
+      }
+    }
+    statement = null;
+  }
+
+  @Override
+  public int compareTo(ExasolTableQuerier other) {
+    if (lastUpdate != other.lastUpdate) {
+      return lastUpdate < other.lastUpdate ? -1 : 1;
+    }
+    return toString().compareTo(other.toString());
+  }
+}
@@ -0,0 +1,89 @@
+package com.exasol.connect.jdbc.source;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.confluent.connect.jdbc.source.OffsetProtocols;
+import io.confluent.connect.jdbc.util.TableId;
+
+/**
+ * One of the splits a table is read in. A row of the table belongs to the split with the index
+ * {@code MOD(ABS(split column), count)}, or {@code MOD(ROWID, count)} without a split column.
+ */
+public final class ExasolTableSplit {
+
+  private static final String SPLIT_KEY = "split";
+
+  private final String table;
+  private final int index;
+  private final int count;
+
+  public ExasolTableSplit(String table, int index, int count) {
+    this.table = table;
+    this.index = index;
+    this.count = count;
+  }
+
+  /**
+   * Parse a split encoded by {@link #encode()}.
+   *
+   * @param encoded the encoded split; may not be null
+   * @param count   the number of splits of the table
+   * @return the split; never null
+   */
+  public static ExasolTableSplit parse(String encoded, int count) {
+    final int separator = encoded.indexOf(':');
+    return new ExasolTableSplit(
+        encoded.substring(separator + 1),
+        Integer.parseInt(encoded.substring(0, separator)),
+        count
+    );
+  }
+
+  /**
+   * @return the split as {@code <index>:<table>}, to pass it to a task
+   */
+  public String encode() {
+    return index + ":" + table;
+  }
+
+  /**
+   * @return the name of the table as listed by the connector
+   */
+  public String table() {
+    return table;
+  }
+
+  public int index() {
+    return index;
+  }
+
+  public int count() {
+    return count;
+  }
+
+  /**
+   * The source partition of the split, which keeps the offsets of the split apart from those of
+   * the other splits and from those of the whole table. It includes the number of splits, so
+   * changing it starts the splits over. A single split is the whole table and keeps the partition
+   * of the table, so it resumes from the offsets of the JDBC source connector.
+   *
+   * @param tableId the identifier of the table; may not be null
+   * @return the source partition; never null
+   */
+  public Map<String, String> sourcePartition(TableId tableId) {
+    final Map<String, String> partition = new HashMap<>(
+        OffsetProtocols.sourcePartitionForProtocolV1(tableId)
+    );
+    if (count == 1) {
+      return partition;
+    }
+    partition.put(SPLIT_KEY, index + "/" + count);
+    return partition;
+  }
+
+  @Override
+  public String toString() {
+    return table + " split " + index + "/" + count;
+  }
+}
@@ -0,0 +1,148 @@
+package com.exasol.connect.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread safe cache that evicts the least recently used entry and counts its hits and
+ * misses.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruCache<K, V> {
+
+  private final int capacity;
+  private final Consumer<V> onEviction;
+  private final LinkedHashMap<K, V> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Create a cache whose evicted values need no cleanup.
+   *
+   * @param capacity the maximum number of entries; must be positive
+   */
+  public LruCache(int capacity) {
+    this(capacity, value -> { });
+  }
+
+  /**
+   * Create a cache.
+   *
+   * @param capacity   the maximum number of entries; must be positive
+   * @param onEviction called with every value that is evicted, removed or cleared; may not be
+   *                   null
+   */
+  public LruCache(int capacity, Consumer<V> onEviction) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+    }
+    this.capacity = capacity;
+    this.onEviction = onEviction;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Get the value of a key, counting a hit if it is cached and a miss otherwise.
+   *
+   * @param key the key; may not be null
+   * @return the cached value, or null if the key is not cached
+   */
+  public synchronized V get(K key) {
+    final V value = entries.get(key);
+    if (value == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return value;
+  }
+
+  /**
+   * Cache a value, evicting the least recently used entry if the cache is full.
+   *
+   * @param key   the key; may not be null
+   * @param value the value; may not be null
+   */
+  public synchronized void put(K key, V value) {
+    final V previous = entries.put(key, value);
+    if (previous != null && previous != value) {
+      onEviction.accept(previous);
+    }
+    if (entries.size() > capacity) {
+      final Map.Entry<K, V> eldest = entries.entrySet().iterator().next();
+      entries.remove(eldest.getKey());
+      onEviction.accept(eldest.getValue());
+    }
+  }
+
+  /**
+   * Get the value of a key, computing and caching it on a miss.
+   *
+   * @param key    the key; may not be null
+   * @param loader computes the value of a key that is not cached; may not be null
+   * @return the value; never null
+   */
+  public synchronized V computeIfAbsent(K key, Function<K, V> loader) {
+    V value = get(key);
+    if (value == null) {
+      value = loader.apply(key);
+      put(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * Remove the entry of a key, if it is cached.
+   *
+   * @param key the key; may not be null
+   */
+  public void remove(K key) {
+    final V value;
+    synchronized (this) {
+      value = entries.remove(key);
+    }
+    if (value != null) {
+      onEviction.accept(value);
+    }
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    final List<V> values;
+    synchronized (this) {
+      values = new ArrayList<>(entries.values());
+      entries.clear();
+    }
+    values.forEach(onEviction);
+  }
+
+  /**
+   * @return the number of cached entries
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the number of lookups that found a cached value
+   */
+  public long hits() {
+    return hits.get();
+  }
+
+  /**
+   * @return the number of lookups that found no cached value
+   */
+  public long misses() {
+    return misses.get();
+  }
+}
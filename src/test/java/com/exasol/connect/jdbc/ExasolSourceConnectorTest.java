@@ -0,0 +1,46 @@
+package com.exasol.connect.jdbc;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.exasol.connect.jdbc.source.ExasolTableSplit;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExasolSourceConnectorTest {
+
+  @Test
+  public void shouldAssignSplitsOfTableToDifferentTasks() {
+    final List<List<ExasolTableSplit>> assignments = ExasolSourceConnector.assignSplits(
+        Arrays.asList("A", "B"),
+        3,
+        4
+    );
+
+    assertEquals(4, assignments.size());
+    assertEquals(Arrays.asList("0:A", "1:B"), encoded(assignments.get(0)));
+    assertEquals(Arrays.asList("1:A", "2:B"), encoded(assignments.get(1)));
+    assertEquals(Arrays.asList("2:A"), encoded(assignments.get(2)));
+    assertEquals(Arrays.asList("0:B"), encoded(assignments.get(3)));
+  }
+
+  @Test
+  public void shouldNotCreateTasksWithoutSplits() {
+    final List<List<ExasolTableSplit>> assignments = ExasolSourceConnector.assignSplits(
+        Arrays.asList("A"),
+        2,
+        8
+    );
+
+    assertEquals(2, assignments.size());
+    assertEquals(Arrays.asList("0:A"), encoded(assignments.get(0)));
+    assertEquals(Arrays.asList("1:A"), encoded(assignments.get(1)));
+  }
+
+  private static List<String> encoded(List<ExasolTableSplit> splits) {
+    return splits.stream().map(ExasolTableSplit::encode).collect(Collectors.toList());
+  }
+}
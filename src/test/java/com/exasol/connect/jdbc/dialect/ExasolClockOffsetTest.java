@@ -0,0 +1,70 @@
+package com.exasol.connect.jdbc.dialect;
+
+import org.apache.kafka.common.utils.Time;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExasolClockOffsetTest {
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private Time time;
+  private AtomicInteger queries;
+  private ExasolClockOffset.DatabaseTime databaseTime;
+
+  @Before
+  public void setUp() {
+    time = mock(Time.class);
+    queries = new AtomicInteger();
+    // the database clock is 5 seconds ahead
+    databaseTime = () -> {
+      queries.incrementAndGet();
+      return new Timestamp(time.milliseconds() + 5000L);
+    };
+  }
+
+  @Test
+  public void shouldComputeDatabaseTimeFromOffsetUntilRefresh() throws SQLException {
+    final ExasolClockOffset clockOffset = new ExasolClockOffset(60000L, time);
+    when(time.milliseconds()).thenReturn(1000L);
+    assertEquals(6000L, clockOffset.currentTime(UTC, databaseTime).getTime());
+
+    when(time.milliseconds()).thenReturn(60999L);
+    assertEquals(65999L, clockOffset.currentTime(UTC, databaseTime).getTime());
+    assertEquals(1, queries.get());
+
+    when(time.milliseconds()).thenReturn(61000L);
+    assertEquals(66000L, clockOffset.currentTime(UTC, databaseTime).getTime());
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  public void shouldQueryDatabaseForOtherTimeZone() throws SQLException {
+    final ExasolClockOffset clockOffset = new ExasolClockOffset(60000L, time);
+    when(time.milliseconds()).thenReturn(1000L);
+    clockOffset.currentTime(UTC, databaseTime);
+    clockOffset.currentTime(TimeZone.getTimeZone("Europe/Berlin"), databaseTime);
+
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  public void shouldQueryDatabaseEveryTimeWithoutRefreshInterval() throws SQLException {
+    final ExasolClockOffset clockOffset = new ExasolClockOffset(0L, time);
+    when(time.milliseconds()).thenReturn(1000L);
+    clockOffset.currentTime(UTC, databaseTime);
+    clockOffset.currentTime(UTC, databaseTime);
+
+    assertEquals(2, queries.get());
+  }
+}
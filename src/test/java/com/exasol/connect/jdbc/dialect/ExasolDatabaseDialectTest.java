@@ -13,12 +13,39 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.exasol.connect.jdbc.sink.ExasolSinkConfig;
 
 import io.confluent.connect.jdbc.dialect.BaseDialectTest;
+import io.confluent.connect.jdbc.sink.metadata.SinkRecordField;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.DateTimeUtils;
+import io.confluent.connect.jdbc.util.TableDefinition;
 import io.confluent.connect.jdbc.util.TableId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ExasolDatabaseDialectTest extends BaseDialectTest<ExasolDatabaseDialect> {
 
@@ -198,4 +225,403 @@ public class ExasolDatabaseDialectTest extends BaseDialectTest<ExasolDatabaseDia
     assertEquals(expected, sql);
   }
 
+  @Test
+  public void upsertWithSeveralRows() {
+    TableId customer = tableId("Customer");
+    String expected = "MERGE INTO \"Customer\" AS target " +
+                      "USING (SELECT ? AS \"id\", ? AS \"name\" " +
+                      "UNION ALL SELECT ?, ? UNION ALL SELECT ?, ?) AS incoming " +
+                      "ON (target.\"id\"=incoming.\"id\") " +
+                      "WHEN MATCHED THEN UPDATE SET \"name\"=incoming.\"name\" " +
+                      "WHEN NOT MATCHED THEN INSERT (\"name\",\"id\") " +
+                      "VALUES (incoming.\"name\",incoming.\"id\")";
+    String sql = dialect.buildUpsertQueryStatement(customer, columns(customer, "id"),
+                                                   columns(customer, "name"), 3);
+    assertEquals(expected, sql);
+  }
+
+  @Test
+  public void upsertRestrictedToKeyRange() {
+    TableId customer = tableId("Customer");
+    String expected = "MERGE INTO \"Customer\" AS target " +
+                      "USING (SELECT ? AS \"id\", ? AS \"name\" " +
+                      "UNION ALL SELECT ?, ?) AS incoming " +
+                      "ON (target.\"id\"=incoming.\"id\" AND target.\"id\" BETWEEN ? AND ?) " +
+                      "WHEN MATCHED THEN UPDATE SET \"name\"=incoming.\"name\" " +
+                      "WHEN NOT MATCHED THEN INSERT (\"name\",\"id\") " +
+                      "VALUES (incoming.\"name\",incoming.\"id\")";
+    String sql = dialect.buildKeyRangeUpsertQueryStatement(customer, columns(customer, "id"),
+                                                           columns(customer, "name"), 2);
+    assertEquals(expected, sql);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void upsertRestrictedToKeyRangeRequiresSingleKey() {
+    TableId book = tableId("Book");
+    dialect.buildKeyRangeUpsertQueryStatement(book, columns(book, "author", "title"),
+                                              columns(book, "year"), 1);
+  }
+
+  @Test
+  public void shouldCacheBuiltStatements() {
+    TableId customer = tableId("Customer");
+    String first = dialect.buildUpsertQueryStatement(customer, columns(customer, "id"),
+                                                     columns(customer, "name"), 3);
+    String second = dialect.buildUpsertQueryStatement(customer, columns(customer, "id"),
+                                                      columns(customer, "name"), 3);
+    dialect.buildUpsertQueryStatement(customer, columns(customer, "id"),
+                                      columns(customer, "name"), 2);
+    dialect.buildInsertStatement(customer, columns(customer, "id"), columns(customer, "name"));
+
+    assertSame(first, second);
+    assertEquals(1, dialect.sqlCache().hits());
+    assertEquals(3, dialect.sqlCache().misses());
+  }
+
+  @Test
+  public void upsertWithOneRowIsSingleRowUpsert() {
+    TableId book = new TableId(null, null, "Book");
+    assertEquals(
+        dialect.buildUpsertQueryStatement(book, columns(book, "author"), columns(book, "title")),
+        dialect.buildUpsertQueryStatement(book, columns(book, "author"), columns(book, "title"), 1)
+    );
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void upsertWithoutRowsIsRejected() {
+    TableId book = new TableId(null, null, "Book");
+    dialect.buildUpsertQueryStatement(book, columns(book, "author"), columns(book, "title"), 0);
+  }
+
+  @Test
+  public void mergeFromStagingTable() {
+    TableId customer = tableId("Customer");
+    TableId staging = tableId("Customer_KAFKA_STAGING_0");
+    String expected = "MERGE INTO \"Customer\" AS target " +
+                      "USING \"Customer_KAFKA_STAGING_0\" AS incoming " +
+                      "ON (target.\"id\"=incoming.\"id\") " +
+                      "WHEN MATCHED THEN UPDATE SET \"name\"=incoming.\"name\" " +
+                      "WHEN NOT MATCHED THEN INSERT (\"name\",\"id\") " +
+                      "VALUES (incoming.\"name\",incoming.\"id\")";
+    String sql = dialect.buildMergeFromTableStatement(customer, staging, columns(customer, "id"),
+                                                      columns(customer, "name"));
+    assertEquals(expected, sql);
+  }
+
+  @Test
+  public void createStagingTable() {
+    assertEquals(
+        "CREATE OR REPLACE TABLE \"Customer_KAFKA_STAGING_0\" LIKE \"Customer\"",
+        dialect.buildCreateStagingTableStatement(tableId("Customer_KAFKA_STAGING_0"),
+                                                 tableId("Customer"))
+    );
+  }
+
+  @Test
+  public void truncateTable() {
+    assertEquals("TRUNCATE TABLE \"Customer\"",
+                 dialect.buildTruncateTableStatement(tableId("Customer")));
+  }
+
+  @Test
+  public void shouldMapStringsToVarcharOfConfiguredLength() {
+    ExasolDatabaseDialect varcharDialect = sinkDialect("string.varchar.length", "64");
+    assertEquals("VARCHAR(64)",
+                 varcharDialect.getSqlType(new SinkRecordField(Schema.STRING_SCHEMA, "c", false)));
+    assertEquals("CLOB",
+                 dialect.getSqlType(new SinkRecordField(Schema.STRING_SCHEMA, "c", false)));
+  }
+
+  @Test
+  public void createDistributedByPrimaryKey() {
+    TableId customer = tableId("Customer");
+    assertEquals(
+        "CREATE TABLE \"Customer\" (" + System.lineSeparator()
+        + "\"id\" DECIMAL(10,0) NOT NULL," + System.lineSeparator()
+        + "\"name\" CLOB NULL," + System.lineSeparator()
+        + "PRIMARY KEY(\"id\")," + System.lineSeparator()
+        + "DISTRIBUTE BY \"id\")",
+        sinkDialect().buildCreateTableStatement(customer, Arrays.asList(
+            new SinkRecordField(Schema.INT32_SCHEMA, "id", true),
+            new SinkRecordField(Schema.OPTIONAL_STRING_SCHEMA, "name", false)
+        ))
+    );
+  }
+
+  @Test
+  public void createDistributedByTopicColumnsAndPartitioned() {
+    ExasolDatabaseDialect sinkDialect = sinkDialect(
+        "table.name.format", "kafka_${topic}",
+        "table.distribute.by", "id",
+        "table.distribute.by.orders", "region, customer",
+        "table.partition.by", "created"
+    );
+    List<SinkRecordField> fields = Arrays.asList(
+        new SinkRecordField(Schema.INT32_SCHEMA, "id", true),
+        new SinkRecordField(Schema.STRING_SCHEMA, "region", false),
+        new SinkRecordField(Schema.STRING_SCHEMA, "customer", false),
+        new SinkRecordField(Timestamp.SCHEMA, "created", false)
+    );
+    assertEquals(
+        "CREATE TABLE \"kafka_orders\" (" + System.lineSeparator()
+        + "\"id\" DECIMAL(10,0) NOT NULL," + System.lineSeparator()
+        + "\"region\" CLOB NOT NULL," + System.lineSeparator()
+        + "\"customer\" CLOB NOT NULL," + System.lineSeparator()
+        + "\"created\" TIMESTAMP NOT NULL," + System.lineSeparator()
+        + "PRIMARY KEY(\"id\")," + System.lineSeparator()
+        + "DISTRIBUTE BY \"region\",\"customer\"," + System.lineSeparator()
+        + "PARTITION BY \"created\")",
+        sinkDialect.buildCreateTableStatement(tableId("kafka_orders"), fields)
+    );
+    assertEquals(
+        "CREATE TABLE \"kafka_items\" (" + System.lineSeparator()
+        + "\"id\" DECIMAL(10,0) NOT NULL," + System.lineSeparator()
+        + "PRIMARY KEY(\"id\")," + System.lineSeparator()
+        + "DISTRIBUTE BY \"id\")",
+        sinkDialect.buildCreateTableStatement(tableId("kafka_items"), fields.subList(0, 1))
+    );
+  }
+
+  @Test
+  public void createRejectsDistributionByMissingColumn() {
+    exception.expect(ConnectException.class);
+    sinkDialect("table.distribute.by", "region").buildCreateTableStatement(
+        tableId("Customer"),
+        Arrays.asList(new SinkRecordField(Schema.INT32_SCHEMA, "id", true))
+    );
+  }
+
+  @Test
+  public void createRejectsPartitionByNonTimestampColumn() {
+    exception.expect(ConnectException.class);
+    sinkDialect("table.partition.by", "id").buildCreateTableStatement(
+        tableId("Customer"),
+        Arrays.asList(new SinkRecordField(Schema.INT32_SCHEMA, "id", true))
+    );
+  }
+
+  @Test
+  public void deleteBySingleKey() {
+    TableId customer = tableId("Customer");
+    assertEquals("DELETE FROM \"Customer\" WHERE \"id\" IN (?,?,?)",
+                 dialect.buildDeleteStatement(customer, columns(customer, "id"), 3));
+  }
+
+  @Test
+  public void deleteByCompositeKey() {
+    TableId book = tableId("Book");
+    assertEquals("DELETE FROM \"Book\" WHERE (\"author\"=? AND \"title\"=?) "
+                 + "OR (\"author\"=? AND \"title\"=?)",
+                 dialect.buildDeleteStatement(book, columns(book, "author", "title"), 2));
+  }
+
+  @Test
+  public void createOffsetsTable() {
+    assertEquals("CREATE TABLE IF NOT EXISTS \"KAFKA\".\"OFFSETS\" ("
+                 + "\"CONNECTOR\" VARCHAR(249) NOT NULL, "
+                 + "\"TOPIC\" VARCHAR(249) NOT NULL, \"KAFKA_PARTITION\" DECIMAL(10,0) NOT NULL, "
+                 + "\"KAFKA_OFFSET\" DECIMAL(19,0) NOT NULL, "
+                 + "PRIMARY KEY(\"CONNECTOR\",\"TOPIC\",\"KAFKA_PARTITION\"))",
+                 dialect.buildCreateOffsetsTableStatement(new TableId(null, "KAFKA", "OFFSETS")));
+  }
+
+  @Test
+  public void selectAndMergeOffsets() {
+    TableId offsets = new TableId(null, null, "OFFSETS");
+    assertEquals("SELECT \"TOPIC\",\"KAFKA_PARTITION\",\"KAFKA_OFFSET\" FROM \"OFFSETS\" "
+                 + "WHERE \"CONNECTOR\"=?",
+                 dialect.buildSelectOffsetsStatement(offsets));
+    assertEquals(dialect.buildUpsertQueryStatement(offsets,
+                                                   columns(offsets, "CONNECTOR", "TOPIC",
+                                                           "KAFKA_PARTITION"),
+                                                   columns(offsets, "KAFKA_OFFSET")),
+                 dialect.buildMergeOffsetsStatement(offsets));
+  }
+
+  @Test
+  public void modifyColumnLength() {
+    assertEquals("ALTER TABLE \"Customer\" MODIFY COLUMN \"name\" VARCHAR(128)",
+                 dialect.buildModifyColumnLengthStatement(tableId("Customer"), "name", 128));
+  }
+
+  @Override
+  @Test
+  public void bindFieldPrimitiveValues() throws SQLException {
+    int index = ThreadLocalRandom.current().nextInt();
+    verifyBindField(++index, Schema.INT8_SCHEMA, (byte) 42).setByte(index, (byte) 42);
+    verifyBindField(++index, Schema.INT16_SCHEMA, (short) 42).setShort(index, (short) 42);
+    verifyBindField(++index, Schema.INT32_SCHEMA, 42).setInt(index, 42);
+    verifyBindField(++index, Schema.INT64_SCHEMA, 42L).setLong(index, 42L);
+    verifyBindField(++index, Schema.BOOLEAN_SCHEMA, true).setBoolean(index, true);
+    verifyBindField(++index, Schema.FLOAT32_SCHEMA, -42f).setFloat(index, -42f);
+    verifyBindField(++index, Schema.FLOAT64_SCHEMA, 42d).setDouble(index, 42d);
+    verifyBindField(++index, Schema.STRING_SCHEMA, "yep").setString(index, "yep");
+    // integral decimals too, the driver would wrap a long in a BigDecimal again
+    verifyBindField(++index, Decimal.schema(0), new BigDecimal("2"))
+        .setBigDecimal(index, new BigDecimal("2"));
+    verifyBindField(++index, Date.SCHEMA, new java.util.Date(0L))
+        .setDate(index, new java.sql.Date(0L), DateTimeUtils.UTC_CALENDAR.get());
+    verifyBindField(++index, Timestamp.SCHEMA, new java.util.Date(100L))
+        .setTimestamp(index, new java.sql.Timestamp(100L), DateTimeUtils.UTC_CALENDAR.get());
+  }
+
+  @Test
+  public void importFromCsv() {
+    TableId customer = tableId("Customer");
+    String expected = "IMPORT INTO \"Customer\" (\"id\",\"name\") " +
+                      "FROM CSV AT 'http://10.0.0.1:4711' FILE 'it''s.csv' " +
+                      "ENCODING = 'UTF-8' ROW SEPARATOR = 'LF' " +
+                      "COLUMN SEPARATOR = ',' COLUMN DELIMITER = '\"'";
+    String sql = dialect.buildImportStatement(customer, columns(customer, "id"),
+                                              columns(customer, "name"),
+                                              "http://10.0.0.1:4711", "it's.csv");
+    assertEquals(expected, sql);
+  }
+
+  @Test
+  public void shouldListTablesAndViewsOfSchemaPatternWithOneQuery() throws SQLException {
+    final ExasolDatabaseDialect dialect = new ExasolDatabaseDialect(sourceConfigWithUrl(
+        "jdbc:exa://something",
+        "schema.pattern", "RETAIL%",
+        "table.types", "TABLE,VIEW"
+    ));
+    final Connection connection = mock(Connection.class);
+    final PreparedStatement statement = mock(PreparedStatement.class);
+    final ResultSet resultSet = mock(ResultSet.class);
+    final String sql = "SELECT TABLE_SCHEMA, TABLE_NAME FROM EXA_ALL_TABLES"
+                       + " WHERE TABLE_SCHEMA LIKE ? UNION ALL"
+                       + " SELECT VIEW_SCHEMA, VIEW_NAME FROM EXA_ALL_VIEWS"
+                       + " WHERE VIEW_SCHEMA LIKE ? ORDER BY 1, 2";
+    when(connection.prepareStatement(sql)).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, true, false, true, true, false);
+    when(resultSet.getString(1)).thenReturn("RETAIL");
+    when(resultSet.getString(2)).thenReturn("ORDERS", "ORDERS_VIEW", "ORDERS", "ORDERS_VIEW");
+
+    final List<TableId> tableIds = dialect.tableIds(connection);
+    final List<TableId> unchanged = dialect.tableIds(connection);
+
+    verify(statement, times(2)).setString(1, "RETAIL%");
+    verify(statement, times(2)).setString(2, "RETAIL%");
+    assertEquals(
+        Arrays.asList(
+            new TableId(null, "RETAIL", "ORDERS"),
+            new TableId(null, "RETAIL", "ORDERS_VIEW")
+        ),
+        tableIds
+    );
+    assertSame(tableIds, unchanged);
+  }
+
+  @Test
+  public void shouldListTablesOnlyWithoutSchemaPattern() {
+    assertEquals(
+        "SELECT TABLE_SCHEMA, TABLE_NAME FROM EXA_ALL_TABLES ORDER BY 1, 2",
+        dialect.buildListTablesStatement(true, false, false)
+    );
+  }
+
+  @Test
+  public void shouldCheckTableExistsInCurrentSchemaWithoutSchema() throws SQLException {
+    final Connection connection = mock(Connection.class);
+    final PreparedStatement statement = mock(PreparedStatement.class);
+    final ResultSet resultSet = mock(ResultSet.class);
+    when(connection.prepareStatement(
+        "SELECT 1 FROM EXA_ALL_TABLES"
+        + " WHERE TABLE_SCHEMA = COALESCE(?, CURRENT_SCHEMA) AND TABLE_NAME = ?"
+    )).thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+
+    assertTrue(dialect.tableExists(connection, new TableId(null, null, "ORDERS")));
+    verify(statement).setString(1, null);
+    verify(statement).setString(2, "ORDERS");
+  }
+
+  @Test
+  public void shouldReadCurrentColumnLengthOnEveryCall() throws SQLException {
+    final Connection connection = mock(Connection.class);
+    final PreparedStatement statement = mock(PreparedStatement.class);
+    final ResultSet resultSet = mock(ResultSet.class);
+    when(connection.prepareStatement(startsWith("SELECT COLUMN_MAXSIZE FROM EXA_ALL_COLUMNS")))
+        .thenReturn(statement);
+    when(statement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getInt(1)).thenReturn(256, 1024);
+    final TableId orders = new TableId(null, "RETAIL", "ORDERS");
+
+    assertEquals(Integer.valueOf(256), dialect.columnLength(connection, orders, "NAME"));
+    assertEquals(Integer.valueOf(1024), dialect.columnLength(connection, orders, "NAME"));
+    assertNull(dialect.columnLength(connection, orders, "MISSING"));
+    verify(statement, times(3)).setString(1, "RETAIL");
+    verify(statement).setString(3, "MISSING");
+  }
+
+  @Test
+  public void shouldDescribeTablesFromPrefetchedMetadataOfTheirSchema() throws SQLException {
+    final Connection connection = mock(Connection.class);
+    final PreparedStatement keyStatement = mock(PreparedStatement.class);
+    final ResultSet keys = mock(ResultSet.class);
+    when(connection.prepareStatement(startsWith("SELECT CONSTRAINT_TABLE, COLUMN_NAME")))
+        .thenReturn(keyStatement);
+    when(keyStatement.executeQuery()).thenReturn(keys);
+    when(keys.next()).thenReturn(true, false);
+    when(keys.getString(1)).thenReturn("ORDERS");
+    when(keys.getString(2)).thenReturn("ID");
+    final PreparedStatement columnStatement = mock(PreparedStatement.class);
+    final ResultSet columns = mock(ResultSet.class);
+    when(connection.prepareStatement(startsWith("SELECT COLUMN_SCHEMA, COLUMN_TABLE")))
+        .thenReturn(columnStatement);
+    when(columnStatement.executeQuery()).thenReturn(columns);
+    when(columns.next()).thenReturn(true, true, true, false);
+    when(columns.getString(1)).thenReturn("RETAIL");
+    when(columns.getString(2)).thenReturn("ORDERS", "ORDERS", "CUSTOMERS");
+    when(columns.getString(3)).thenReturn("ID", "NAME", "ID");
+    when(columns.getString(4)).thenReturn("DECIMAL(18,0)", "VARCHAR(100) UTF8", "DECIMAL(9,0)");
+    when(columns.getInt(5)).thenReturn(18, 100, 9);
+    when(columns.getInt(6)).thenReturn(18, 0, 9);
+    when(columns.getBoolean(8)).thenReturn(false, true, true);
+    when(columns.getString(9)).thenReturn("1", null, null);
+
+    final TableId ordersId = new TableId(null, "RETAIL", "ORDERS");
+    final TableDefinition orders = dialect.describeTable(connection, ordersId);
+    final Map<ColumnId, ColumnDefinition> customers = dialect.describeColumns(
+        connection,
+        null,
+        "RETAIL",
+        "CUSTOMERS",
+        null
+    );
+
+    verify(keyStatement).setString(1, "RETAIL");
+    verify(columnStatement).setString(1, "RETAIL");
+    verify(columnStatement).executeQuery();
+    final ColumnDefinition id = orders.definitionForColumn("ID");
+    assertEquals(Types.DECIMAL, id.type());
+    assertEquals(18, id.precision());
+    assertTrue(id.isPrimaryKey());
+    assertTrue(id.isAutoIncrement());
+    assertFalse(id.isOptional());
+    final ColumnDefinition name = orders.definitionForColumn("NAME");
+    assertEquals(Types.VARCHAR, name.type());
+    assertEquals(100, name.precision());
+    assertTrue(name.isOptional());
+    assertEquals(1, customers.size());
+    assertEquals(9, customers.values().iterator().next().precision());
+
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    dialect.applyDdlStatements(connection, Arrays.asList("ALTER TABLE ORDERS ADD X DATE"));
+    dialect.describeTable(connection, ordersId);
+
+    verify(columnStatement, times(2)).executeQuery();
+  }
+
+  private static ExasolDatabaseDialect sinkDialect(String... settings) {
+    Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    for (int i = 0; i < settings.length; i += 2) {
+      props.put(settings[i], settings[i + 1]);
+    }
+    return new ExasolDatabaseDialect(new ExasolSinkConfig(props));
+  }
 }
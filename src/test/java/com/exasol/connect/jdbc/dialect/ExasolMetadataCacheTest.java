@@ -0,0 +1,68 @@
+package com.exasol.connect.jdbc.dialect;
+
+import org.apache.kafka.common.utils.Time;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExasolMetadataCacheTest {
+
+  private Time time;
+  private AtomicInteger loads;
+  private ExasolMetadataCache.SchemaLoader loader;
+
+  @Before
+  public void setUp() {
+    time = mock(Time.class);
+    loads = new AtomicInteger();
+    // every load sees one more column, as if the table was altered in between
+    loader = schema -> {
+      final int columnCount = loads.incrementAndGet();
+      final Map<ColumnId, ColumnDefinition> columns = new LinkedHashMap<>();
+      for (int i = 0; i < columnCount; i++) {
+        final ColumnId id = new ColumnId(new TableId(null, schema, "ORDERS"), "C" + i);
+        columns.put(id, mock(ColumnDefinition.class));
+      }
+      return Collections.singletonMap("ORDERS", columns);
+    };
+  }
+
+  @Test
+  public void shouldLoadSchemaAgainAfterRefreshInterval() throws SQLException {
+    final ExasolMetadataCache cache = new ExasolMetadataCache(60000L, time);
+    when(time.milliseconds()).thenReturn(1000L);
+    assertEquals(1, cache.columns("RETAIL", "ORDERS", loader).size());
+
+    when(time.milliseconds()).thenReturn(60999L);
+    assertEquals(1, cache.columns("RETAIL", "ORDERS", loader).size());
+
+    when(time.milliseconds()).thenReturn(61000L);
+    assertEquals(2, cache.columns("RETAIL", "ORDERS", loader).size());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void shouldLoadSchemaAgainWhenTableIsMissingOrInvalidated() throws SQLException {
+    final ExasolMetadataCache cache = new ExasolMetadataCache(Long.MAX_VALUE, time);
+    cache.columns("RETAIL", "ORDERS", loader);
+
+    assertTrue(cache.columns("RETAIL", "CUSTOMERS", loader).isEmpty());
+    cache.invalidate();
+    assertEquals(3, cache.columns("RETAIL", "ORDERS", loader).size());
+  }
+}
@@ -0,0 +1,63 @@
+package com.exasol.connect.jdbc.dialect;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class ExasolTemporalHolderTest {
+
+  private static final int WARMUP_VALUES = 200_000;
+  private static final int MEASURED_VALUES = 1_000_000;
+
+  @Test
+  public void shouldReuseValuesOfThread() {
+    final ExasolTemporalHolder holder = ExasolTemporalHolder.current();
+
+    assertSame(holder, ExasolTemporalHolder.current());
+    assertSame(holder.timestamp(1L), holder.timestamp(2L));
+    assertEquals(2L, holder.timestamp(2L).getTime());
+    assertEquals(2_000_000, holder.timestamp(2L).getNanos());
+    assertEquals(86_400_000L, holder.date(86_400_000L).getTime());
+  }
+
+  /**
+   * A microbenchmark of the values bound per date and timestamp. The bytes allocated by the
+   * thread while binding a million values stay below one byte per value, that is no value is
+   * allocated. Only the measurement itself allocates.
+   */
+  @Test
+  public void shouldNotAllocatePerBoundValue() {
+    final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    assumeTrue(threads instanceof ThreadMXBean);
+    final ThreadMXBean allocations = (ThreadMXBean) threads;
+    assumeTrue(allocations.isThreadAllocatedMemorySupported());
+    allocations.setThreadAllocatedMemoryEnabled(true);
+    final long thread = Thread.currentThread().getId();
+
+    long checksum = bind(WARMUP_VALUES);
+    final long before = allocations.getThreadAllocatedBytes(thread);
+    checksum += bind(MEASURED_VALUES);
+    final long allocated = allocations.getThreadAllocatedBytes(thread) - before;
+
+    assertEquals(0L, allocated / MEASURED_VALUES);
+    assertTrue(checksum != 0);
+  }
+
+  private static long bind(int values) {
+    long checksum = 0;
+    for (int i = 0; i < values; i++) {
+      final ExasolTemporalHolder holder = ExasolTemporalHolder.current();
+      checksum += holder.timestamp(i * 1000L).getTime();
+      checksum += holder.date(i * 86_400_000L).getTime();
+      checksum += holder.utcCalendar().getFirstDayOfWeek();
+    }
+    return checksum;
+  }
+}
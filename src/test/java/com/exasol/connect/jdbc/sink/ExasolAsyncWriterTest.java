@@ -0,0 +1,105 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ExasolAsyncWriterTest {
+
+  private static final TopicPartition PARTITION = new TopicPartition("customer", 0);
+
+  private final ExasolDbWriter writer = mock(ExasolDbWriter.class);
+  private final ExasolAsyncWriter asyncWriter = new ExasolAsyncWriter(writer);
+
+  @After
+  public void tearDown() {
+    asyncWriter.close();
+  }
+
+  @Test
+  public void shouldReportOffsetsOnlyOnceTheWriteIsCommitted() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      started.countDown();
+      release.await();
+      return null;
+    }).when(writer).write(anyCollectionOf(SinkRecord.class));
+
+    asyncWriter.write(Arrays.asList(record(3), record(4)));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertTrue(asyncWriter.committedOffsets(partitions()).isEmpty());
+
+    release.countDown();
+    asyncWriter.await();
+    final Map<TopicPartition, OffsetAndMetadata> offsets = asyncWriter.committedOffsets(
+        partitions()
+    );
+    assertEquals(5L, offsets.get(PARTITION).offset());
+  }
+
+  @Test
+  public void shouldWriteBatchesOneAfterAnother() throws SQLException {
+    asyncWriter.write(Collections.singletonList(record(0)));
+    asyncWriter.write(Collections.singletonList(record(1)));
+    asyncWriter.await();
+
+    verify(writer, times(2)).write(anyCollectionOf(SinkRecord.class));
+    assertEquals(2L, asyncWriter.committedOffsets(partitions()).get(PARTITION).offset());
+  }
+
+  @Test
+  public void shouldFailLaterCallsAfterAFailedWrite() throws SQLException {
+    doThrow(new SQLException("boom")).when(writer).write(anyCollectionOf(SinkRecord.class));
+    asyncWriter.write(Collections.singletonList(record(0)));
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        asyncWriter.write(Collections.singletonList(record(1 + i)));
+        fail("Expected the failed write to be reported");
+      } catch (ConnectException expected) {
+        assertTrue(expected.getCause() instanceof SQLException);
+      }
+    }
+    verify(writer, times(1)).write(anyCollectionOf(SinkRecord.class));
+  }
+
+  @Test
+  public void shouldForgetOffsetsOfRevokedPartitions() {
+    asyncWriter.write(Collections.singletonList(record(0)));
+    asyncWriter.revoke(partitions());
+
+    assertTrue(asyncWriter.committedOffsets(partitions()).isEmpty());
+  }
+
+  private static Collection<TopicPartition> partitions() {
+    return Collections.singletonList(PARTITION);
+  }
+
+  private static SinkRecord record(long offset) {
+    return new SinkRecord("customer", 0, null, null, Schema.STRING_SCHEMA, "value", offset);
+  }
+}
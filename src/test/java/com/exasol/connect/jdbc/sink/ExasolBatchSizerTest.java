@@ -0,0 +1,70 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExasolBatchSizerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(5000);
+
+  @Test
+  public void shouldKeepConfiguredBatchSizeWhenNotAdaptive() {
+    final ExasolBatchSizer sizer = new ExasolBatchSizer(config(false, 500));
+    sizer.recordFlush(500, SLOW);
+    sizer.recordFailure();
+
+    assertEquals(500, sizer.batchSize());
+    assertEquals(5000, sizer.getLastFlushMillis());
+    assertEquals(100, sizer.getLastFlushRecordsPerSecond());
+  }
+
+  @Test
+  public void shouldGrowAdditivelyAfterFastFullBatches() {
+    final ExasolBatchSizer sizer = new ExasolBatchSizer(config(true, 500));
+    sizer.recordFlush(500, FAST);
+    assertEquals(600, sizer.batchSize());
+
+    sizer.recordFlush(200, FAST);
+    assertEquals(600, sizer.batchSize());
+  }
+
+  @Test
+  public void shouldHalveAfterSlowOrFailedFlushes() {
+    final ExasolBatchSizer sizer = new ExasolBatchSizer(config(true, 1000));
+    sizer.recordFlush(1000, SLOW);
+    assertEquals(500, sizer.batchSize());
+
+    sizer.recordFailure();
+    assertEquals(250, sizer.batchSize());
+
+    sizer.recordFailure();
+    sizer.recordFailure();
+    assertEquals(100, sizer.batchSize());
+  }
+
+  @Test
+  public void shouldStayWithinBounds() {
+    final ExasolBatchSizer sizer = new ExasolBatchSizer(config(true, 5000));
+    assertEquals(2000, sizer.batchSize());
+
+    sizer.recordFlush(2000, FAST);
+    assertEquals(2000, sizer.batchSize());
+  }
+
+  private static ExasolSinkConfig config(boolean adaptive, int batchSize) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("batch.size", Integer.toString(batchSize));
+    props.put("batch.size.adaptive", Boolean.toString(adaptive));
+    props.put("batch.size.min", "100");
+    props.put("batch.size.max", "2000");
+    props.put("batch.flush.target.ms", "1000");
+    return new ExasolSinkConfig(props);
+  }
+}
@@ -0,0 +1,468 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolBufferedRecordsTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("name", Schema.STRING_SCHEMA)
+      .build();
+
+  private static final Pattern IMPORT_SOURCE = Pattern.compile("AT '(.*)' FILE '(.*?)'");
+
+  private final Map<String, PreparedStatement> statements = new HashMap<>();
+  private final List<String> imported = new ArrayList<>();
+  private ExasolImportServer importServer;
+  private final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+  private final ExasolStatementCache statementCache = new ExasolStatementCache(8);
+  private final TableId tableId = new TableId(null, null, "customer");
+  private Connection connection;
+  private Statement statement;
+  private ExasolDbStructure dbStructure;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    statement = mock(Statement.class);
+    dbStructure = mock(ExasolDbStructure.class);
+    when(connection.createStatement()).thenReturn(statement);
+    when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+      final PreparedStatement statement = mock(PreparedStatement.class);
+      when(statement.executeBatch()).thenReturn(new int[] {1});
+      statements.put((String) invocation.getArguments()[0], statement);
+      return statement;
+    });
+  }
+
+  @Test
+  public void shouldMergeFullChunksWithMultiRowStatement() throws SQLException {
+    final ExasolBufferedRecords buffer = createBuffer(upsertProps(2));
+    for (int i = 0; i < 5; i++) {
+      buffer.add(record(i));
+    }
+    final List<SinkRecord> flushed = buffer.flush();
+
+    assertEquals(5, flushed.size());
+    assertEquals(2, statements.size());
+    final PreparedStatement multiRow = statementContaining("UNION ALL");
+    verify(multiRow, times(2)).addBatch();
+    verify(multiRow, times(1)).executeBatch();
+    verify(multiRow).setLong(3, 1L);
+    verify(multiRow).setString(4, "name-1");
+    final PreparedStatement singleRow = statementNotContaining("UNION ALL");
+    verify(singleRow, times(1)).addBatch();
+    verify(singleRow).setLong(1, 4L);
+  }
+
+  @Test
+  public void shouldUseSingleRowStatementByDefault() throws SQLException {
+    final ExasolBufferedRecords buffer = createBuffer(upsertProps(1));
+    for (int i = 0; i < 3; i++) {
+      buffer.add(record(i));
+    }
+    buffer.flush();
+
+    assertEquals(1, statements.size());
+    final PreparedStatement singleRow = statementNotContaining("UNION ALL");
+    verify(singleRow, times(3)).addBatch();
+  }
+
+  @Test
+  public void shouldNotExecuteSingleRowStatementWithoutTail() throws SQLException {
+    final ExasolBufferedRecords buffer = createBuffer(upsertProps(2));
+    for (int i = 0; i < 4; i++) {
+      buffer.add(record(i));
+    }
+    buffer.flush();
+
+    verify(statementContaining("UNION ALL"), times(2)).addBatch();
+    verify(statementNotContaining("UNION ALL"), never()).executeBatch();
+  }
+
+  @Test
+  public void shouldReuseStatementsOfEarlierBuffers() throws SQLException {
+    for (int batch = 0; batch < 2; batch++) {
+      final ExasolBufferedRecords buffer = createBuffer(upsertProps(1));
+      buffer.add(record(batch));
+      buffer.flush();
+      buffer.close();
+    }
+
+    assertEquals(1, statements.size());
+    verify(connection, times(1)).prepareStatement(anyString());
+    verify(statementNotContaining("UNION ALL"), never()).close();
+    verify(statementNotContaining("UNION ALL"), times(2)).executeBatch();
+  }
+
+  @Test
+  public void shouldPrepareStatementsOfTableAgainAfterWideningColumns() throws SQLException {
+    when(dbStructure.widenIfNecessary(
+        any(JdbcSinkConfig.class),
+        any(Connection.class),
+        any(TableId.class),
+        any(FieldsMetadata.class),
+        anyListOf(SinkRecord.class)
+    )).thenReturn(true);
+    final ExasolBufferedRecords buffer = createBuffer(upsertProps(1));
+    final PreparedStatement other = statementCache.prepare(
+        connection,
+        new TableId(null, null, "other"),
+        "other"
+    );
+    buffer.add(record(0));
+    final PreparedStatement first = statementContaining("MERGE INTO");
+    buffer.flush();
+    statementCache.release();
+
+    verify(other, never()).close();
+    verify(first).close();
+    verify(first, never()).executeBatch();
+    verify(connection, times(3)).prepareStatement(anyString());
+  }
+
+  @Test
+  public void shouldDeleteTombstonesInOrderWithInserts() throws SQLException {
+    final Map<String, String> props = deleteProps("insert");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    buffer.add(keyedRecord(1, "name-1", 0));
+    buffer.add(tombstone(1, 1));
+    buffer.add(tombstone(2, 2));
+    buffer.add(tombstone(3, 3));
+    buffer.add(keyedRecord(1, "name-1", 4));
+    final List<SinkRecord> flushed = buffer.flush();
+
+    assertEquals(5, flushed.size());
+    final PreparedStatement insert = statementContaining("INSERT");
+    final PreparedStatement chunkDelete = statementContaining("IN (?,?)");
+    final PreparedStatement singleDelete = statementContaining("IN (?)");
+    verify(chunkDelete).setLong(1, 1L);
+    verify(chunkDelete).setLong(2, 2L);
+    verify(singleDelete).setLong(1, 3L);
+    final InOrder order = inOrder(insert, chunkDelete, singleDelete);
+    order.verify(insert).executeBatch();
+    order.verify(chunkDelete).executeBatch();
+    order.verify(singleDelete).executeBatch();
+    order.verify(insert).executeBatch();
+  }
+
+  @Test
+  public void shouldCollapseTombstonesWithUpsertsOfTheSameKey() throws SQLException {
+    final ExasolBufferedRecords buffer = createBuffer(deleteProps("upsert"));
+    buffer.add(keyedRecord(1, "name-1", 0));
+    buffer.add(tombstone(1, 1));
+    buffer.add(tombstone(2, 2));
+    buffer.add(keyedRecord(2, "name-2", 3));
+    buffer.flush();
+
+    final PreparedStatement merge = statementContaining("MERGE");
+    final PreparedStatement delete = statementContaining("DELETE");
+    verify(merge).setLong(1, 2L);
+    verify(merge, times(1)).addBatch();
+    verify(delete).setLong(1, 1L);
+    verify(delete, times(1)).addBatch();
+    assertEquals(2, metrics.getLastFlushDeduplicatedRecords());
+  }
+
+  @Test
+  public void shouldMergeThroughStagingTable() throws SQLException {
+    final Map<String, String> props = upsertProps(1);
+    props.put(ExasolSinkConfig.UPSERT_STRATEGY, "staging");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    for (int i = 0; i < 3; i++) {
+      buffer.add(record(i));
+    }
+    final List<SinkRecord> flushed = buffer.flush();
+
+    assertEquals(3, flushed.size());
+    assertEquals(1, statements.size());
+    final PreparedStatement staged =
+        statementContaining("INSERT INTO \"customer_KAFKA_STAGING_0\"");
+    verify(staged, times(3)).addBatch();
+    verify(staged, times(1)).executeBatch();
+    final InOrder inOrder = inOrder(statement);
+    inOrder.verify(statement).executeUpdate(
+        "CREATE OR REPLACE TABLE \"customer_KAFKA_STAGING_0\" LIKE \"customer\"");
+    inOrder.verify(statement).executeUpdate(
+        "MERGE INTO \"customer\" AS target USING \"customer_KAFKA_STAGING_0\" AS incoming "
+        + "ON (target.\"id\"=incoming.\"id\") "
+        + "WHEN MATCHED THEN UPDATE SET \"name\"=incoming.\"name\" "
+        + "WHEN NOT MATCHED THEN INSERT (\"name\",\"id\") "
+        + "VALUES (incoming.\"name\",incoming.\"id\")");
+    inOrder.verify(statement).executeUpdate("TRUNCATE TABLE \"customer_KAFKA_STAGING_0\"");
+  }
+
+  @Test
+  public void shouldImportInsertsThroughHttpServer() throws SQLException, IOException {
+    final Map<String, String> props = upsertProps(1);
+    props.put("insert.mode", "insert");
+    props.put(ExasolSinkConfig.WRITE_METHOD, "import");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    for (int i = 0; i < 3; i++) {
+      buffer.add(record(i));
+    }
+    final List<SinkRecord> flushed = buffer.flush();
+
+    assertEquals(3, flushed.size());
+    assertEquals(0, statements.size());
+    assertEquals(1, imported.size());
+    assertEquals("0,\"name-0\"\n1,\"name-1\"\n2,\"name-2\"\n", imported.get(0));
+    verify(statement).executeUpdate(startsWith(
+        "IMPORT INTO \"customer\" (\"id\",\"name\") FROM CSV AT 'http://127.0.0.1:"));
+  }
+
+  @Test
+  public void shouldImportIntoStagingTable() throws SQLException, IOException {
+    final Map<String, String> props = upsertProps(1);
+    props.put(ExasolSinkConfig.UPSERT_STRATEGY, "staging");
+    props.put(ExasolSinkConfig.WRITE_METHOD, "import");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    buffer.add(record(5));
+    buffer.flush();
+
+    assertEquals(0, statements.size());
+    assertEquals("5,\"name-5\"\n", imported.get(0));
+    final InOrder inOrder = inOrder(statement);
+    inOrder.verify(statement).executeUpdate(
+        startsWith("IMPORT INTO \"customer_KAFKA_STAGING_0\""));
+    inOrder.verify(statement).executeUpdate(startsWith("MERGE INTO \"customer\""));
+    inOrder.verify(statement).executeUpdate("TRUNCATE TABLE \"customer_KAFKA_STAGING_0\"");
+  }
+
+  @Test
+  public void shouldMergeLastRecordOfRepeatedKeys() throws SQLException {
+    final ExasolBufferedRecords buffer = createBuffer(upsertProps(2));
+    for (int i = 0; i < 6; i++) {
+      buffer.add(record(i % 2, "name-" + i, i));
+    }
+    final List<SinkRecord> flushed = buffer.flush();
+
+    assertEquals(6, flushed.size());
+    final PreparedStatement multiRow = statementContaining("UNION ALL");
+    verify(multiRow, times(1)).addBatch();
+    verify(multiRow).setString(2, "name-4");
+    verify(multiRow).setString(4, "name-5");
+    assertEquals(4, metrics.getDeduplicatedRecords());
+    assertEquals(4, metrics.getLastFlushDeduplicatedRecords());
+  }
+
+  @Test
+  public void shouldKeepRepeatedKeysWhenDeduplicationIsDisabled() throws SQLException {
+    final Map<String, String> props = upsertProps(1);
+    props.put(ExasolSinkConfig.UPSERT_DEDUPLICATE, "false");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    for (int i = 0; i < 4; i++) {
+      buffer.add(record(0, "name-" + i, i));
+    }
+    buffer.flush();
+
+    verify(statementNotContaining("UNION ALL"), times(4)).addBatch();
+    assertEquals(0, metrics.getDeduplicatedRecords());
+  }
+
+  private void standInForExasolImport() throws SQLException, IOException {
+    importServer = new ExasolImportServer("127.0.0.1", 0);
+    when(statement.executeUpdate(startsWith("IMPORT"))).thenAnswer(invocation -> {
+      final Matcher matcher = IMPORT_SOURCE.matcher((String) invocation.getArguments()[0]);
+      assertTrue(matcher.find());
+      final String csv = ExasolImportServerTest.fetch(matcher.group(1) + "/" + matcher.group(2));
+      imported.add(csv);
+      return csv.split("\n").length;
+    });
+  }
+
+  @After
+  public void tearDown() {
+    if (importServer != null) {
+      importServer.close();
+    }
+  }
+
+  private ExasolBufferedRecords createBuffer(Map<String, String> props) {
+    final ExasolSinkConfig config = new ExasolSinkConfig(props);
+    final ExasolDatabaseDialect dialect = new ExasolDatabaseDialect(config);
+    final ExasolStagingTables stagingTables = new ExasolStagingTables(dialect, config.taskIndex);
+    if (config.writeMethod == ExasolSinkConfig.WriteMethod.IMPORT) {
+      try {
+        standInForExasolImport();
+      } catch (SQLException | IOException e) {
+        throw new AssertionError(e);
+      }
+    }
+    final ExasolWriteContext context = new ExasolWriteContext(
+        config,
+        dialect,
+        dbStructure,
+        stagingTables,
+        importServer,
+        null,
+        statementCache,
+        metrics
+    );
+    return new ExasolBufferedRecords(
+        context,
+        tableId,
+        new ExasolBatchSizer(config),
+        connection
+    );
+  }
+
+  private Map<String, String> upsertProps(int mergeRows) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("insert.mode", "upsert");
+    props.put("pk.mode", "record_value");
+    props.put("pk.fields", "id");
+    props.put(ExasolSinkConfig.UPSERT_MERGE_ROWS, String.valueOf(mergeRows));
+    return props;
+  }
+
+  @Test
+  public void shouldRestrictMergeToKeyRangeOfCloseKeys() throws SQLException {
+    final Map<String, String> props = upsertProps(2);
+    props.put(ExasolSinkConfig.UPSERT_PRUNE_MAX_KEY_SPREAD, "10");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    for (int id : new int[] {7, 3, 5}) {
+      buffer.add(record(id));
+    }
+    buffer.flush();
+
+    final PreparedStatement multiRow = statementContaining("UNION ALL");
+    verify(multiRow).setLong(5, 3L);
+    verify(multiRow).setLong(6, 7L);
+    verify(multiRow).executeBatch();
+    for (Map.Entry<String, PreparedStatement> entry : statements.entrySet()) {
+      if (!entry.getKey().contains("UNION ALL")) {
+        // the unrestricted statement of single rows is prepared, but not executed
+        final boolean restricted = entry.getKey().contains("BETWEEN ? AND ?");
+        if (restricted) {
+          verify(entry.getValue()).setLong(3, 5L);
+          verify(entry.getValue()).setLong(4, 5L);
+        }
+        verify(entry.getValue(), times(restricted ? 1 : 0)).executeBatch();
+      }
+    }
+  }
+
+  @Test
+  public void shouldNotRestrictMergeToKeyRangeOfDistantKeys() throws SQLException {
+    final Map<String, String> props = upsertProps(1);
+    props.put(ExasolSinkConfig.UPSERT_PRUNE_MAX_KEY_SPREAD, "10");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    buffer.add(record(1));
+    buffer.add(record(100));
+    buffer.flush();
+
+    assertEquals(1, statements.size());
+    assertFalse(statements.keySet().iterator().next().contains("BETWEEN"));
+    verify(statementNotContaining("BETWEEN"), times(2)).addBatch();
+  }
+
+  @Test
+  public void shouldNotRestrictMergeToKeyRangeOfNullKeys() throws SQLException {
+    final Map<String, String> props = upsertProps(1);
+    props.put(ExasolSinkConfig.UPSERT_PRUNE_MAX_KEY_SPREAD, "10");
+    final ExasolBufferedRecords buffer = createBuffer(props);
+    final Schema schema = SchemaBuilder.struct()
+        .field("id", Schema.OPTIONAL_INT32_SCHEMA)
+        .field("name", Schema.STRING_SCHEMA)
+        .build();
+    buffer.add(new SinkRecord(
+        "customer", 0, null, null, schema, new Struct(schema).put("id", 3).put("name", "a"), 1
+    ));
+    buffer.add(new SinkRecord(
+        "customer", 0, null, null, schema, new Struct(schema).put("name", "b"), 2
+    ));
+    buffer.flush();
+
+    assertEquals(1, statements.size());
+    verify(statementNotContaining("BETWEEN"), times(2)).addBatch();
+  }
+
+  private Map<String, String> deleteProps(String insertMode) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("insert.mode", insertMode);
+    props.put("pk.mode", "record_key");
+    props.put("pk.fields", "id");
+    props.put(ExasolSinkConfig.DELETE_ENABLED, "true");
+    props.put(ExasolSinkConfig.DELETE_KEYS_PER_STATEMENT, "2");
+    return props;
+  }
+
+  private SinkRecord keyedRecord(int id, String name, long offset) {
+    final Struct value = new Struct(VALUE_SCHEMA).put("id", id).put("name", name);
+    return new SinkRecord("customer", 0, Schema.INT32_SCHEMA, id, VALUE_SCHEMA, value, offset);
+  }
+
+  private SinkRecord tombstone(int id, long offset) {
+    return new SinkRecord("customer", 0, Schema.INT32_SCHEMA, id, null, null, offset);
+  }
+
+  private SinkRecord record(int id) {
+    return record(id, "name-" + id, id);
+  }
+
+  private SinkRecord record(int id, String name, long offset) {
+    final Struct value = new Struct(VALUE_SCHEMA).put("id", id).put("name", name);
+    return new SinkRecord("customer", 0, null, null, VALUE_SCHEMA, value, offset);
+  }
+
+  private PreparedStatement statementContaining(String fragment) {
+    for (Map.Entry<String, PreparedStatement> entry : statements.entrySet()) {
+      if (entry.getKey().contains(fragment)) {
+        return entry.getValue();
+      }
+    }
+    throw new AssertionError("No statement containing " + fragment);
+  }
+
+  private PreparedStatement statementNotContaining(String fragment) {
+    for (Map.Entry<String, PreparedStatement> entry : statements.entrySet()) {
+      if (!entry.getKey().contains(fragment)) {
+        return entry.getValue();
+      }
+    }
+    throw new AssertionError("No statement without " + fragment);
+  }
+}
@@ -0,0 +1,143 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExasolCsvSerializerTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("active", Schema.BOOLEAN_SCHEMA)
+      .field("price", Decimal.schema(2))
+      .field("ratio", Schema.FLOAT64_SCHEMA)
+      .field("born", Date.SCHEMA)
+      .field("seen", Timestamp.SCHEMA)
+      .build();
+
+  @Test
+  public void shouldWriteKeyFieldsFollowedByOtherFields() throws IOException {
+    final String csv = serialize(
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        "id",
+        record(7, "Ann"),
+        record(8, "Bob")
+    );
+
+    assertEquals(
+        "7,\"Ann\",TRUE,12.50,0.25,2018-10-01,2018-10-01 12:30:15.123\n"
+        + "8,\"Bob\",TRUE,12.50,0.25,2018-10-01,2018-10-01 12:30:15.123\n",
+        csv
+    );
+  }
+
+  @Test
+  public void shouldEscapeDelimitersAndKeepSeparatorsInStrings() throws IOException {
+    final String csv = serialize(
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        "id",
+        record(1, "say \"hi\",\nbye")
+    );
+
+    assertEquals(
+        "1,\"say \"\"hi\"\",\nbye\",TRUE,12.50,0.25,2018-10-01,2018-10-01 12:30:15.123\n",
+        csv
+    );
+  }
+
+  @Test
+  public void shouldWriteNullsAsEmptyFields() throws IOException {
+    final String csv = serialize(JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE, "id", record(1, null));
+
+    assertEquals("1,,TRUE,12.50,0.25,2018-10-01,2018-10-01 12:30:15.123\n", csv);
+  }
+
+  @Test
+  public void shouldWriteKafkaCoordinatesAsKey() throws IOException {
+    final Schema schema = SchemaBuilder.struct().field("name", Schema.STRING_SCHEMA).build();
+    final SinkRecord record = new SinkRecord(
+        "people", 3, null, null, schema, new Struct(schema).put("name", "Ann"), 42
+    );
+
+    final String csv = serialize(JdbcSinkConfig.PrimaryKeyMode.KAFKA, "", record);
+
+    assertEquals("\"people\",3,42,\"Ann\"\n", csv);
+  }
+
+  @Test
+  public void shouldWriteFieldsOfRecordKeyAsKey() throws IOException {
+    final Schema keySchema = SchemaBuilder.struct().field("id", Schema.INT64_SCHEMA).build();
+    final Schema schema = SchemaBuilder.struct().field("name", Schema.STRING_SCHEMA).build();
+    final SinkRecord record = new SinkRecord(
+        "people", 0, keySchema, new Struct(keySchema).put("id", 9L),
+        schema, new Struct(schema).put("name", "Ann"), 0
+    );
+
+    final String csv = serialize(JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY, "id", record);
+
+    assertEquals("9,\"Ann\"\n", csv);
+  }
+
+  @Test(expected = ConnectException.class)
+  public void shouldRejectBytes() throws IOException {
+    final Schema schema = SchemaBuilder.struct().field("data", Schema.BYTES_SCHEMA).build();
+    final SinkRecord record = new SinkRecord(
+        "blobs", 0, null, null, schema, new Struct(schema).put("data", new byte[] {1}), 0
+    );
+
+    serialize(JdbcSinkConfig.PrimaryKeyMode.NONE, "", record);
+  }
+
+  private String serialize(
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      String pkFields,
+      SinkRecord... records
+  ) throws IOException {
+    final SchemaPair schemaPair =
+        new SchemaPair(records[0].keySchema(), records[0].valueSchema());
+    final FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        "table",
+        pkMode,
+        pkFields.isEmpty() ? Collections.emptyList() : Arrays.asList(pkFields.split(",")),
+        Collections.emptySet(),
+        schemaPair
+    );
+    final ExasolCsvSerializer serializer =
+        new ExasolCsvSerializer(pkMode, schemaPair, fieldsMetadata);
+    final StringWriter out = new StringWriter();
+    serializer.write(Arrays.asList(records), out);
+    return out.toString();
+  }
+
+  private SinkRecord record(int id, String name) {
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("id", id)
+        .put("name", name)
+        .put("active", true)
+        .put("price", new BigDecimal("12.50"))
+        .put("ratio", 0.25)
+        .put("born", new java.util.Date(1538352000000L))
+        .put("seen", new java.util.Date(1538397015123L));
+    return new SinkRecord("people", 0, null, null, VALUE_SCHEMA, value, id);
+  }
+}
@@ -0,0 +1,187 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ExasolDbStructureTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("note", Schema.OPTIONAL_STRING_SCHEMA)
+      .build();
+
+  private final TableId tableId = new TableId(null, null, "customer");
+  private final Connection connection = mock(Connection.class);
+  private JdbcSinkConfig config;
+  private ExasolDatabaseDialect dialect;
+  private ExasolDbStructure dbStructure;
+  private FieldsMetadata fieldsMetadata;
+
+  @Before
+  public void setUp() throws SQLException {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://localhost:8563");
+    props.put("pk.mode", "record_value");
+    props.put("pk.fields", "id");
+    props.put("string.varchar.length", "16");
+    config = new JdbcSinkConfig(props);
+    dialect = spy(new ExasolDatabaseDialect(new ExasolSinkConfig(props)));
+    final Map<ColumnId, ColumnDefinition> columns = new HashMap<>();
+    addColumn(columns, "id", Types.DECIMAL, 10);
+    addColumn(columns, "name", Types.VARCHAR, 16);
+    addColumn(columns, "note", Types.VARCHAR, ExasolDatabaseDialect.MAX_VARCHAR_LENGTH);
+    doReturn(columns).when(dialect)
+        .describeColumns(any(Connection.class), anyString(), anyString(), anyString(), anyString());
+    doReturn(16).when(dialect).columnLength(any(Connection.class), eq(tableId), eq("name"));
+    doNothing().when(dialect).applyDdlStatements(any(Connection.class), anyListOf(String.class));
+    dbStructure = new ExasolDbStructure(dialect);
+    fieldsMetadata = FieldsMetadata.extract(
+        tableId.tableName(),
+        config.pkMode,
+        config.pkFields,
+        config.fieldsWhitelist,
+        new SchemaPair(null, VALUE_SCHEMA)
+    );
+  }
+
+  @Test
+  public void shouldWidenColumnsTooShortForTheBatch() throws SQLException {
+    final String longName = String.format("%20s", "x");
+    assertTrue(dbStructure.widenIfNecessary(
+        config,
+        connection,
+        tableId,
+        fieldsMetadata,
+        Arrays.asList(record("short", longName), record(longName + longName, null))
+    ));
+
+    verify(dialect).applyDdlStatements(connection, Collections.singletonList(
+        "ALTER TABLE \"customer\" MODIFY COLUMN \"name\" VARCHAR(64)"
+    ));
+  }
+
+  @Test
+  public void shouldTrackLengthsWithoutDescribingTheTableAgain() throws SQLException {
+    final List<SinkRecord> batch =
+        Collections.singletonList(record(String.format("%20s", "x"), ""));
+    assertTrue(dbStructure.widenIfNecessary(config, connection, tableId, fieldsMetadata, batch));
+    assertFalse(dbStructure.widenIfNecessary(config, connection, tableId, fieldsMetadata, batch));
+
+    verify(dialect, times(1))
+        .describeColumns(any(Connection.class), anyString(), anyString(), anyString(), anyString());
+    verify(dialect, times(1)).applyDdlStatements(any(Connection.class), anyListOf(String.class));
+  }
+
+  @Test
+  public void shouldNotShortenColumnsWidenedByAnotherTask() throws SQLException {
+    doReturn(1024).when(dialect).columnLength(any(Connection.class), eq(tableId), eq("name"));
+    final List<SinkRecord> batch =
+        Collections.singletonList(record(String.format("%300s", "x"), null));
+
+    assertFalse(dbStructure.widenIfNecessary(config, connection, tableId, fieldsMetadata, batch));
+    assertFalse(dbStructure.widenIfNecessary(config, connection, tableId, fieldsMetadata, batch));
+
+    verify(dialect, times(1)).columnLength(connection, tableId, "name");
+    verify(dialect, never()).applyDdlStatements(any(Connection.class), anyListOf(String.class));
+  }
+
+  @Test
+  public void shouldWidenFromCurrentLengthOfColumn() throws SQLException {
+    doReturn(256).when(dialect).columnLength(any(Connection.class), eq(tableId), eq("name"));
+    assertTrue(dbStructure.widenIfNecessary(
+        config,
+        connection,
+        tableId,
+        fieldsMetadata,
+        Collections.singletonList(record(String.format("%300s", "x"), null))
+    ));
+
+    verify(dialect).applyDdlStatements(connection, Collections.singletonList(
+        "ALTER TABLE \"customer\" MODIFY COLUMN \"name\" VARCHAR(512)"
+    ));
+  }
+
+  @Test
+  public void shouldNotWidenColumnsThatFit() throws SQLException {
+    assertFalse(dbStructure.widenIfNecessary(
+        config,
+        connection,
+        tableId,
+        fieldsMetadata,
+        Collections.singletonList(record("sixteen chars...", null))
+    ));
+
+    verify(dialect, never()).applyDdlStatements(any(Connection.class), anyListOf(String.class));
+  }
+
+  @Test
+  public void shouldWidenToPowersOfTwoUpToClobLength() {
+    assertEquals(32, ExasolDbStructure.widenedLength(17));
+    assertEquals(64, ExasolDbStructure.widenedLength(64));
+    assertEquals(
+        ExasolDatabaseDialect.MAX_VARCHAR_LENGTH,
+        ExasolDbStructure.widenedLength(ExasolDatabaseDialect.MAX_VARCHAR_LENGTH - 1)
+    );
+  }
+
+  private void addColumn(
+      Map<ColumnId, ColumnDefinition> columns,
+      String name,
+      int type,
+      int precision
+  ) {
+    final ColumnId id = new ColumnId(tableId, name);
+    columns.put(id, new ColumnDefinition(
+        id, type, null, null,
+        ColumnDefinition.Nullability.NULL, ColumnDefinition.Mutability.UNKNOWN,
+        precision, 0, false, 0, false, false, false, false, false
+    ));
+  }
+
+  private static SinkRecord record(String name, String note) {
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("id", 1)
+        .put("name", name)
+        .put("note", note);
+    return new SinkRecord("customer", 0, null, null, VALUE_SCHEMA, value, 0);
+  }
+}
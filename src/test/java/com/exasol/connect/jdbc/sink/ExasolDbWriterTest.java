@@ -0,0 +1,162 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.util.IdentifierRules;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolDbWriterTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT64_SCHEMA)
+      .build();
+
+  private Connection connection;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+      final PreparedStatement statement = mock(PreparedStatement.class);
+      when(statement.executeBatch()).thenReturn(new int[] {Statement.SUCCESS_NO_INFO});
+      return statement;
+    });
+  }
+
+  @Test
+  public void shouldCommitAllTablesOfPutOnce() throws SQLException {
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    writer(metrics).write(records("a", "b", "c", "a", "b"));
+
+    verify(connection, times(1)).commit();
+    assertEquals(1, metrics.getCommittedTransactions());
+    assertEquals(5, metrics.getCommittedRecords());
+  }
+
+  @Test
+  public void shouldCommitWhenTransactionReachesRecordCeiling() throws SQLException {
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    writer(metrics, "transaction.max.records", "2").write(records("a", "b", "a", "b", "a"));
+
+    verify(connection, times(3)).commit();
+    assertEquals(5, metrics.getCommittedRecords());
+  }
+
+  @Test
+  public void shouldCommitBeforeTransactionExceedsTableCeiling() throws SQLException {
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    writer(metrics, "transaction.max.tables", "2").write(records("a", "b", "a", "c", "a"));
+
+    verify(connection, times(2)).commit();
+    assertEquals(2, metrics.getCommittedTransactions());
+  }
+
+  @Test
+  public void shouldWriteMoreTablesThanCachedStatements() throws SQLException {
+    final List<PreparedStatement> statements = new ArrayList<>();
+    doAnswer(invocation -> {
+      final PreparedStatement statement = mock(PreparedStatement.class);
+      final boolean[] closed = {false};
+      when(statement.executeBatch()).thenAnswer(execution -> {
+        if (closed[0]) {
+          throw new SQLException("Statement is closed");
+        }
+        return new int[] {Statement.SUCCESS_NO_INFO};
+      });
+      doAnswer(close -> closed[0] = true).when(statement).close();
+      statements.add(statement);
+      return statement;
+    }).when(connection).prepareStatement(anyString());
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    writer(metrics, "statement.cache.size", "2").write(records("a", "b", "c", "d"));
+
+    verify(connection, times(1)).commit();
+    assertEquals(4, metrics.getCommittedRecords());
+    for (PreparedStatement statement : statements.subList(0, 2)) {
+      verify(statement).close();
+    }
+  }
+
+  @Test
+  public void shouldRollBackBeforeDroppingStagingTables() throws SQLException {
+    final ExasolDbWriter writer = writer(
+        new ExasolSinkMetrics(),
+        "insert.mode", "upsert",
+        "pk.mode", "record_value",
+        "pk.fields", "id",
+        ExasolSinkConfig.UPSERT_STRATEGY, "staging"
+    );
+    writer.write(records("a"));
+    writer.closeQuietly();
+
+    final InOrder order = inOrder(connection);
+    order.verify(connection).commit();
+    order.verify(connection).rollback();
+    order.verify(connection).commit();
+  }
+
+  private ExasolDbWriter writer(ExasolSinkMetrics metrics, String... settings) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    for (int i = 0; i < settings.length; i += 2) {
+      props.put(settings[i], settings[i + 1]);
+    }
+    final ExasolSinkConfig config = new ExasolSinkConfig(props);
+    final ExasolDatabaseDialect dialect = spy(new ExasolDatabaseDialect(config));
+    try {
+      doReturn(connection).when(dialect).getConnection();
+      doReturn(new IdentifierRules(".", "\"", "\"")).when(dialect).identifierRules();
+      doReturn(true).when(dialect).isConnectionValid(any(Connection.class), anyInt());
+    } catch (SQLException e) {
+      throw new AssertionError(e);
+    }
+    return new ExasolDbWriter(config, dialect, mock(ExasolDbStructure.class), metrics);
+  }
+
+  private static List<SinkRecord> records(String... topics) {
+    final List<SinkRecord> records = new ArrayList<>();
+    for (int i = 0; i < topics.length; i++) {
+      records.add(new SinkRecord(
+          topics[i],
+          0,
+          null,
+          null,
+          VALUE_SCHEMA,
+          new Struct(VALUE_SCHEMA).put("id", (long) i),
+          i
+      ));
+    }
+    return records;
+  }
+}
@@ -0,0 +1,103 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.errors.ConnectException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExasolImportServerTest {
+
+  private ExasolImportServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new ExasolImportServer("127.0.0.1", 0);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void shouldStreamOfferedContent() throws IOException {
+    try (ExasolImportServer.Transfer transfer = server.offer(out -> {
+      for (int i = 0; i < 10000; i++) {
+        out.write(i + ",\"row " + i + "\"\n");
+      }
+    })) {
+      assertTrue(transfer.url().startsWith("http://127.0.0.1:"));
+      assertTrue(transfer.fileName().endsWith(".csv"));
+
+      final String body = fetch(transfer.url() + "/" + transfer.fileName());
+
+      assertEquals(10000, body.split("\n").length);
+      assertTrue(body.startsWith("0,\"row 0\"\n1,\"row 1\"\n"));
+      assertTrue(body.endsWith("9999,\"row 9999\"\n"));
+    }
+  }
+
+  @Test
+  public void shouldEncodeContentAsUtf8() throws IOException {
+    try (ExasolImportServer.Transfer transfer = server.offer(out -> out.write("\"Zürich\"\n"))) {
+      assertEquals("\"Zürich\"\n", fetch(transfer.url() + "/" + transfer.fileName()));
+    }
+  }
+
+  @Test
+  public void shouldNotServeUnknownOrClosedFiles() throws IOException {
+    final ExasolImportServer.Transfer transfer = server.offer(out -> out.write("secret"));
+    transfer.close();
+
+    assertEquals(404, responseCode(transfer.url() + "/" + transfer.fileName()));
+    assertEquals(404, responseCode(transfer.url() + "/other.csv"));
+  }
+
+  @Test(expected = ConnectException.class)
+  public void shouldReportFailedContentOnClose() throws IOException {
+    final ExasolImportServer.Transfer transfer = server.offer(out -> {
+      throw new IOException("broken");
+    });
+    try {
+      fetch(transfer.url() + "/" + transfer.fileName());
+    } catch (IOException expected) {
+      // the client sees a truncated response
+    }
+    transfer.close();
+  }
+
+  static String fetch(String url) throws IOException {
+    final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    try (InputStream in = connection.getInputStream()) {
+      final ByteArrayOutputStream body = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        body.write(buffer, 0, read);
+      }
+      return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private static int responseCode(String url) throws IOException {
+    final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    try {
+      return connection.getResponseCode();
+    } finally {
+      connection.disconnect();
+    }
+  }
+}
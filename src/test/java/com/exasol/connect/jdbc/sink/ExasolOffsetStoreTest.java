@@ -0,0 +1,145 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolOffsetStoreTest {
+
+  private Connection connection;
+  private PreparedStatement select;
+  private PreparedStatement merge;
+  private ExasolOffsetStore store;
+
+  @Before
+  public void setUp() throws SQLException {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("name", "orders-sink");
+    props.put("offsets.table", "KAFKA.OFFSETS");
+    final ExasolSinkConfig config = new ExasolSinkConfig(props);
+    connection = mock(Connection.class);
+    when(connection.createStatement()).thenReturn(mock(Statement.class));
+    select = mock(PreparedStatement.class);
+    merge = mock(PreparedStatement.class);
+    when(connection.prepareStatement(startsWith("SELECT"))).thenReturn(select);
+    when(connection.prepareStatement(startsWith("MERGE"))).thenReturn(merge);
+    final ResultSet resultSet = storedOffset(10L);
+    when(select.executeQuery()).thenReturn(resultSet);
+    store = new ExasolOffsetStore(config, new ExasolDatabaseDialect(config));
+  }
+
+  @Test
+  public void shouldReadOffsetsOfAssignedPartitions() throws SQLException {
+    final TopicPartition first = new TopicPartition("orders", 0);
+    final TopicPartition second = new TopicPartition("orders", 1);
+
+    assertEquals(
+        Collections.singletonMap(first, 10L),
+        store.read(connection, Arrays.asList(first, second))
+    );
+
+    verify(select).setString(1, "orders-sink");
+    verify(connection).commit();
+  }
+
+  @Test
+  public void shouldReadOffsetsAgainWhenPartitionIsAssignedAgain() throws SQLException {
+    final TopicPartition partition = new TopicPartition("orders", 0);
+    final ResultSet first = storedOffset(10L);
+    final ResultSet second = storedOffset(25L);
+    when(select.executeQuery()).thenReturn(first, second);
+
+    store.read(connection, Collections.singletonList(partition));
+    store.close(Collections.singletonList(partition));
+    // another task wrote the partition in the meantime
+    assertEquals(
+        Collections.singletonMap(partition, 25L),
+        store.read(connection, Collections.singletonList(partition))
+    );
+
+    assertEquals(
+        Collections.singletonList(record(0, 25)),
+        store.unwritten(connection, Arrays.asList(record(0, 20), record(0, 25)))
+    );
+    verify(connection, times(2)).prepareStatement(anyString());
+  }
+
+  @Test
+  public void shouldSkipRecordsWrittenBefore() throws SQLException {
+    final Collection<SinkRecord> unwritten = store.unwritten(connection, Arrays.asList(
+        record(0, 9),
+        record(0, 10),
+        record(1, 3)
+    ));
+
+    assertEquals(Arrays.asList(record(0, 10), record(1, 3)), unwritten);
+  }
+
+  @Test
+  public void shouldStoreOffsetsAfterRecords() throws SQLException {
+    store.read(connection, Collections.singletonList(new TopicPartition("orders", 0)));
+    final Map<TopicPartition, Long> offsets = store.write(
+        connection,
+        new ExasolStatementCache(2),
+        Arrays.asList(record(0, 12), record(0, 11), record(1, 3))
+    );
+
+    verify(merge, times(2)).setString(1, "orders-sink");
+    verify(merge).setLong(4, 13L);
+    verify(merge).setLong(4, 4L);
+    verify(merge, times(2)).addBatch();
+    verify(merge).executeBatch();
+
+    store.committed(offsets);
+    assertEquals(
+        Collections.singletonList(record(0, 13)),
+        store.unwritten(connection, Arrays.asList(record(0, 12), record(0, 13)))
+    );
+  }
+
+  private static ResultSet storedOffset(long offset) throws SQLException {
+    final ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getString(1)).thenReturn("orders");
+    when(resultSet.getInt(2)).thenReturn(0);
+    when(resultSet.getLong(3)).thenReturn(offset);
+    return resultSet;
+  }
+
+  private static SinkRecord record(int partition, long offset) {
+    return new SinkRecord(
+        "orders",
+        partition,
+        Schema.INT64_SCHEMA,
+        offset,
+        Schema.INT64_SCHEMA,
+        offset,
+        offset
+    );
+  }
+}
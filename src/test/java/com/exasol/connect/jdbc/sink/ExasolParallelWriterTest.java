@@ -0,0 +1,208 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolParallelWriterTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("name", Schema.STRING_SCHEMA)
+      .build();
+  private static final String SQL = "INSERT INTO \"customer\"(\"id\",\"name\") VALUES(?,?)";
+
+  private final SchemaPair schemaPair = new SchemaPair(null, VALUE_SCHEMA);
+  private final FakeSubConnections provider = new FakeSubConnections(3);
+  private ExasolDatabaseDialect dialect;
+  private ExasolParallelWriter writer;
+
+  @Before
+  public void setUp() {
+    dialect = new ExasolDatabaseDialect(
+        new JdbcSinkConfig(Collections.singletonMap("connection.url", "jdbc:exa://something"))
+    );
+    writer = new ExasolParallelWriter(provider, 8);
+  }
+
+  @After
+  public void tearDown() {
+    writer.close();
+  }
+
+  @Test
+  public void shouldInsertEveryRecordOnceOverAllSubConnections() throws SQLException {
+    final Connection main = mock(Connection.class);
+    final int[] counts = writer.insert(main, SQL, records(0, 300), this::binder);
+
+    assertEquals(300, counts.length);
+    int inserted = 0;
+    for (FakeSubConnection subConnection : provider.opened) {
+      assertEquals(main, subConnection.main);
+      final int rows = subConnection.rows.get();
+      assertTrue("every node gets a share", rows > 0);
+      inserted += rows;
+    }
+    assertEquals(300, inserted);
+    assertEquals(3, provider.opened.size());
+  }
+
+  @Test
+  public void shouldSliceEvenly() {
+    final List<List<SinkRecord>> slices = ExasolParallelWriter.slice(records(0, 10), 3);
+
+    assertEquals(3, slices.get(0).size());
+    assertEquals(3, slices.get(1).size());
+    assertEquals(4, slices.get(2).size());
+  }
+
+  @Test
+  public void shouldExecuteOnEverySubConnectionWithFewerRecords() throws SQLException {
+    final int[] counts = writer.insert(mock(Connection.class), SQL, records(0, 2), this::binder);
+
+    assertEquals(2, counts.length);
+    for (FakeSubConnection subConnection : provider.opened) {
+      assertEquals(1, subConnection.executions.get());
+    }
+    assertEquals(3, provider.opened.size());
+  }
+
+  @Test
+  public void shouldReuseSubConnectionsUntilMainConnectionChanges() throws SQLException {
+    final Connection main = mock(Connection.class);
+    writer.insert(main, SQL, records(0, 10), this::binder);
+    writer.insert(main, SQL, records(10, 20), this::binder);
+    assertEquals(3, provider.opened.size());
+
+    final List<FakeSubConnection> first = new ArrayList<>(provider.opened);
+    writer.insert(mock(Connection.class), SQL, records(0, 10), this::binder);
+
+    assertEquals(6, provider.opened.size());
+    for (FakeSubConnection subConnection : first) {
+      verify(subConnection.connection).close();
+    }
+  }
+
+  @Test
+  public void shouldReportFailedSlices() throws SQLException {
+    final SQLException failure = new SQLException("node down");
+    provider.failure = failure;
+    try {
+      writer.insert(mock(Connection.class), SQL, records(0, 30), this::binder);
+      fail("Expected the insert to fail");
+    } catch (SQLException e) {
+      assertSame(failure, e);
+    }
+  }
+
+  private ExasolStatementBinder binder(PreparedStatement statement) {
+    return new ExasolStatementBinder(
+        dialect,
+        statement,
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        schemaPair,
+        metadata(),
+        JdbcSinkConfig.InsertMode.INSERT
+    );
+  }
+
+  private FieldsMetadata metadata() {
+    return FieldsMetadata.extract(
+        "customer",
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        Collections.singletonList("id"),
+        Collections.emptySet(),
+        schemaPair
+    );
+  }
+
+  private List<SinkRecord> records(int from, int to) {
+    final List<SinkRecord> records = new ArrayList<>();
+    for (int id = from; id < to; id++) {
+      final Struct value = new Struct(VALUE_SCHEMA).put("id", id).put("name", "name-" + id);
+      records.add(new SinkRecord("customer", 0, null, null, VALUE_SCHEMA, value, id));
+    }
+    return records;
+  }
+
+  /**
+   * An in-process stand-in for the sub-connections of an Exasol cluster.
+   */
+  private static class FakeSubConnections implements ExasolSubConnectionProvider {
+    private final int nodes;
+    private final List<FakeSubConnection> opened = new ArrayList<>();
+    private SQLException failure;
+
+    FakeSubConnections(int nodes) {
+      this.nodes = nodes;
+    }
+
+    @Override
+    public List<Connection> open(Connection connection, int maxConnections) throws SQLException {
+      final List<Connection> connections = new ArrayList<>();
+      for (int i = 0; i < Math.min(nodes, maxConnections); i++) {
+        final FakeSubConnection subConnection = new FakeSubConnection(connection, failure);
+        opened.add(subConnection);
+        connections.add(subConnection.connection);
+      }
+      return connections;
+    }
+  }
+
+  private static class FakeSubConnection {
+    private final Connection main;
+    private final Connection connection = mock(Connection.class);
+    private final AtomicInteger rows = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    FakeSubConnection(Connection main, SQLException failure) throws SQLException {
+      this.main = main;
+      final PreparedStatement statement = mock(PreparedStatement.class);
+      when(connection.prepareStatement(anyString())).thenReturn(statement);
+      doAnswer(invocation -> {
+        rows.incrementAndGet();
+        return pending.incrementAndGet();
+      }).when(statement).addBatch();
+      when(statement.executeBatch()).thenAnswer(invocation -> {
+        if (failure != null) {
+          throw failure;
+        }
+        executions.incrementAndGet();
+        final int[] counts = new int[pending.getAndSet(0)];
+        Arrays.fill(counts, 1);
+        return counts;
+      });
+    }
+  }
+}
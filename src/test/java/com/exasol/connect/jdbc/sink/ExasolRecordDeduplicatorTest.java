@@ -0,0 +1,117 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode.NONE;
+import static io.confluent.connect.jdbc.sink.JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE;
+
+public class ExasolRecordDeduplicatorTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT32_SCHEMA)
+      .field("name", Schema.STRING_SCHEMA)
+      .build();
+
+  private final ExasolRecordDeduplicator deduplicator = new ExasolRecordDeduplicator();
+
+  @Test
+  public void shouldKeepLastRecordOfEachKeyInBatchOrder() {
+    final List<SinkRecord> records = Arrays.asList(
+        record(1, "a", 0, 10),
+        record(2, "b", 0, 11),
+        record(1, "c", 0, 12),
+        record(3, "d", 0, 13),
+        record(2, "e", 0, 14),
+        record(1, "f", 0, 15)
+    );
+
+    final List<SinkRecord> kept = deduplicator.deduplicate(records, keys(RECORD_VALUE));
+
+    assertEquals(Arrays.asList("d", "e", "f"), names(kept));
+  }
+
+  @Test
+  public void shouldKeepHighestOffsetOfAPartition() {
+    final List<SinkRecord> records = Arrays.asList(
+        record(1, "newer", 0, 20),
+        record(1, "older", 0, 19)
+    );
+
+    final List<SinkRecord> kept = deduplicator.deduplicate(records, keys(RECORD_VALUE));
+
+    assertEquals(Collections.singletonList("newer"), names(kept));
+  }
+
+  @Test
+  public void shouldReturnSameListWithoutDuplicates() {
+    final List<SinkRecord> records = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      records.add(record(i, "n" + i, 0, i));
+    }
+
+    assertSame(records, deduplicator.deduplicate(records, keys(RECORD_VALUE)));
+  }
+
+  @Test
+  public void shouldReuseIndexAcrossBatchesOfDifferentSizes() {
+    final ExasolRecordKeys keys = keys(RECORD_VALUE);
+    final List<SinkRecord> large = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      large.add(record(i % 100, "n" + i, 0, i));
+    }
+    assertEquals(100, deduplicator.deduplicate(large, keys).size());
+
+    final List<SinkRecord> small = Arrays.asList(record(7, "x", 0, 1), record(8, "y", 0, 2));
+    assertSame(small, deduplicator.deduplicate(small, keys));
+  }
+
+  @Test
+  public void shouldKeepAllRecordsWithoutKey() {
+    final List<SinkRecord> records = Arrays.asList(record(1, "a", 0, 0), record(1, "b", 0, 1));
+
+    assertSame(records, deduplicator.deduplicate(records, keys(NONE)));
+  }
+
+  private static ExasolRecordKeys keys(JdbcSinkConfig.PrimaryKeyMode pkMode) {
+    final SchemaPair schemaPair = new SchemaPair(null, VALUE_SCHEMA);
+    final FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        "customer",
+        pkMode,
+        pkMode == NONE
+        ? Collections.emptyList()
+        : Collections.singletonList("id"),
+        Collections.emptySet(),
+        schemaPair
+    );
+    return new ExasolRecordKeys(pkMode, schemaPair, fieldsMetadata);
+  }
+
+  private static SinkRecord record(int id, String name, int partition, long offset) {
+    final Struct value = new Struct(VALUE_SCHEMA).put("id", id).put("name", name);
+    return new SinkRecord("customer", partition, null, null, VALUE_SCHEMA, value, offset);
+  }
+
+  private static List<String> names(List<SinkRecord> records) {
+    final List<String> names = new ArrayList<>();
+    for (SinkRecord record : records) {
+      names.add(((Struct) record.value()).getString("name"));
+    }
+    return names;
+  }
+}
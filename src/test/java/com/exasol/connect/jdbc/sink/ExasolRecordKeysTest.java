@@ -0,0 +1,136 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExasolRecordKeysTest {
+
+  private static final Schema KEY_SCHEMA = SchemaBuilder.struct()
+      .field("region", Schema.STRING_SCHEMA)
+      .field("id", Schema.INT64_SCHEMA)
+      .build();
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("region", Schema.STRING_SCHEMA)
+      .field("id", Schema.INT64_SCHEMA)
+      .field("name", Schema.STRING_SCHEMA)
+      .build();
+
+  @Test
+  public void shouldCompareValueKeyFields() {
+    final ExasolRecordKeys keys = keys(
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        Arrays.asList("region", "id"),
+        null
+    );
+
+    assertKeysEqual(keys, valueRecord("eu", 1, "a", 0), valueRecord("eu", 1, "b", 1));
+    assertFalse(keys.sameKey(valueRecord("eu", 1, "a", 0), valueRecord("us", 1, "a", 1)));
+    assertFalse(keys.sameKey(valueRecord("eu", 1, "a", 0), valueRecord("eu", 2, "a", 1)));
+  }
+
+  @Test
+  public void shouldCompareStructRecordKeys() {
+    final ExasolRecordKeys keys = keys(
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY,
+        Collections.emptyList(),
+        KEY_SCHEMA
+    );
+
+    assertKeysEqual(keys, keyRecord(new Struct(KEY_SCHEMA).put("region", "eu").put("id", 1L), 0),
+                    keyRecord(new Struct(KEY_SCHEMA).put("region", "eu").put("id", 1L), 1));
+    assertFalse(keys.sameKey(
+        keyRecord(new Struct(KEY_SCHEMA).put("region", "eu").put("id", 1L), 0),
+        keyRecord(new Struct(KEY_SCHEMA).put("region", "eu").put("id", 2L), 1)
+    ));
+  }
+
+  @Test
+  public void shouldComparePrimitiveRecordKeys() {
+    final ExasolRecordKeys keys = keys(
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_KEY,
+        Collections.singletonList("key"),
+        Schema.BYTES_SCHEMA
+    );
+
+    assertKeysEqual(keys, keyRecord(new byte[] {1, 2}, 0), keyRecord(new byte[] {1, 2}, 1));
+    assertFalse(keys.sameKey(keyRecord(new byte[] {1, 2}, 0), keyRecord(new byte[] {2, 1}, 1)));
+  }
+
+  @Test
+  public void shouldUseKafkaCoordinatesAsKey() {
+    final ExasolRecordKeys keys = keys(
+        JdbcSinkConfig.PrimaryKeyMode.KAFKA,
+        Collections.emptyList(),
+        null
+    );
+
+    assertTrue(keys.hasKey());
+    assertKeysEqual(keys, valueRecord("eu", 1, "a", 5), valueRecord("us", 2, "b", 5));
+    assertFalse(keys.sameKey(valueRecord("eu", 1, "a", 5), valueRecord("eu", 1, "a", 6)));
+  }
+
+  @Test
+  public void shouldHaveNoKeyWithoutPrimaryKeyMode() {
+    final ExasolRecordKeys keys = keys(
+        JdbcSinkConfig.PrimaryKeyMode.NONE,
+        Collections.emptyList(),
+        null
+    );
+
+    assertFalse(keys.hasKey());
+  }
+
+  private static void assertKeysEqual(ExasolRecordKeys keys, SinkRecord left, SinkRecord right) {
+    assertTrue(keys.sameKey(left, right));
+    assertEquals(keys.hash(left), keys.hash(right));
+  }
+
+  private static ExasolRecordKeys keys(
+      JdbcSinkConfig.PrimaryKeyMode pkMode,
+      List<String> pkFields,
+      Schema keySchema
+  ) {
+    final SchemaPair schemaPair = new SchemaPair(keySchema, VALUE_SCHEMA);
+    final FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        "customer",
+        pkMode,
+        pkFields,
+        Collections.emptySet(),
+        schemaPair
+    );
+    return new ExasolRecordKeys(pkMode, schemaPair, fieldsMetadata);
+  }
+
+  private static SinkRecord valueRecord(String region, long id, String name, long offset) {
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("region", region)
+        .put("id", id)
+        .put("name", name);
+    return new SinkRecord("customer", 0, null, null, VALUE_SCHEMA, value, offset);
+  }
+
+  private static SinkRecord keyRecord(Object key, long offset) {
+    final Schema keySchema = key instanceof Struct ? KEY_SCHEMA : Schema.BYTES_SCHEMA;
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("region", "eu")
+        .put("id", 1L)
+        .put("name", "n" + offset);
+    return new SinkRecord("customer", 0, keySchema, key, VALUE_SCHEMA, value, offset);
+  }
+}
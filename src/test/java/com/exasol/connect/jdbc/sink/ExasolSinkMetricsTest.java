@@ -0,0 +1,90 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.exasol.connect.jdbc.util.LruCache;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class ExasolSinkMetricsTest {
+
+  private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+  @Test
+  public void shouldCountDeduplicatedRecordsPerFlush() {
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    metrics.recordDeduplication(5);
+    metrics.recordDeduplication(2);
+
+    assertEquals(7, metrics.getDeduplicatedRecords());
+    assertEquals(2, metrics.getLastFlushDeduplicatedRecords());
+    assertEquals(5, metrics.getMaxFlushDeduplicatedRecords());
+  }
+
+  @Test
+  public void shouldReportHitsAndMissesOfWatchedCaches() {
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    assertEquals(0, metrics.getSqlCacheHits());
+
+    final LruCache<String, String> sqlCache = new LruCache<>(4);
+    final LruCache<String, String> statementCache = new LruCache<>(4);
+    metrics.watchCaches(sqlCache, statementCache);
+    sqlCache.computeIfAbsent("a", key -> key);
+    sqlCache.computeIfAbsent("a", key -> key);
+    statementCache.get("b");
+
+    assertEquals(1, metrics.getSqlCacheHits());
+    assertEquals(1, metrics.getSqlCacheMisses());
+    assertEquals(0, metrics.getStatementCacheHits());
+    assertEquals(1, metrics.getStatementCacheMisses());
+  }
+
+  @Test
+  public void shouldPublishAndWithdrawMetrics() throws JMException {
+    final ObjectName name = new ObjectName(
+        "com.exasol.connect.jdbc:type=sink-task-metrics,connector=\"orders\",task=3"
+    );
+    final ExasolSinkMetrics stale = new ExasolSinkMetrics();
+    stale.register("orders", 3);
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    metrics.register("orders", 3);
+    metrics.recordDeduplication(4);
+
+    assertEquals(4L, server.getAttribute(name, "DeduplicatedRecords"));
+
+    metrics.close();
+    assertFalse(server.isRegistered(name));
+  }
+
+  @Test
+  public void shouldPublishBatchSizersPerTable() throws JMException {
+    final ObjectName name = new ObjectName(
+        "com.exasol.connect.jdbc:type=sink-table-metrics,connector=\"orders\",task=1,"
+        + "table=\"\\\"ORDERS\\\"\""
+    );
+    final ExasolSinkConfig config = new ExasolSinkConfig(
+        Collections.singletonMap("connection.url", "jdbc:exa://something")
+    );
+    final TableId table = new TableId(null, null, "ORDERS");
+    final ExasolSinkMetrics metrics = new ExasolSinkMetrics();
+    metrics.register("orders", 1);
+    final ExasolBatchSizer sizer = metrics.batchSizer(table, () -> new ExasolBatchSizer(config));
+
+    assertSame(sizer, metrics.batchSizer(table, () -> new ExasolBatchSizer(config)));
+    assertEquals(3000, server.getAttribute(name, "BatchSize"));
+
+    metrics.close();
+    assertFalse(server.isRegistered(name));
+  }
+}
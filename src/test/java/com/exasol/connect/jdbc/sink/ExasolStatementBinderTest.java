@@ -0,0 +1,263 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.sink.SinkRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.sink.JdbcSinkConfig;
+import io.confluent.connect.jdbc.sink.metadata.FieldsMetadata;
+import io.confluent.connect.jdbc.sink.metadata.SchemaPair;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ExasolStatementBinderTest {
+
+  private static final Schema VALUE_SCHEMA = SchemaBuilder.struct()
+      .field("id", Schema.INT64_SCHEMA)
+      .field("age", Schema.OPTIONAL_INT8_SCHEMA)
+      .field("score", Schema.FLOAT32_SCHEMA)
+      .field("active", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+      .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("price", Decimal.schema(2))
+      .build();
+
+  private ExasolDatabaseDialect dialect;
+  private PreparedStatement statement;
+
+  @Before
+  public void setUp() {
+    dialect = new ExasolDatabaseDialect(
+        new JdbcSinkConfig(Collections.singletonMap("connection.url", "jdbc:exa://something"))
+    );
+    statement = mock(PreparedStatement.class);
+  }
+
+  @Test
+  public void shouldBindPrimitiveColumnsWithTypedSetters() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.INSERT);
+
+    binder.bindRecord(record(7L, (byte) 42, 0.5f, true, "Ann", "1.25"));
+
+    final InOrder inOrder = inOrder(statement);
+    inOrder.verify(statement).setLong(1, 7L);
+    inOrder.verify(statement).setLong(2, 42L);
+    inOrder.verify(statement).setDouble(3, 0.5d);
+    inOrder.verify(statement).setBoolean(4, true);
+    inOrder.verify(statement).setString(5, "Ann");
+    inOrder.verify(statement).setBigDecimal(6, new BigDecimal("1.25"));
+    inOrder.verify(statement).addBatch();
+  }
+
+  @Test
+  public void shouldBindNullsWithColumnTypes() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.INSERT);
+
+    binder.bindRecord(record(7L, null, 0.5f, null, null, "1.25"));
+
+    verify(statement).setNull(2, Types.BIGINT);
+    verify(statement).setNull(4, Types.BOOLEAN);
+    verify(statement).setNull(5, Types.VARCHAR);
+  }
+
+  @Test
+  public void shouldBindKeyColumnsLastInUpdateMode() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.UPDATE);
+
+    binder.bindRecord(record(7L, (byte) 42, 0.5f, true, "Ann", "1.25"));
+
+    verify(statement).setLong(1, 42L);
+    verify(statement).setBigDecimal(5, new BigDecimal("1.25"));
+    verify(statement).setLong(6, 7L);
+  }
+
+  @Test
+  public void shouldBindSeveralRowsPerStatement() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.UPSERT);
+    final List<SinkRecord> records = new ArrayList<>();
+    for (long id = 0; id < 4; id++) {
+      records.add(record(id, (byte) 1, 1f, false, "n" + id, "0.00"));
+    }
+
+    binder.bindRecords(records, 2);
+
+    verify(statement, times(2)).addBatch();
+    verify(statement).setLong(1, 0L);
+    verify(statement).setLong(1, 2L);
+    verify(statement, times(1)).setLong(7, 1L);
+    verify(statement, times(1)).setLong(7, 3L);
+    verify(statement).setString(11, "n1");
+    verify(statement).setString(11, "n3");
+  }
+
+  @Test
+  public void shouldReuseColumnsForSmallerAndLargerBatches() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.INSERT);
+    final List<SinkRecord> large = new ArrayList<>();
+    for (long id = 0; id < 100; id++) {
+      large.add(record(id, null, 1f, true, null, "0.00"));
+    }
+    binder.bindRecords(large, 1);
+    binder.bindRecords(Arrays.asList(record(500L, (byte) 5, 1f, true, "x", "0.00")), 1);
+    final List<SinkRecord> larger = new ArrayList<>(large);
+    larger.addAll(large);
+    binder.bindRecords(larger, 1);
+
+    verify(statement).setLong(2, 5L);
+    verify(statement).setString(5, "x");
+    verify(statement, times(300)).setNull(2, Types.BIGINT);
+  }
+
+  @Test
+  public void shouldBindKafkaCoordinatesAsKey() throws SQLException {
+    final SchemaPair schemaPair = new SchemaPair(null, VALUE_SCHEMA);
+    final FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        "customer",
+        JdbcSinkConfig.PrimaryKeyMode.KAFKA,
+        Collections.emptyList(),
+        Collections.emptySet(),
+        schemaPair
+    );
+    final ExasolStatementBinder binder = dialect.statementBinder(
+        statement,
+        JdbcSinkConfig.PrimaryKeyMode.KAFKA,
+        schemaPair,
+        fieldsMetadata,
+        JdbcSinkConfig.InsertMode.INSERT
+    );
+
+    binder.bindRecord(record(7L, (byte) 42, 0.5f, true, "Ann", "1.25"));
+
+    verify(statement).setString(1, "customer");
+    verify(statement).setLong(2, 3L);
+    verify(statement).setLong(3, 99L);
+    verify(statement).setLong(4, 7L);
+  }
+
+  @Test
+  public void shouldRejectIncompleteStatementRows() throws SQLException {
+    final ExasolStatementBinder binder = binder(JdbcSinkConfig.InsertMode.UPSERT);
+    try {
+      binder.bindRecords(Arrays.asList(
+          record(1L, null, 1f, true, null, "0.00"),
+          record(2L, null, 1f, true, null, "0.00"),
+          record(3L, null, 1f, true, null, "0.00")
+      ), 2);
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("3 records"));
+      return;
+    }
+    throw new AssertionError("Expected the records to be rejected");
+  }
+
+  @Test
+  public void shouldBindDatesAndTimestampsFromReusedValues() throws SQLException {
+    final Schema schema = SchemaBuilder.struct()
+        .field("day", Date.SCHEMA)
+        .field("at", Timestamp.builder().optional().build())
+        .build();
+    final SchemaPair schemaPair = new SchemaPair(null, schema);
+    final ExasolStatementBinder binder = dialect.statementBinder(
+        statement,
+        JdbcSinkConfig.PrimaryKeyMode.NONE,
+        schemaPair,
+        FieldsMetadata.extract(
+            "event",
+            JdbcSinkConfig.PrimaryKeyMode.NONE,
+            Collections.emptyList(),
+            Collections.emptySet(),
+            schemaPair
+        ),
+        JdbcSinkConfig.InsertMode.INSERT
+    );
+    final List<Long> boundTimestamps = new ArrayList<>();
+    final List<java.sql.Timestamp> holders = new ArrayList<>();
+    doAnswer(invocation -> {
+      final java.sql.Timestamp bound = (java.sql.Timestamp) invocation.getArguments()[1];
+      boundTimestamps.add(bound.getTime());
+      holders.add(bound);
+      return null;
+    }).when(statement).setTimestamp(anyInt(), any(java.sql.Timestamp.class), any(Calendar.class));
+
+    binder.bindRecords(Arrays.asList(
+        new SinkRecord("event", 0, null, null, schema, new Struct(schema)
+            .put("day", new java.util.Date(86400000L))
+            .put("at", new java.util.Date(1000L)), 1),
+        new SinkRecord("event", 0, null, null, schema, new Struct(schema)
+            .put("day", new java.util.Date(0L)), 2),
+        new SinkRecord("event", 0, null, null, schema, new Struct(schema)
+            .put("day", new java.util.Date(0L))
+            .put("at", new java.util.Date(2000L)), 3)
+    ), 1);
+
+    verify(statement, times(3)).setDate(eq(1), any(java.sql.Date.class), any(Calendar.class));
+    verify(statement).setNull(2, Types.TIMESTAMP);
+    assertEquals(Arrays.asList(1000L, 2000L), boundTimestamps);
+    assertSame(holders.get(0), holders.get(1));
+  }
+
+  private ExasolStatementBinder binder(JdbcSinkConfig.InsertMode insertMode) {
+    final SchemaPair schemaPair = new SchemaPair(null, VALUE_SCHEMA);
+    final FieldsMetadata fieldsMetadata = FieldsMetadata.extract(
+        "customer",
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        Collections.singletonList("id"),
+        Collections.emptySet(),
+        schemaPair
+    );
+    return dialect.statementBinder(
+        statement,
+        JdbcSinkConfig.PrimaryKeyMode.RECORD_VALUE,
+        schemaPair,
+        fieldsMetadata,
+        insertMode
+    );
+  }
+
+  private static SinkRecord record(
+      Long id,
+      Byte age,
+      float score,
+      Boolean active,
+      String name,
+      String price
+  ) {
+    final Struct value = new Struct(VALUE_SCHEMA)
+        .put("id", id)
+        .put("age", age)
+        .put("score", score)
+        .put("active", active)
+        .put("name", name)
+        .put("price", new BigDecimal(price));
+    return new SinkRecord("customer", 3, null, null, VALUE_SCHEMA, value, 99);
+  }
+}
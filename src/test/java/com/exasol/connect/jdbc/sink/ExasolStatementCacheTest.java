@@ -0,0 +1,87 @@
+package com.exasol.connect.jdbc.sink;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolStatementCacheTest {
+
+  private static final TableId TABLE = new TableId(null, null, "customer");
+
+  private final ExasolStatementCache cache = new ExasolStatementCache(2);
+
+  @Test
+  public void shouldReuseStatementsBySql() throws SQLException {
+    final Connection connection = connection();
+
+    final PreparedStatement first = cache.prepare(connection, TABLE, "INSERT 1");
+    assertSame(first, cache.prepare(connection, TABLE, "INSERT 1"));
+    assertNotSame(first, cache.prepare(connection, TABLE, "INSERT 2"));
+
+    assertEquals(1, cache.statements().hits());
+    assertEquals(2, cache.statements().misses());
+    verify(first, never()).close();
+  }
+
+  @Test
+  public void shouldCloseEvictedStatementsOnRelease() throws SQLException {
+    final Connection connection = connection();
+    final PreparedStatement first = cache.prepare(connection, TABLE, "INSERT 1");
+    cache.prepare(connection, TABLE, "INSERT 2");
+    cache.prepare(connection, TABLE, "INSERT 3");
+
+    verify(first, never()).close();
+    assertEquals(2, cache.statements().size());
+
+    cache.release();
+    verify(first).close();
+  }
+
+  @Test
+  public void shouldEvictOnlyStatementsOfTable() throws SQLException {
+    final Connection connection = connection();
+    final PreparedStatement first = cache.prepare(connection, TABLE, "INSERT 1");
+    final TableId otherTable = new TableId(null, null, "other");
+    final PreparedStatement other = cache.prepare(connection, otherTable, "INSERT 2");
+
+    cache.evict(TABLE);
+    cache.release();
+
+    verify(first).close();
+    verify(other, never()).close();
+    assertSame(other, cache.prepare(connection, otherTable, "INSERT 2"));
+    assertNotSame(first, cache.prepare(connection, TABLE, "INSERT 1"));
+  }
+
+  @Test
+  public void shouldCloseStatementsOfReplacedConnection() throws SQLException {
+    final PreparedStatement first = cache.prepare(connection(), TABLE, "INSERT 1");
+    final PreparedStatement second = cache.prepare(connection(), TABLE, "INSERT 1");
+
+    verify(first).close();
+    assertNotSame(first, second);
+
+    cache.close();
+    verify(second).close();
+  }
+
+  private static Connection connection() throws SQLException {
+    final Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(anyString()))
+        .thenAnswer(invocation -> mock(PreparedStatement.class));
+    return connection;
+  }
+}
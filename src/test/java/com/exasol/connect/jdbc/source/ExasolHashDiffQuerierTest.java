@@ -0,0 +1,222 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import io.confluent.connect.jdbc.util.ColumnDefinition;
+import io.confluent.connect.jdbc.util.ColumnId;
+import io.confluent.connect.jdbc.util.TableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolHashDiffQuerierTest {
+
+  private static final String HASH_SQL =
+      "SELECT \"BUCKET\", COUNT(*), SUM(" + hexToNumber("\"ROW_HASH\"") + ") FROM ("
+      + "SELECT MOD(ROWID, 16) AS \"BUCKET\", HASH_MD5("
+      + "CASE WHEN \"ID\" IS NULL THEN 'N' ELSE HASH_MD5(\"ID\") END || "
+      + "CASE WHEN \"NAME\" IS NULL THEN 'N' ELSE HASH_MD5(\"NAME\") END) AS \"ROW_HASH\" "
+      + "FROM \"ORDERS\" WHERE MOD(ROWID, 4) = 1) GROUP BY \"BUCKET\"";
+
+  private Connection connection;
+  private PreparedStatement hashStatement;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    hashStatement = mock(PreparedStatement.class);
+    statement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+    when(connection.prepareStatement(HASH_SQL)).thenReturn(hashStatement);
+    when(connection.prepareStatement(startsWith("SELECT * FROM"))).thenReturn(statement);
+    when(connection.getMetaData()).thenReturn(mock(DatabaseMetaData.class));
+    when(statement.executeQuery()).thenReturn(resultSet);
+    final ResultSetMetaData metadata = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metadata);
+    when(metadata.getColumnCount()).thenReturn(1);
+    when(metadata.getTableName(1)).thenReturn("ORDERS");
+    when(metadata.getColumnName(1)).thenReturn("ID");
+    when(metadata.getColumnLabel(1)).thenReturn("ID");
+    when(metadata.getColumnType(1)).thenReturn(Types.BIGINT);
+    when(resultSet.next()).thenReturn(true, false, true, false);
+    when(resultSet.getLong(1)).thenReturn(42L);
+  }
+
+  @Test
+  public void shouldReadOnlyRangesWhoseHashChanged() throws SQLException {
+    final ExasolSourceConfig config = new ExasolSourceConfig(props());
+    final ExasolHashDiffQuerier querier = new ExasolHashDiffQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 1, 4)
+    );
+    final ResultSet first = hashes(new long[] {1, 10, 123}, new long[] {5, 3, 456});
+    final ResultSet second = hashes(new long[] {1, 10, 123}, new long[] {5, 3, 999});
+    final ResultSet third = hashes(new long[] {1, 10, 123}, new long[] {5, 3, 999});
+    when(hashStatement.executeQuery()).thenReturn(first, second, third);
+
+    querier.maybeStartQuery(connection);
+    assertTrue(querier.next());
+    final SourceRecord record = querier.extractRecord();
+    assertFalse(querier.next());
+    querier.reset(1L);
+
+    verify(connection).prepareStatement("SELECT * FROM \"ORDERS\" WHERE MOD(ROWID, 4) = 1");
+    assertEquals("1/4", record.sourcePartition().get("split"));
+    assertNull(record.sourceOffset());
+    assertEquals(42L, ((Struct) record.value()).get("ID"));
+
+    querier.maybeStartQuery(connection);
+    assertTrue(querier.next());
+    assertFalse(querier.next());
+    querier.reset(2L);
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE MOD(ROWID, 4) = 1 AND MOD(ROWID, 16) IN (5)"
+    );
+
+    querier.maybeStartQuery(connection);
+
+    assertFalse(querier.querying());
+    assertFalse(querier.next());
+    verify(statement, times(2)).executeQuery();
+  }
+
+  @Test
+  public void shouldHashRowsWhoseValuesShiftBetweenColumnsDifferently() {
+    assertNotEquals(rowHash("ab", "c"), rowHash("a", "bc"));
+    assertNotEquals(rowHash("x", null), rowHash(null, "x"));
+    assertNotEquals(rowHash("x", null), rowHash("x", "N"));
+  }
+
+  @Test
+  public void shouldReadAllSixteenHexDigitsOfRowHash() {
+    assertNotEquals(hexValue("a000000000000000"), hexValue("0000000000000000"));
+    assertNotEquals(hexValue("000000000000000f"), hexValue("0000000000000005"));
+    assertEquals(
+        new BigInteger("ffffffffffffffff", 16),
+        hexValue("ffffffffffffffff0123456789abcdef")
+    );
+  }
+
+  /**
+   * Evaluate the row hash of {@link #HASH_SQL} for the values of a row, as Exasol does.
+   */
+  private static String rowHash(String... values) {
+    final StringBuilder row = new StringBuilder();
+    for (String value : values) {
+      row.append(value == null ? "N" : md5(value));
+    }
+    return md5(row.toString());
+  }
+
+  /**
+   * Evaluate the sum term of {@link #HASH_SQL} for a row hash, as Exasol does.
+   */
+  private static BigInteger hexValue(String rowHash) {
+    BigInteger value = BigInteger.ZERO;
+    for (int digit = 0; digit < 16; digit++) {
+      final long weight = 1L << 4 * (15 - digit);
+      value = value.add(BigInteger.valueOf("0123456789abcdef".indexOf(rowHash.charAt(digit)))
+          .multiply(BigInteger.valueOf(weight)));
+    }
+    return value;
+  }
+
+  private static String md5(String value) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("MD5")
+          .digest(value.getBytes(StandardCharsets.UTF_8));
+      return String.format("%032x", new BigInteger(1, digest));
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static String hexToNumber(String column) {
+    final StringBuilder sql = new StringBuilder();
+    for (int digit = 0; digit < 16; digit++) {
+      sql.append(digit > 0 ? " + " : "")
+          .append("(INSTR('0123456789abcdef', SUBSTR(").append(column).append(", ")
+          .append(digit + 1).append(", 1)) - 1) * ").append(1L << 4 * (15 - digit));
+    }
+    return sql.toString();
+  }
+
+  private static ResultSet hashes(long[] first, long[] second) throws SQLException {
+    final ResultSet hashes = mock(ResultSet.class);
+    when(hashes.next()).thenReturn(true, true, false);
+    when(hashes.getLong(1)).thenReturn(first[0], second[0]);
+    when(hashes.getLong(2)).thenReturn(first[1], second[1]);
+    when(hashes.getBigDecimal(3))
+        .thenReturn(BigDecimal.valueOf(first[2]), BigDecimal.valueOf(second[2]));
+    return hashes;
+  }
+
+  private ExasolDatabaseDialect dialect(ExasolSourceConfig config) throws SQLException {
+    final ExasolDatabaseDialect dialect = spy(new ExasolDatabaseDialect(config.jdbcConfig));
+    // the column converters depend on the driver version
+    doReturn(connection).when(dialect).getConnection();
+    final TableId table = new TableId(null, null, "ORDERS");
+    final Map<ColumnId, ColumnDefinition> columns = new LinkedHashMap<>();
+    for (String name : new String[] {"NAME", "ID"}) {
+      final ColumnDefinition column = mock(ColumnDefinition.class);
+      when(column.id()).thenReturn(new ColumnId(table, name));
+      columns.put(column.id(), column);
+    }
+    doReturn(columns).when(dialect).describeColumns(
+        any(Connection.class),
+        anyString(),
+        anyString(),
+        anyString(),
+        anyString()
+    );
+    return dialect;
+  }
+
+  private static Map<String, String> props() {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("mode", "bulk");
+    props.put("topic.prefix", "EXASOL_");
+    props.put(ExasolSourceConfig.SOURCE_SPLITS, "4");
+    props.put(ExasolSourceConfig.SOURCE_HASH_RANGES, "4");
+    return props;
+  }
+}
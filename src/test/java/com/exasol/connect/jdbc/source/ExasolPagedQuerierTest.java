@@ -0,0 +1,131 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolPagedQuerierTest {
+
+  private Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    statement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    when(connection.getMetaData()).thenReturn(mock(DatabaseMetaData.class));
+    when(statement.executeQuery()).thenReturn(resultSet);
+    final ResultSetMetaData metadata = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metadata);
+    when(metadata.getColumnCount()).thenReturn(1);
+    when(metadata.getTableName(1)).thenReturn("ORDERS");
+    when(metadata.getColumnName(1)).thenReturn("ID");
+    when(metadata.getColumnLabel(1)).thenReturn("ID");
+    when(metadata.getColumnType(1)).thenReturn(Types.BIGINT);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getLong(1)).thenReturn(42L);
+  }
+
+  @Test
+  public void shouldReadFirstPageWithoutLowerBoundAndEndPassOnPartialPage() throws SQLException {
+    final ExasolSourceConfig config = new ExasolSourceConfig(props());
+    final ExasolPagedQuerier querier = new ExasolPagedQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 0, 1),
+        null
+    );
+
+    querier.maybeStartQuery(connection);
+    assertTrue(querier.next());
+    final SourceRecord record = querier.extractRecord();
+    assertFalse(querier.next());
+    querier.reset(10000L);
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" ORDER BY \"ORDERS\".\"ID\" ASC LIMIT 100"
+    );
+    assertEquals(Collections.singletonMap("key", 42L), record.sourceOffset());
+    assertEquals("ORDERS", record.sourcePartition().get("table"));
+    assertEquals(10000L, querier.lastUpdate());
+  }
+
+  @Test
+  public void shouldResumeAfterLastKeyAndReadNextPageRightAway() throws SQLException {
+    final Map<String, String> props = props();
+    props.put("batch.max.rows", "1");
+    final ExasolSourceConfig config = new ExasolSourceConfig(props);
+    final ExasolPagedQuerier querier = new ExasolPagedQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 0, 1),
+        Collections.<String, Object>singletonMap("key", 41L)
+    );
+
+    querier.maybeStartQuery(connection);
+    querier.next();
+    querier.extractRecord();
+    querier.next();
+    querier.reset(10000L);
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE \"ORDERS\".\"ID\" > ? "
+        + "ORDER BY \"ORDERS\".\"ID\" ASC LIMIT 1"
+    );
+    verify(statement).setObject(1, 41L);
+    assertEquals(5000L, querier.lastUpdate());
+
+    querier.maybeStartQuery(connection);
+
+    // 100 bytes per page of rows of one 8 byte value
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE \"ORDERS\".\"ID\" > ? "
+        + "ORDER BY \"ORDERS\".\"ID\" ASC LIMIT 12"
+    );
+    verify(statement).setObject(1, 42L);
+  }
+
+  private ExasolDatabaseDialect dialect(ExasolSourceConfig config) throws SQLException {
+    final ExasolDatabaseDialect dialect = spy(new ExasolDatabaseDialect(config.jdbcConfig));
+    // the column converters depend on the driver version
+    doReturn(connection).when(dialect).getConnection();
+    return dialect;
+  }
+
+  private static Map<String, String> props() {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("mode", "bulk");
+    props.put("topic.prefix", "EXASOL_");
+    props.put(ExasolSourceConfig.SOURCE_PAGE_BYTES, "100");
+    props.put(ExasolSourceConfig.SOURCE_PAGE_COLUMN, "ID");
+    return props;
+  }
+}
@@ -0,0 +1,263 @@
+package com.exasol.connect.jdbc.source;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.exasol.connect.jdbc.dialect.ExasolDatabaseDialect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExasolSplitQuerierTest {
+
+  private Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+  private ResultSetMetaData metadata;
+
+  @Before
+  public void setUp() throws SQLException {
+    connection = mock(Connection.class);
+    statement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    when(connection.getMetaData()).thenReturn(mock(DatabaseMetaData.class));
+    when(statement.executeQuery()).thenReturn(resultSet);
+    final ResultSetMetaData metadata = mock(ResultSetMetaData.class);
+    when(resultSet.getMetaData()).thenReturn(metadata);
+    this.metadata = metadata;
+    when(metadata.getColumnCount()).thenReturn(1);
+    when(metadata.getTableName(1)).thenReturn("ORDERS");
+    when(metadata.getColumnName(1)).thenReturn("ID");
+    when(metadata.getColumnLabel(1)).thenReturn("ID");
+    when(metadata.getColumnType(1)).thenReturn(Types.BIGINT);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getLong(1)).thenReturn(42L);
+  }
+
+  @Test
+  public void shouldReadSplitOfTableInBulkMode() throws SQLException {
+    final ExasolSourceConfig config = new ExasolSourceConfig(props("bulk"));
+    final ExasolDatabaseDialect dialect = dialect(config);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect,
+        new ExasolTableSplit("\"ORDERS\"", 1, 4),
+        null
+    );
+
+    querier.maybeStartQuery(connection);
+    querier.next();
+    final SourceRecord record = querier.extractRecord();
+
+    verify(connection).prepareStatement("SELECT * FROM \"ORDERS\" WHERE MOD(ROWID, 4) = 1");
+    assertEquals("EXASOL_ORDERS", record.topic());
+    assertEquals("1/4", record.sourcePartition().get("split"));
+    assertEquals("ORDERS", record.sourcePartition().get("table"));
+    assertNull(record.sourceOffset());
+    assertEquals(42L, ((Struct) record.value()).get("ID"));
+  }
+
+  @Test
+  public void shouldResumeSplitFromItsOffsetInIncrementingMode() throws SQLException {
+    final Map<String, String> props = props("incrementing");
+    props.put("incrementing.column.name", "ID");
+    props.put(ExasolSourceConfig.SOURCE_SPLIT_COLUMN, "ID");
+    final ExasolSourceConfig config = new ExasolSourceConfig(props);
+    final ExasolDatabaseDialect dialect = dialect(config);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect,
+        new ExasolTableSplit("\"ORDERS\"", 3, 4),
+        Collections.<String, Object>singletonMap("incrementing", 41L)
+    );
+
+    querier.maybeStartQuery(connection);
+    querier.next();
+    final SourceRecord record = querier.extractRecord();
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE MOD(ABS(\"ORDERS\".\"ID\"), 4) = 3 "
+        + "AND \"ORDERS\".\"ID\" > ? ORDER BY \"ORDERS\".\"ID\" ASC"
+    );
+    verify(statement).setLong(1, 41L);
+    assertEquals("3/4", record.sourcePartition().get("split"));
+    assertEquals(42L, record.sourceOffset().get("incrementing"));
+  }
+
+  @Test
+  public void shouldSnapshotSplitUpToHighWaterMarkThenReadIncrementally() throws SQLException {
+    final Map<String, String> props = props("incrementing");
+    props.put("incrementing.column.name", "ID");
+    props.put(ExasolSourceConfig.SOURCE_SNAPSHOT, "true");
+    props.put(ExasolSourceConfig.SOURCE_SPLIT_COLUMN, "ID");
+    final ExasolSourceConfig config = new ExasolSourceConfig(props);
+    final PreparedStatement maxStatement = mock(PreparedStatement.class);
+    final ResultSet maxResultSet = mock(ResultSet.class);
+    when(connection.prepareStatement("SELECT MAX(\"ORDERS\".\"ID\") FROM \"ORDERS\""))
+        .thenReturn(maxStatement);
+    when(maxStatement.executeQuery()).thenReturn(maxResultSet);
+    when(maxResultSet.next()).thenReturn(true);
+    when(maxResultSet.getLong(1)).thenReturn(100L);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getLong(1)).thenReturn(41L, 42L);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 1, 4),
+        null
+    );
+
+    querier.maybeStartQuery(connection);
+    querier.next();
+    final SourceRecord first = querier.extractRecord();
+    querier.next();
+    final SourceRecord last = querier.extractRecord();
+    final boolean hadNext = querier.next();
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE MOD(ABS(\"ORDERS\".\"ID\"), 4) = 1 "
+        + "AND \"ORDERS\".\"ID\" <= ?"
+    );
+    verify(statement).setLong(1, 100L);
+    assertEquals("snapshot", first.sourceOffset().get("phase"));
+    assertEquals(100L, first.sourceOffset().get("incrementing"));
+    assertEquals(41L, ((Struct) first.value()).get("ID"));
+    assertEquals(Collections.singletonMap("incrementing", 100L), last.sourceOffset());
+    assertEquals(42L, ((Struct) last.value()).get("ID"));
+    assertFalse(hadNext);
+
+    querier.reset(0L);
+    querier.maybeStartQuery(connection);
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE MOD(ABS(\"ORDERS\".\"ID\"), 4) = 1 "
+        + "AND \"ORDERS\".\"ID\" > ? ORDER BY \"ORDERS\".\"ID\" ASC"
+    );
+    verify(statement, times(2)).setLong(1, 100L);
+  }
+
+  @Test
+  public void shouldResumeSnapshotUpToHighWaterMarkOfItsOffset() throws SQLException {
+    final Map<String, String> props = props("timestamp");
+    props.put("timestamp.column.name", "UPDATED");
+    props.put(ExasolSourceConfig.SOURCE_SPLITS, "1");
+    final ExasolSourceConfig config = new ExasolSourceConfig(props);
+    final Map<String, Object> offset = new HashMap<>();
+    offset.put("phase", "snapshot");
+    offset.put("timestamp", 1000L);
+    offset.put("timestamp_nanos", 0L);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 0, 1),
+        offset
+    );
+
+    querier.maybeStartQuery(connection);
+
+    verify(connection).prepareStatement(
+        "SELECT * FROM \"ORDERS\" WHERE \"ORDERS\".\"UPDATED\" <= ?"
+    );
+    verify(statement).setTimestamp(eq(1), eq(new Timestamp(1000L)), any(Calendar.class));
+  }
+
+  @Test(expected = ConfigException.class)
+  public void shouldRequireSplitColumnToSplitTablesInIncrementalModes() {
+    final Map<String, String> props = props("incrementing");
+    props.put("incrementing.column.name", "ID");
+    new ExasolSourceConfig(props);
+  }
+
+  @Test
+  public void shouldReadIntegralDecimalsAsIntegersWithBestFitMapping() throws SQLException {
+    final Map<String, String> props = props("bulk");
+    props.put("numeric.mapping", "best_fit");
+    final ExasolSourceConfig config = new ExasolSourceConfig(props);
+    when(metadata.getColumnType(1)).thenReturn(Types.DECIMAL);
+    when(metadata.getPrecision(1)).thenReturn(9);
+    when(metadata.getScale(1)).thenReturn(0);
+    when(resultSet.getInt(1)).thenReturn(42);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 0, 4),
+        null
+    );
+
+    querier.maybeStartQuery(connection);
+    querier.next();
+    final SourceRecord record = querier.extractRecord();
+
+    assertEquals(Schema.Type.INT32, record.valueSchema().field("ID").schema().type());
+    assertEquals(42, ((Struct) record.value()).get("ID"));
+    verify(resultSet, never()).getBigDecimal(1);
+  }
+
+  @Test
+  public void shouldKeepIntegralDecimalsAsDecimalsWithoutNumericMapping() throws SQLException {
+    final ExasolSourceConfig config = new ExasolSourceConfig(props("bulk"));
+    when(metadata.getColumnType(1)).thenReturn(Types.DECIMAL);
+    when(metadata.getPrecision(1)).thenReturn(18);
+    when(metadata.getScale(1)).thenReturn(0);
+    final ExasolSplitQuerier querier = new ExasolSplitQuerier(
+        config,
+        dialect(config),
+        new ExasolTableSplit("\"ORDERS\"", 0, 4),
+        null
+    );
+
+    querier.maybeStartQuery(connection);
+
+    assertEquals(
+        Decimal.LOGICAL_NAME,
+        querier.schema().field("ID").schema().name()
+    );
+  }
+
+  private ExasolDatabaseDialect dialect(ExasolSourceConfig config) throws SQLException {
+    final ExasolDatabaseDialect dialect = spy(new ExasolDatabaseDialect(config.jdbcConfig));
+    // the column converters depend on the driver version
+    doReturn(connection).when(dialect).getConnection();
+    return dialect;
+  }
+
+  private static Map<String, String> props(String mode) {
+    final Map<String, String> props = new HashMap<>();
+    props.put("connection.url", "jdbc:exa://something");
+    props.put("mode", mode);
+    props.put("topic.prefix", "EXASOL_");
+    props.put(ExasolSourceConfig.SOURCE_SPLITS, "4");
+    return props;
+  }
+}
@@ -0,0 +1,57 @@
+package com.exasol.connect.jdbc.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LruCacheTest {
+
+  private final List<String> evicted = new ArrayList<>();
+  private final LruCache<Integer, String> cache = new LruCache<>(2, evicted::add);
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    assertEquals("one", cache.computeIfAbsent(1, key -> "one"));
+    assertEquals("one", cache.computeIfAbsent(1, key -> "other"));
+    assertNull(cache.get(2));
+
+    assertEquals(1, cache.hits());
+    assertEquals(2, cache.misses());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntry() {
+    cache.put(1, "one");
+    cache.put(2, "two");
+    cache.get(1);
+    cache.put(3, "three");
+
+    assertEquals(Arrays.asList("two"), evicted);
+    assertEquals(2, cache.size());
+    assertEquals("one", cache.get(1));
+    assertNull(cache.get(2));
+  }
+
+  @Test
+  public void shouldEvictReplacedRemovedAndClearedValues() {
+    cache.put(1, "one");
+    cache.put(1, "uno");
+    cache.put(2, "two");
+    cache.remove(2);
+    cache.remove(3);
+    cache.clear();
+
+    assertEquals(Arrays.asList("one", "two", "uno"), evicted);
+    assertEquals(0, cache.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectEmptyCapacity() {
+    new LruCache<Integer, String>(0);
+  }
+}